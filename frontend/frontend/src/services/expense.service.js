@@ -26,7 +26,7 @@ class ExpenseService {
     return apiClient.delete(`/expenses/${id}`);
   }
 
-  // Get summary (person ID → name, email, balance)
+  // Get summary ([{ personId, name, email, balance }])
   getSummary() {
     return apiClient.get('/expenses/summary');
   }
@@ -0,0 +1,128 @@
+package com.expense.splitter.benchmark;
+
+import com.expense.splitter.cache.CaffeinePersonCache;
+import com.expense.splitter.dto.ExpenseResponse;
+import com.expense.splitter.dto.SummaryResponse;
+import com.expense.splitter.model.Balance;
+import com.expense.splitter.model.Expense;
+import com.expense.splitter.model.Person;
+import com.expense.splitter.repository.BalanceRepository;
+import com.expense.splitter.repository.ExpenseRepository;
+import com.expense.splitter.repository.PersonRepository;
+import com.expense.splitter.service.BalanceLedgerService;
+import com.expense.splitter.service.ExpenseService;
+import com.expense.splitter.service.FxRateService;
+import com.expense.splitter.service.InMemoryBalanceEngine;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * ExpenseService read paths over synthetic datasets held by in-memory
+ * repository stand-ins. The ledger is seeded from a full replay, so
+ * calculateBalances/getSummary measure the ledger read, and
+ * replayBalances measures the recomputation they replaced.
+ * Datasets up to 1M expenses fit the default heap; larger ones need
+ * e.g. -Djmh.args="ExpenseServiceBenchmark -p expenses=10000000 -jvmArgs -Xmx16g".
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ExpenseServiceBenchmark {
+
+    private static final int STREAM_BATCH_SIZE = 500;
+
+    @Param({"1000", "100000", "1000000"})
+    public int expenses;
+
+    @Param({"10", "1000", "100000"})
+    public int persons;
+
+    @Param({"2", "8"})
+    public int splitWidth;
+
+    private ExpenseService expenseService;
+    private InMemoryBalanceEngine balanceEngine;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        LocalDateTime now = LocalDateTime.now();
+
+        List<Person> personList = new ArrayList<>(persons);
+        for (int i = 0; i < persons; i++) {
+            personList.add(new Person("person-" + i, "Person " + i, "person" + i + "@example.com", now, now));
+        }
+
+        int width = Math.min(splitWidth, persons);
+        List<Expense> expenseList = new ArrayList<>(expenses);
+        for (int i = 0; i < expenses; i++) {
+            List<String> splitBetween = new ArrayList<>(width);
+            int first = random.nextInt(persons);
+            for (int j = 0; j < width; j++) {
+                splitBetween.add("person-" + (first + j) % persons);
+            }
+            expenseList.add(new Expense("expense-" + i, "Expense " + i, 1 + random.nextInt(100_000),
+                    "person-" + random.nextInt(persons), splitBetween, now, now));
+        }
+
+        ExpenseRepository expenseRepository = InMemoryRepositories.expenses(expenseList);
+        PersonRepository personRepository = InMemoryRepositories.persons(personList);
+        balanceEngine = new InMemoryBalanceEngine(expenseRepository);
+
+        List<Balance> ledger = new ArrayList<>();
+        balanceEngine.computeBalancesByGroup().getOrDefault(null, Map.of()).forEach((personId, amount) ->
+                ledger.add(new Balance(personId, null, personId, amount, now)));
+        BalanceRepository balanceRepository = InMemoryRepositories.balances(ledger);
+
+        BalanceLedgerService ledgerService = new BalanceLedgerService(null, balanceRepository,
+                expenseRepository, personRepository, balanceEngine, null, new SimpleMeterRegistry(),
+                1000, Duration.ofMinutes(5));
+        CaffeinePersonCache personCache = new CaffeinePersonCache(personRepository, 10_000, Duration.ofMinutes(10));
+        expenseService = new ExpenseService(expenseRepository, InMemoryRepositories.groups(Set.of()),
+                personRepository, personCache, ledgerService, null, null, new FxRateService("USD", ""), Runnable::run);
+    }
+
+    @Benchmark
+    public Map<String, Double> calculateBalances() {
+        return expenseService.calculateBalances();
+    }
+
+    @Benchmark
+    public List<SummaryResponse> getSummary() {
+        return expenseService.getSummary();
+    }
+
+    @Benchmark
+    public Map<String, Map<String, Long>> replayBalances() {
+        return balanceEngine.computeBalancesByGroup();
+    }
+
+    /**
+     * mapToResponse over the whole dataset in one batch (GET /api/expenses).
+     */
+    @Benchmark
+    public List<ExpenseResponse> mapAllExpenses() {
+        return expenseService.getAllExpenses();
+    }
+
+    /**
+     * mapToResponse in cursor-sized batches (GET /api/expenses/stream).
+     */
+    @Benchmark
+    public void streamExpenses(Blackhole blackhole) {
+        expenseService.streamExpenses(STREAM_BATCH_SIZE, blackhole::consume);
+    }
+}
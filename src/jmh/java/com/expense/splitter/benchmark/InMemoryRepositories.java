@@ -0,0 +1,139 @@
+package com.expense.splitter.benchmark;
+
+import com.expense.splitter.model.Balance;
+import com.expense.splitter.model.Expense;
+import com.expense.splitter.model.Person;
+import com.expense.splitter.repository.BalanceRepository;
+import com.expense.splitter.repository.ExpenseRepository;
+import com.expense.splitter.repository.GroupRepository;
+import com.expense.splitter.repository.PersonRepository;
+import com.expense.splitter.repository.PersonSummary;
+import org.springframework.data.projection.SpelAwareProxyProjectionFactory;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Function;
+
+/**
+ * Map-backed stand-ins for the Spring Data repositories, so service
+ * benchmarks run offline. Only the methods on the benchmarked read paths
+ * are implemented; anything else throws UnsupportedOperationException.
+ */
+final class InMemoryRepositories {
+
+    private InMemoryRepositories() {}
+
+    static ExpenseRepository expenses(List<Expense> expenses) {
+        return repository(ExpenseRepository.class, Map.of(
+                "findAll", args -> expenses,
+                "count", args -> (long) expenses.size(),
+                "save", args -> {
+                    // Stored copies are not kept; the stand-ins serve fixed datasets
+                    Expense expense = (Expense) args[0];
+                    if (expense.getId() == null) {
+                        expense.setId(UUID.randomUUID().toString());
+                    }
+                    return expense;
+                },
+                "findByGroupId", args -> expenses.stream()
+                        .filter(expense -> Objects.equals(expense.getGroupId(), args[0]))
+                        .toList(),
+                "streamAll", args -> expenses.stream()
+                        .filter(expense -> args[0] == null || args[0].equals(expense.getGroupId()))));
+    }
+
+    static PersonRepository persons(List<Person> persons) {
+        Map<String, Person> byId = new LinkedHashMap<>();
+        persons.forEach(person -> byId.put(person.getId(), person));
+        SpelAwareProxyProjectionFactory projections = new SpelAwareProxyProjectionFactory();
+        List<PersonSummary> summaries = persons.stream()
+                .map(person -> projections.createProjection(PersonSummary.class, person))
+                .toList();
+        return repository(PersonRepository.class, Map.of(
+                "findProjectedBy", args -> summaries,
+                "findAll", args -> persons,
+                "findById", args -> Optional.ofNullable(byId.get((String) args[0])),
+                "findAllById", args -> {
+                    List<Person> found = new ArrayList<>();
+                    for (Object id : (Iterable<?>) args[0]) {
+                        Person person = byId.get((String) id);
+                        if (person != null) {
+                            found.add(person);
+                        }
+                    }
+                    return found;
+                },
+                "findByGroupIdsContaining", args -> persons.stream()
+                        .filter(person -> person.getGroupIds().contains((String) args[0]))
+                        .toList(),
+                "findProjectedByGroupIdsContaining", args -> persons.stream()
+                        .filter(person -> person.getGroupIds().contains((String) args[0]))
+                        .map(person -> projections.createProjection(PersonSummary.class, person))
+                        .toList()));
+    }
+
+    static BalanceRepository balances(Collection<Balance> balances) {
+        List<Balance> all = List.copyOf(balances);
+        return repository(BalanceRepository.class, Map.of(
+                "findAll", args -> all,
+                "findByGroupIdIsNull", args -> all.stream()
+                        .filter(balance -> balance.getGroupId() == null)
+                        .toList(),
+                "findByGroupId", args -> all.stream()
+                        .filter(balance -> Objects.equals(balance.getGroupId(), args[0]))
+                        .toList()));
+    }
+
+    static GroupRepository groups(Collection<String> groupIds) {
+        return repository(GroupRepository.class, Map.of(
+                "existsById", args -> groupIds.contains((String) args[0])));
+    }
+
+    /**
+     * Wrap a stand-in so every call first waits {@code latencyNanos},
+     * simulating a database round trip. Parking (not spinning) lets
+     * virtual threads unmount while they wait, as they would on a socket read.
+     */
+    static <T> T withLatency(Class<T> type, T target, long latencyNanos) {
+        Object proxy = Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[] {type},
+                (self, method, args) -> {
+                    if (method.getDeclaringClass() != Object.class) {
+                        LockSupport.parkNanos(latencyNanos);
+                    }
+                    try {
+                        return method.invoke(target, args);
+                    } catch (InvocationTargetException e) {
+                        throw e.getCause();
+                    }
+                });
+        return type.cast(proxy);
+    }
+
+    private static <T> T repository(Class<T> type, Map<String, Function<Object[], Object>> methods) {
+        Object proxy = Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[] {type},
+                (self, method, args) -> {
+                    Function<Object[], Object> implementation = methods.get(method.getName());
+                    if (implementation != null) {
+                        return implementation.apply(args);
+                    }
+                    if (method.getDeclaringClass() == Object.class) {
+                        return switch (method.getName()) {
+                            case "hashCode" -> System.identityHashCode(self);
+                            case "equals" -> self == args[0];
+                            default -> type.getSimpleName() + " stand-in";
+                        };
+                    }
+                    throw new UnsupportedOperationException(type.getSimpleName() + "." + method.getName());
+                });
+        return type.cast(proxy);
+    }
+}
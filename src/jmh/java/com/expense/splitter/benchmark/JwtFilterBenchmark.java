@@ -0,0 +1,79 @@
+package com.expense.splitter.benchmark;
+
+import com.expense.splitter.security.JwtAuthenticationFilter;
+import com.expense.splitter.security.JwtTokenProvider;
+import io.jsonwebtoken.Claims;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-request overhead of JwtAuthenticationFilter with and without the
+ * verified-token cache, and the cost of parsing a token once vs twice
+ * (the former validateToken + getUsernameFromToken path).
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class JwtFilterBenchmark {
+
+    private static final String SECRET =
+            "/W514bCBico9+kf0ifFet8WSkp/++lGG+bUEaAxu9U58jt7Ps0gEjgDlCzUxHL+lrutH7PtotxYu3+ezmZB5Hw==";
+    private static final FilterChain NO_OP_CHAIN = (request, response) -> { };
+
+    private JwtTokenProvider cachingProvider;
+    private JwtTokenProvider uncachedProvider;
+    private JwtAuthenticationFilter cachingFilter;
+    private JwtAuthenticationFilter uncachedFilter;
+    private MockHttpServletRequest request;
+    private MockHttpServletResponse response;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        cachingProvider = new JwtTokenProvider(SECRET, 3_600_000L, 10_000);
+        uncachedProvider = new JwtTokenProvider(SECRET, 3_600_000L, 0);
+        cachingFilter = new JwtAuthenticationFilter(cachingProvider, new SimpleMeterRegistry());
+        uncachedFilter = new JwtAuthenticationFilter(uncachedProvider, new SimpleMeterRegistry());
+        token = cachingProvider.generateToken("benchmark-user");
+        request = new MockHttpServletRequest("GET", "/api/expenses");
+        request.addHeader("Authorization", "Bearer " + token);
+        response = new MockHttpServletResponse();
+    }
+
+    @TearDown(Level.Invocation)
+    public void clearContext() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Benchmark
+    public void filterCachedToken() throws ServletException, IOException {
+        cachingFilter.doFilter(request, response, NO_OP_CHAIN);
+    }
+
+    @Benchmark
+    public void filterUncachedToken() throws ServletException, IOException {
+        uncachedFilter.doFilter(request, response, NO_OP_CHAIN);
+    }
+
+    @Benchmark
+    public Claims parseOnce() {
+        return uncachedProvider.parseClaims(token);
+    }
+
+    @Benchmark
+    public String parseTwice() {
+        uncachedProvider.parseClaims(token);
+        return uncachedProvider.parseClaims(token).getSubject();
+    }
+}
@@ -0,0 +1,94 @@
+package com.expense.splitter.benchmark;
+
+import com.expense.splitter.service.ExactSettlementStrategy;
+import com.expense.splitter.service.GreedySettlementStrategy;
+import com.expense.splitter.service.SettlementStrategy;
+import com.expense.splitter.service.Transfer;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Settlement strategies: greedy vs exact on small groups, and greedy alone
+ * on large ones (exact is exponential in the number of participants).
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SettlementBenchmark {
+
+    private static final SettlementStrategy GREEDY = new GreedySettlementStrategy();
+    private static final SettlementStrategy EXACT = new ExactSettlementStrategy();
+
+    @State(Scope.Benchmark)
+    public static class SmallGroup {
+        @Param({"6", "10", "14"})
+        public int participants;
+
+        public String[] ids;
+        public long[] balances;
+
+        @Setup
+        public void setUp() {
+            ids = ids(participants);
+            balances = zeroSumBalances(participants, 42);
+        }
+    }
+
+    @State(Scope.Benchmark)
+    public static class LargeGroup {
+        @Param({"1000", "10000", "50000"})
+        public int participants;
+
+        public String[] ids;
+        public long[] balances;
+
+        @Setup
+        public void setUp() {
+            ids = ids(participants);
+            balances = zeroSumBalances(participants, 42);
+        }
+    }
+
+    @Benchmark
+    public List<Transfer> greedySmallGroup(SmallGroup group) {
+        return GREEDY.settle(group.ids, group.balances.clone());
+    }
+
+    @Benchmark
+    public List<Transfer> exactSmallGroup(SmallGroup group) {
+        return EXACT.settle(group.ids, group.balances.clone());
+    }
+
+    @Benchmark
+    public List<Transfer> greedyLargeGroup(LargeGroup group) {
+        return GREEDY.settle(group.ids, group.balances.clone());
+    }
+
+    static String[] ids(int count) {
+        String[] ids = new String[count];
+        for (int i = 0; i < count; i++) {
+            ids[i] = "person-" + i;
+        }
+        return ids;
+    }
+
+    /**
+     * Random balances between -500.00 and 500.00 whose total is zero.
+     */
+    static long[] zeroSumBalances(int count, long seed) {
+        Random random = new Random(seed);
+        long[] balances = new long[count];
+        long total = 0;
+        for (int i = 0; i < count - 1; i++) {
+            balances[i] = random.nextInt(100_001) - 50_000;
+            total += balances[i];
+        }
+        balances[count - 1] = -total;
+        return balances;
+    }
+}
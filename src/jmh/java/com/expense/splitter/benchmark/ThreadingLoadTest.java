@@ -0,0 +1,256 @@
+package com.expense.splitter.benchmark;
+
+import com.expense.splitter.cache.PersonCache;
+import com.expense.splitter.dto.CacheStatsResponse;
+import com.expense.splitter.dto.ExpenseRequest;
+import com.expense.splitter.model.Expense;
+import com.expense.splitter.model.Person;
+import com.expense.splitter.repository.BalanceRepository;
+import com.expense.splitter.repository.ExpenseRepository;
+import com.expense.splitter.repository.GroupRepository;
+import com.expense.splitter.repository.PersonRepository;
+import com.expense.splitter.service.BalanceLedgerService;
+import com.expense.splitter.service.ExpenseService;
+import com.expense.splitter.service.FxRateService;
+import com.expense.splitter.service.InMemoryBalanceEngine;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import java.io.File;
+import java.io.IOException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Random;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Load test of ExpenseService request handling on platform vs virtual threads.
+ * Every repository call waits a fixed simulated round trip, so a request
+ * mostly blocks: createExpense does the group check and person lookup
+ * (fanned out), the save and the ledger write; getSummary fans out the
+ * group check, ledger read and person projection.
+ *
+ * Modes:
+ *   platform-serial  200 request threads (Tomcat's default), lookups inline
+ *   platform-fanout  200 request threads, lookups on a 64-thread pool
+ *   virtual-fanout   a virtual thread per request and per lookup (Java 21+ only)
+ *
+ * Run with: mvn -P jmh test-compile exec:exec@loadtest [-Dloadtest.args="20000 2000 2"]
+ * (requests, concurrent clients, simulated round trip in ms).
+ * Results go to target/loadtest-result.json.
+ */
+public final class ThreadingLoadTest {
+
+    private static final int PERSONS = 50;
+    private static final String GROUP_ID = "group-1";
+
+    private ThreadingLoadTest() {}
+
+    public static void main(String[] args) throws Exception {
+        int requests = args.length > 0 ? Integer.parseInt(args[0]) : 20_000;
+        int clients = args.length > 1 ? Integer.parseInt(args[1]) : 2_000;
+        long roundTripNanos = TimeUnit.MILLISECONDS.toNanos(args.length > 2 ? Long.parseLong(args[2]) : 2);
+
+        Map<String, Object> results = new LinkedHashMap<>();
+        results.put("requests", requests);
+        results.put("clients", clients);
+        results.put("roundTripMs", TimeUnit.NANOSECONDS.toMillis(roundTripNanos));
+
+        ExecutorService lookupPool = Executors.newFixedThreadPool(64);
+        try {
+            results.put("platform-serial", run(requests, clients, roundTripNanos,
+                    Executors.newFixedThreadPool(200), Runnable::run));
+            results.put("platform-fanout", run(requests, clients, roundTripNanos,
+                    Executors.newFixedThreadPool(200), lookupPool));
+        } finally {
+            lookupPool.shutdown();
+        }
+        ExecutorService virtual = newVirtualThreadPerTaskExecutor();
+        if (virtual != null) {
+            ExecutorService virtualLookups = newVirtualThreadPerTaskExecutor();
+            try {
+                results.put("virtual-fanout", run(requests, clients, roundTripNanos, virtual, virtualLookups));
+            } finally {
+                virtualLookups.shutdown();
+            }
+        } else {
+            results.put("virtual-fanout", "skipped: virtual threads need Java 21+");
+        }
+
+        ObjectMapper mapper = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+        String json = mapper.writeValueAsString(results);
+        System.out.println(json);
+        writeResults(mapper, results);
+    }
+
+    private static Map<String, Object> run(int requests, int clients, long roundTripNanos,
+                                           ExecutorService requestExecutor,
+                                           Executor lookupExecutor) {
+        ExpenseService expenseService = expenseService(roundTripNanos, lookupExecutor);
+        Random random = new Random(42);
+        long[] latencies = new long[requests];
+        long elapsed;
+        try {
+            // Warm-up
+            runBatch(expenseService, requestExecutor, Math.min(requests, clients), random, new long[requests]);
+
+            long start = System.nanoTime();
+            int done = 0;
+            while (done < requests) {
+                int batch = Math.min(clients, requests - done);
+                long[] batchLatencies = new long[batch];
+                runBatch(expenseService, requestExecutor, batch, random, batchLatencies);
+                System.arraycopy(batchLatencies, 0, latencies, done, batch);
+                done += batch;
+            }
+            elapsed = System.nanoTime() - start;
+        } finally {
+            requestExecutor.shutdown();
+        }
+
+        Arrays.sort(latencies);
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("throughputPerSecond", Math.round(requests / (elapsed / 1e9)));
+        result.put("p50Ms", latencies[requests / 2] / 1e6);
+        result.put("p99Ms", latencies[(int) (requests * 0.99)] / 1e6);
+        result.put("maxMs", latencies[requests - 1] / 1e6);
+        return result;
+    }
+
+    /**
+     * Submit {@code count} requests at once (one per client) and wait for all.
+     * Latency is measured from submission, so it includes queueing for a thread.
+     */
+    private static void runBatch(ExpenseService expenseService, ExecutorService executor, int count,
+                                 Random random, long[] latencies) {
+        List<CompletableFuture<Void>> futures = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            int index = i;
+            boolean write = random.nextInt(4) == 0;
+            ExpenseRequest request = write ? request(random) : null;
+            long submitted = System.nanoTime();
+            futures.add(CompletableFuture.runAsync(() -> {
+                if (write) {
+                    expenseService.createExpense(GROUP_ID, request);
+                } else {
+                    expenseService.getSummary(GROUP_ID);
+                }
+                latencies[index] = System.nanoTime() - submitted;
+            }, executor));
+        }
+        CompletableFuture.allOf(futures.toArray(new CompletableFuture<?>[0])).join();
+    }
+
+    private static ExpenseRequest request(Random random) {
+        ExpenseRequest request = new ExpenseRequest();
+        request.setDescription("Load test");
+        request.setAmount(1 + random.nextInt(10_000) / 100.0);
+        request.setPaidBy("person-" + random.nextInt(PERSONS));
+        request.setSplitBetween(List.of("person-" + random.nextInt(PERSONS), "person-" + random.nextInt(PERSONS)));
+        return request;
+    }
+
+    private static ExpenseService expenseService(long roundTripNanos, Executor lookupExecutor) {
+        LocalDateTime now = LocalDateTime.now();
+        List<Person> persons = new ArrayList<>();
+        for (int i = 0; i < PERSONS; i++) {
+            Person person = new Person("person-" + i, "Person " + i, "person" + i + "@example.com", now, now);
+            person.setGroupIds(new ArrayList<>(List.of(GROUP_ID)));
+            persons.add(person);
+        }
+
+        ExpenseRepository expenseRepository = InMemoryRepositories.withLatency(ExpenseRepository.class,
+                InMemoryRepositories.expenses(List.of()), roundTripNanos);
+        PersonRepository personRepository = InMemoryRepositories.withLatency(PersonRepository.class,
+                InMemoryRepositories.persons(persons), roundTripNanos);
+        BalanceRepository balanceRepository = InMemoryRepositories.withLatency(BalanceRepository.class,
+                InMemoryRepositories.balances(List.of()), roundTripNanos);
+        GroupRepository groupRepository = InMemoryRepositories.withLatency(GroupRepository.class,
+                InMemoryRepositories.groups(List.of(GROUP_ID)), roundTripNanos);
+
+        // Group balances are cached by the ledger; a zero TTL makes every read a round trip
+        BalanceLedgerService ledger = new BalanceLedgerService(null, balanceRepository, expenseRepository,
+                personRepository, new InMemoryBalanceEngine(expenseRepository), null, new SimpleMeterRegistry(),
+                1, Duration.ZERO) {
+            @Override
+            public void applyExpense(Expense expense) {
+                LockSupport.parkNanos(roundTripNanos);
+            }
+        };
+        return new ExpenseService(expenseRepository, groupRepository, personRepository,
+                uncachedPersons(personRepository), ledger, null, null, new FxRateService("USD", ""), lookupExecutor);
+    }
+
+    /**
+     * PersonCache that always goes to the repository, so person lookups
+     * cost a round trip like a cold cache.
+     */
+    private static PersonCache uncachedPersons(PersonRepository personRepository) {
+        return new PersonCache() {
+            @Override
+            public Optional<Person> findById(String id) {
+                return personRepository.findById(id);
+            }
+
+            @Override
+            public Map<String, Person> findAllById(Collection<String> ids) {
+                Map<String, Person> found = new LinkedHashMap<>();
+                personRepository.findAllById(ids).forEach(person -> found.put(person.getId(), person));
+                return found;
+            }
+
+            @Override
+            public void put(Person person) {
+            }
+
+            @Override
+            public void evict(Person person) {
+            }
+
+            @Override
+            public void evictById(String id) {
+            }
+
+            @Override
+            public void clear() {
+            }
+
+            @Override
+            public List<CacheStatsResponse> stats() {
+                return List.of();
+            }
+        };
+    }
+
+    /**
+     * Executors.newVirtualThreadPerTaskExecutor() when running on Java 21+,
+     * looked up reflectively because the project compiles for Java 17.
+     */
+    private static ExecutorService newVirtualThreadPerTaskExecutor() {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException e) {
+            return null;
+        }
+    }
+
+    private static void writeResults(ObjectMapper mapper, Map<String, Object> results) throws IOException {
+        File target = new File("target");
+        if (target.isDirectory()) {
+            mapper.writeValue(new File(target, "loadtest-result.json"), results);
+        }
+    }
+}
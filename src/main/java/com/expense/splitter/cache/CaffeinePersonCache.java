@@ -0,0 +1,99 @@
+package com.expense.splitter.cache;
+
+import com.expense.splitter.dto.CacheStatsResponse;
+import com.expense.splitter.model.Person;
+import com.expense.splitter.repository.PersonRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Bounded in-process PersonCache backed by Caffeine.
+ * Entries are evicted by size and by time since write; missing IDs are
+ * never cached so a person created elsewhere becomes visible immediately.
+ * Hit ratios are also published as cache.gets metrics.
+ */
+@Component
+@ConditionalOnProperty(name = "app.cache.persons.type", havingValue = "caffeine", matchIfMissing = true)
+public class CaffeinePersonCache implements PersonCache, MeterBinder {
+
+    private final PersonRepository personRepository;
+    private final Cache<String, Person> byId;
+
+    public CaffeinePersonCache(PersonRepository personRepository,
+                               @Value("${app.cache.persons.max-size}") long maxSize,
+                               @Value("${app.cache.persons.ttl}") Duration ttl) {
+        this.personRepository = personRepository;
+        this.byId = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+    }
+
+    @Override
+    public Optional<Person> findById(String id) {
+        return Optional.ofNullable(byId.get(id, key -> personRepository.findById(key).orElse(null)));
+    }
+
+    @Override
+    public Map<String, Person> findAllById(Collection<String> ids) {
+        return byId.getAll(ids, this::loadAll);
+    }
+
+    @Override
+    public void put(Person person) {
+        byId.put(person.getId(), person);
+    }
+
+    @Override
+    public void evict(Person person) {
+        byId.invalidate(person.getId());
+    }
+
+    @Override
+    public void evictById(String id) {
+        byId.invalidate(id);
+    }
+
+    @Override
+    public void clear() {
+        byId.invalidateAll();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, byId, "persons.byId");
+    }
+
+    @Override
+    public List<CacheStatsResponse> stats() {
+        return List.of(toResponse("persons.byId", byId));
+    }
+
+    private Map<String, Person> loadAll(Set<? extends String> ids) {
+        Map<String, Person> loaded = new HashMap<>(ids.size() * 2);
+        personRepository.findAllById(List.copyOf(ids)).forEach(person -> loaded.put(person.getId(), person));
+        return loaded;
+    }
+
+    private static CacheStatsResponse toResponse(String name, Cache<?, ?> cache) {
+        CacheStats stats = cache.stats();
+        return new CacheStatsResponse(name, cache.estimatedSize(), stats.hitCount(),
+                stats.missCount(), stats.evictionCount(), stats.hitRate());
+    }
+}
@@ -0,0 +1,287 @@
+package com.expense.splitter.cache;
+
+import com.expense.splitter.model.Balance;
+import com.expense.splitter.model.Person;
+import com.expense.splitter.service.BalanceLedgerService;
+import com.mongodb.MongoException;
+import com.mongodb.client.ChangeStreamIterable;
+import com.mongodb.client.MongoChangeStreamCursor;
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.model.Aggregates;
+import com.mongodb.client.model.Filters;
+import com.mongodb.client.model.ReplaceOptions;
+import com.mongodb.client.model.changestream.ChangeStreamDocument;
+import com.mongodb.client.model.changestream.OperationType;
+import jakarta.annotation.PreDestroy;
+import org.bson.BsonDateTime;
+import org.bson.BsonDocument;
+import org.bson.BsonString;
+import org.bson.BsonValue;
+import org.bson.Document;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Keeps this node's in-process caches coherent with writes made by any node.
+ * A single change stream follows the persons and balances collections:
+ * person changes evict the cached person, and ledger changes carry the new
+ * per-person totals, which are applied to the cached group balances directly.
+ * The resume token is stored per node, so after a restart or a lost
+ * connection the stream continues where it stopped; if the history is gone
+ * the caches are cleared instead. Change streams need a replica set.
+ */
+@Component
+@ConditionalOnProperty(name = "app.change-streams.enabled", havingValue = "true")
+public class ChangeStreamCacheSync {
+
+    private static final Logger log = LoggerFactory.getLogger(ChangeStreamCacheSync.class);
+
+    static final String OFFSETS_COLLECTION = "change_stream_offsets";
+
+    // Server error codes: not a replica set, resume point no longer in the oplog
+    private static final int CHANGE_STREAMS_UNSUPPORTED = 40573;
+    private static final int HISTORY_LOST = 286;
+
+    private final MongoTemplate mongoTemplate;
+    private final PersonCache personCache;
+    private final BalanceLedgerService balanceLedgerService;
+    private final String nodeId;
+    private final Duration retryDelay;
+    private final String personsCollection;
+    private final String balancesCollection;
+
+    private volatile boolean running;
+    private Thread thread;
+
+    public ChangeStreamCacheSync(MongoTemplate mongoTemplate,
+                                 PersonCache personCache,
+                                 BalanceLedgerService balanceLedgerService,
+                                 @Value("${app.change-streams.node-id}") String nodeId,
+                                 @Value("${app.change-streams.retry-delay}") Duration retryDelay) {
+        this.mongoTemplate = mongoTemplate;
+        this.personCache = personCache;
+        this.balanceLedgerService = balanceLedgerService;
+        this.nodeId = nodeId;
+        this.retryDelay = retryDelay;
+        this.personsCollection = mongoTemplate.getCollectionName(Person.class);
+        this.balancesCollection = mongoTemplate.getCollectionName(Balance.class);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        start();
+    }
+
+    synchronized void start() {
+        if (running) {
+            return;
+        }
+        running = true;
+        thread = new Thread(this::run, "change-stream-cache-sync");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    @PreDestroy
+    public synchronized void stop() throws InterruptedException {
+        running = false;
+        if (thread != null) {
+            thread.interrupt();
+            thread.join(TimeUnit.SECONDS.toMillis(5));
+            thread = null;
+        }
+    }
+
+    private void run() {
+        BsonDocument resumeToken = loadResumeToken();
+        while (running) {
+            ChangeStreamIterable<Document> stream = mongoTemplate.getDb()
+                    .watch(List.of(Aggregates.match(Filters.in("ns.coll", personsCollection, balancesCollection))))
+                    .maxAwaitTime(1, TimeUnit.SECONDS);
+            if (resumeToken != null) {
+                stream = stream.resumeAfter(resumeToken);
+            }
+            BsonDocument savedToken = resumeToken;
+            try (MongoChangeStreamCursor<ChangeStreamDocument<Document>> cursor = stream.cursor()) {
+                while (running) {
+                    ChangeStreamDocument<Document> change = cursor.tryNext();
+                    if (change != null) {
+                        apply(change);
+                        if (change.getOperationType() == OperationType.INVALIDATE) {
+                            // The stream is closed for good; reopen it from now
+                            resumeToken = null;
+                            break;
+                        }
+                    }
+                    resumeToken = cursor.getResumeToken();
+                    // Checkpoint once the current batch is drained, not per event
+                    if (change == null && resumeToken != null && !resumeToken.equals(savedToken)) {
+                        saveResumeToken(resumeToken);
+                        savedToken = resumeToken;
+                    }
+                }
+                if (!running) {
+                    if (resumeToken != null && !resumeToken.equals(savedToken)) {
+                        saveResumeToken(resumeToken);
+                    }
+                    return;
+                }
+                continue;
+            } catch (MongoException e) {
+                if (!running) {
+                    return;
+                }
+                if (e.getCode() == CHANGE_STREAMS_UNSUPPORTED) {
+                    log.warn("Change streams need a replica set; caches on this node rely on their TTLs");
+                    running = false;
+                    return;
+                }
+                resumeToken = recover(e, resumeToken);
+            } catch (RuntimeException e) {
+                // A change could not be applied: nothing cached can be trusted
+                log.error("Change stream cache sync failed", e);
+                clearCaches();
+            }
+            pause();
+        }
+    }
+
+    /**
+     * Apply one change to the caches of this node.
+     */
+    void apply(ChangeStreamDocument<Document> change) {
+        OperationType type = change.getOperationType();
+        if (type == OperationType.DROP || type == OperationType.RENAME
+                || type == OperationType.DROP_DATABASE || type == OperationType.INVALIDATE) {
+            clearCaches();
+            return;
+        }
+        String id = idOf(change.getDocumentKey());
+        if (id == null || change.getNamespace() == null) {
+            return;
+        }
+
+        String collection = change.getNamespace().getCollectionName();
+        if (personsCollection.equals(collection)) {
+            personCache.evictById(id);
+            if (changesMembership(change)) {
+                balanceLedgerService.invalidateGroupBalances();
+            }
+        } else if (balancesCollection.equals(collection)) {
+            if (type == OperationType.DELETE) {
+                balanceLedgerService.applyLedgerChange(id, null);
+                return;
+            }
+            Long amountMinor = amountOf(change);
+            if (amountMinor != null) {
+                balanceLedgerService.applyLedgerChange(id, amountMinor);
+            }
+        }
+    }
+
+    private BsonDocument recover(MongoException e, BsonDocument resumeToken) {
+        if (e.getCode() == HISTORY_LOST) {
+            log.warn("Change stream history lost for node {}; clearing caches and starting from now", nodeId);
+            clearCaches();
+            return null;
+        }
+        log.warn("Change stream interrupted; resuming in {}", retryDelay, e);
+        return resumeToken;
+    }
+
+    private void clearCaches() {
+        personCache.clear();
+        balanceLedgerService.invalidateGroupBalances();
+    }
+
+    private void pause() {
+        try {
+            Thread.sleep(retryDelay.toMillis());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            running = false;
+        }
+    }
+
+    private BsonDocument loadResumeToken() {
+        try {
+            BsonDocument offset = offsets().find(Filters.eq("_id", nodeId)).first();
+            return offset != null ? offset.getDocument("token") : null;
+        } catch (MongoException e) {
+            log.warn("Could not load change stream resume token for node {}", nodeId, e);
+            return null;
+        }
+    }
+
+    private void saveResumeToken(BsonDocument token) {
+        BsonDocument offset = new BsonDocument("_id", new BsonString(nodeId))
+                .append("token", token)
+                .append("updatedAt", new BsonDateTime(System.currentTimeMillis()));
+        offsets().replaceOne(Filters.eq("_id", nodeId), offset, new ReplaceOptions().upsert(true));
+    }
+
+    private MongoCollection<BsonDocument> offsets() {
+        return mongoTemplate.getDb().getCollection(OFFSETS_COLLECTION, BsonDocument.class);
+    }
+
+    /**
+     * Whether a person change may have added or removed group members
+     * (old memberships are not part of the event, so any doubt counts).
+     */
+    private static boolean changesMembership(ChangeStreamDocument<Document> change) {
+        switch (change.getOperationType()) {
+            case INSERT:
+                List<?> groupIds = change.getFullDocument() != null
+                        ? change.getFullDocument().get("groupIds", List.class)
+                        : null;
+                return groupIds != null && !groupIds.isEmpty();
+            case UPDATE:
+                if (change.getUpdateDescription() == null) {
+                    return true;
+                }
+                BsonDocument updated = change.getUpdateDescription().getUpdatedFields();
+                List<String> removed = change.getUpdateDescription().getRemovedFields();
+                return (updated != null && updated.keySet().stream().anyMatch(field -> field.startsWith("groupIds")))
+                        || (removed != null && removed.stream().anyMatch(field -> field.startsWith("groupIds")));
+            default:
+                return true;
+        }
+    }
+
+    /**
+     * New amount of a ledger entry: from the updated fields ($inc upserts
+     * report the resulting value) or the inserted/replaced document.
+     */
+    private static Long amountOf(ChangeStreamDocument<Document> change) {
+        if (change.getOperationType() == OperationType.UPDATE) {
+            BsonDocument updated = change.getUpdateDescription() != null
+                    ? change.getUpdateDescription().getUpdatedFields()
+                    : null;
+            BsonValue amount = updated != null ? updated.get("amountMinor") : null;
+            return amount != null && amount.isNumber() ? amount.asNumber().longValue() : null;
+        }
+        Object amount = change.getFullDocument() != null ? change.getFullDocument().get("amountMinor") : null;
+        return amount instanceof Number number ? number.longValue() : null;
+    }
+
+    private static String idOf(BsonDocument documentKey) {
+        BsonValue id = documentKey != null ? documentKey.get("_id") : null;
+        if (id == null) {
+            return null;
+        }
+        if (id.isObjectId()) {
+            return id.asObjectId().getValue().toHexString();
+        }
+        return id.isString() ? id.asString().getValue() : null;
+    }
+}
@@ -0,0 +1,57 @@
+package com.expense.splitter.cache;
+
+import com.expense.splitter.dto.CacheStatsResponse;
+import com.expense.splitter.model.Person;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Read-through cache of Person records.
+ * Reads fall back to the PersonRepository on a miss; PersonService keeps
+ * the cache coherent by calling {@link #put} and {@link #evict} on writes,
+ * and writes by other nodes arrive through {@link #evictById}.
+ * Uniqueness checks (e.g. of emails) must not go through the cache: a
+ * stale answer lets a duplicate through or rejects a freed value.
+ * Implementations may be in-process or distributed.
+ */
+public interface PersonCache {
+
+    /**
+     * Look up a person by ID, loading it on a miss.
+     */
+    Optional<Person> findById(String id);
+
+    /**
+     * Look up several persons; all misses are loaded with one query.
+     * IDs that do not exist are absent from the returned map.
+     */
+    Map<String, Person> findAllById(Collection<String> ids);
+
+    /**
+     * Store a freshly written person.
+     */
+    void put(Person person);
+
+    /**
+     * Drop a person after it was changed or deleted.
+     */
+    void evict(Person person);
+
+    /**
+     * Drop a person known only by ID, e.g. changed or deleted by another node.
+     */
+    void evictById(String id);
+
+    /**
+     * Drop every entry, e.g. when changes made elsewhere may have been missed.
+     */
+    void clear();
+
+    /**
+     * Current statistics, one entry per underlying cache.
+     */
+    List<CacheStatsResponse> stats();
+}
@@ -0,0 +1,53 @@
+package com.expense.splitter.config;
+
+import com.expense.splitter.model.Expense;
+import com.expense.splitter.service.BalanceLedgerService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.AggregationUpdate;
+import org.springframework.data.mongodb.core.aggregation.ArithmeticOperators;
+import org.springframework.data.mongodb.core.aggregation.ConvertOperators;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Component;
+
+/**
+ * One-off migration for databases created before amounts were stored in
+ * minor units: converts the legacy decimal {@code amount} field of every
+ * expense into {@code amountMinor} server side, then rebuilds the ledger.
+ * Enable with app.migrations.legacy-amounts=true for the first start after upgrading.
+ */
+@Component
+@ConditionalOnProperty(name = "app.migrations.legacy-amounts", havingValue = "true")
+public class LegacyAmountMigration implements ApplicationRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(LegacyAmountMigration.class);
+
+    private final MongoTemplate mongoTemplate;
+    private final BalanceLedgerService balanceLedgerService;
+
+    public LegacyAmountMigration(MongoTemplate mongoTemplate, BalanceLedgerService balanceLedgerService) {
+        this.mongoTemplate = mongoTemplate;
+        this.balanceLedgerService = balanceLedgerService;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        Query legacy = Query.query(Criteria.where("amount").exists(true).and("amountMinor").exists(false));
+        AggregationUpdate update = AggregationUpdate.update()
+                .set("amountMinor").toValue(ConvertOperators.ToLong.toLong(
+                        ArithmeticOperators.Round.roundValueOf(
+                                ArithmeticOperators.Multiply.valueOf("amount").multiplyBy(100)).place(0)))
+                .unset("amount");
+
+        long migrated = mongoTemplate.updateMulti(legacy, update, Expense.class).getModifiedCount();
+        if (migrated > 0) {
+            log.info("Converted {} legacy expense amounts to minor units", migrated);
+            balanceLedgerService.reconcile();
+        }
+    }
+}
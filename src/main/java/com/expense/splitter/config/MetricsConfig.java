@@ -0,0 +1,41 @@
+package com.expense.splitter.config;
+
+import com.expense.splitter.metrics.MongoRoundTripFilter;
+import com.expense.splitter.metrics.MongoRoundTrips;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.autoconfigure.mongo.MongoClientSettingsBuilderCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.TaskDecorator;
+
+/**
+ * Metrics Configuration
+ * Actuator already times every endpoint (http.server.requests), repository
+ * method (spring.data.repository.invocations) and Mongo command
+ * (mongodb.driver.commands); this adds the per-request Mongo round-trip count.
+ */
+@Configuration
+public class MetricsConfig {
+
+    @Bean
+    public MongoClientSettingsBuilderCustomizer mongoRoundTripListener() {
+        return settings -> settings.addCommandListener(MongoRoundTrips.commandListener());
+    }
+
+    /**
+     * Applied to the lookup executor (see ThreadingConfig) and by Boot to the
+     * application task executor, so fanned-out lookups count toward the
+     * request that started them.
+     */
+    @Bean
+    public TaskDecorator mongoRoundTripTaskDecorator() {
+        return MongoRoundTrips.taskDecorator();
+    }
+
+    @Bean
+    @ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+    public MongoRoundTripFilter mongoRoundTripFilter(MeterRegistry meterRegistry) {
+        return new MongoRoundTripFilter(meterRegistry);
+    }
+}
@@ -0,0 +1,13 @@
+package com.expense.splitter.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Scheduling Configuration
+ * Enables background jobs such as balance ledger reconciliation
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
@@ -0,0 +1,52 @@
+package com.expense.splitter.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.boot.task.SimpleAsyncTaskExecutorBuilder;
+import org.springframework.boot.task.ThreadPoolTaskExecutorBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.core.env.Environment;
+import org.springframework.core.task.AsyncTaskExecutor;
+
+import java.util.concurrent.ThreadPoolExecutor;
+
+/**
+ * Threading Configuration
+ * The service lookup fan-out gets its own executor, kept apart from the
+ * application task pool so long-running streamed responses cannot delay
+ * request-path lookups: virtual threads when spring.threads.virtual.enabled
+ * is set on Java 21+, otherwise a fixed pool without a queue whose lookups
+ * run on the calling thread while every pool thread is busy.
+ * Any Executor bean turns off Boot's application task executor, so it is
+ * declared here as well, built the way Boot builds it.
+ */
+@Configuration
+public class ThreadingConfig {
+
+    @Bean
+    public AsyncTaskExecutor lookupExecutor(Environment environment,
+                                            SimpleAsyncTaskExecutorBuilder virtualThreads,
+                                            ThreadPoolTaskExecutorBuilder pool,
+                                            @Value("${app.lookups.pool-size}") int poolSize) {
+        if (Threading.VIRTUAL.isActive(environment)) {
+            return virtualThreads.threadNamePrefix("lookup-").build();
+        }
+        return pool.threadNamePrefix("lookup-")
+                .corePoolSize(poolSize)
+                .maxPoolSize(poolSize)
+                .queueCapacity(0)
+                .additionalCustomizers(executor ->
+                        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy()))
+                .build();
+    }
+
+    @Lazy
+    @Bean(name = {"applicationTaskExecutor", "taskExecutor"})
+    public AsyncTaskExecutor applicationTaskExecutor(Environment environment,
+                                                     SimpleAsyncTaskExecutorBuilder virtualThreads,
+                                                     ThreadPoolTaskExecutorBuilder pool) {
+        return Threading.VIRTUAL.isActive(environment) ? virtualThreads.build() : pool.build();
+    }
+}
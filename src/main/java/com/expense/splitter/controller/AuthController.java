@@ -4,6 +4,7 @@ import com.expense.splitter.dto.AuthResponse;
 import com.expense.splitter.dto.LoginRequest;
 import com.expense.splitter.service.AuthService;
 import jakarta.validation.Valid;
+import org.springframework.context.annotation.Profile;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
@@ -14,6 +15,7 @@ import org.springframework.web.bind.annotation.*;
 @RestController
 @RequestMapping("/api/auth")
 @CrossOrigin(origins = "http://localhost:5173")
+@Profile("!reactive")
 public class AuthController {
 
     private final AuthService authService;
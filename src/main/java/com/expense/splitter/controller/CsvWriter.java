@@ -0,0 +1,114 @@
+package com.expense.splitter.controller;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Writes batches of objects as RFC 4180 CSV rows, one column per
+ * registered extractor, flushing after each batch like {@link NdjsonWriter}.
+ * Text cells that a spreadsheet would evaluate as a formula are prefixed with '.
+ */
+class CsvWriter<T> {
+
+    private final Map<String, Function<T, ?>> columns;
+    private final Writer out;
+
+    private CsvWriter(Map<String, Function<T, ?>> columns, OutputStream out) {
+        this.columns = columns;
+        this.out = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+    }
+
+    static <T> Builder<T> columns() {
+        return new Builder<>();
+    }
+
+    void writeHeader() {
+        writeRow(new ArrayList<>(columns.keySet()));
+        flush();
+    }
+
+    void writeBatch(List<? extends T> batch) {
+        List<Object> values = new ArrayList<>(columns.size());
+        for (T item : batch) {
+            values.clear();
+            for (Function<T, ?> column : columns.values()) {
+                values.add(column.apply(item));
+            }
+            writeRow(values);
+        }
+        flush();
+    }
+
+    private void writeRow(List<?> values) {
+        try {
+            for (int i = 0; i < values.size(); i++) {
+                if (i > 0) {
+                    out.write(',');
+                }
+                out.write(escape(values.get(i)));
+            }
+            out.write("\r\n");
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void flush() {
+        try {
+            out.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static String escape(Object value) {
+        if (value == null) {
+            return "";
+        }
+        String text = value instanceof List<?> list
+                ? String.join(";", list.stream().map(String::valueOf).toList())
+                : value.toString();
+        if (!(value instanceof Number) && isFormula(text)) {
+            // Shown as text, not evaluated, when the file is opened in a spreadsheet
+            text = "'" + text;
+        }
+        if (text.indexOf(',') < 0 && text.indexOf('"') < 0 && text.indexOf('\n') < 0 && text.indexOf('\r') < 0) {
+            return text;
+        }
+        return '"' + text.replace("\"", "\"\"") + '"';
+    }
+
+    /**
+     * Whether a spreadsheet could evaluate the text as a formula.
+     */
+    private static boolean isFormula(String text) {
+        if (text.isEmpty()) {
+            return false;
+        }
+        char first = text.charAt(0);
+        return first == '=' || first == '+' || first == '-' || first == '@' || first == '\t' || first == '\r';
+    }
+
+    static final class Builder<T> {
+        private final Map<String, Function<T, ?>> columns = new LinkedHashMap<>();
+
+        Builder<T> column(String name, Function<T, ?> extractor) {
+            columns.put(name, extractor);
+            return this;
+        }
+
+        CsvWriter<T> writeTo(OutputStream out) {
+            return new CsvWriter<>(columns, out);
+        }
+    }
+}
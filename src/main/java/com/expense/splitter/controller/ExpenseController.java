@@ -1,13 +1,36 @@
 package com.expense.splitter.controller;
 
+import com.expense.splitter.dto.BulkImportResponse;
+import com.expense.splitter.dto.CurrencyBalanceReport;
+import com.expense.splitter.dto.CursorPage;
+import com.expense.splitter.dto.ExpensePatchRequest;
 import com.expense.splitter.dto.ExpenseRequest;
 import com.expense.splitter.dto.ExpenseResponse;
+import com.expense.splitter.dto.NameBackfillStatus;
+import com.expense.splitter.dto.NameConsistencyReport;
+import com.expense.splitter.dto.ReconciliationReport;
+import com.expense.splitter.dto.SettlementResponse;
+import com.expense.splitter.dto.SummaryResponse;
+import com.expense.splitter.service.CurrencyBalanceService;
+import com.expense.splitter.service.ExpenseImportService;
 import com.expense.splitter.service.ExpenseService;
+import com.expense.splitter.service.FxRateService;
+import com.expense.splitter.service.SettlementService;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import jakarta.validation.Valid;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Map;
 
@@ -18,13 +41,32 @@ import java.util.Map;
 @RestController
 @RequestMapping("/api/expenses")
 @CrossOrigin(origins = "http://localhost:5173")
+@Profile("!reactive")
 public class ExpenseController {
 
     private final ExpenseService expenseService;
+    private final ExpenseImportService expenseImportService;
+    private final SettlementService settlementService;
+    private final CurrencyBalanceService currencyBalanceService;
+    private final FxRateService fxRateService;
+    private final ObjectMapper objectMapper;
+
+    @Value("${app.pagination.default-size}")
+    private int defaultPageSize;
+
+    @Value("${app.pagination.max-size}")
+    private int maxPageSize;
 
     // ✅ Manual constructor (so no Lombok required)
-    public ExpenseController(ExpenseService expenseService) {
+    public ExpenseController(ExpenseService expenseService, ExpenseImportService expenseImportService,
+                             SettlementService settlementService, CurrencyBalanceService currencyBalanceService,
+                             FxRateService fxRateService, ObjectMapper objectMapper) {
         this.expenseService = expenseService;
+        this.expenseImportService = expenseImportService;
+        this.settlementService = settlementService;
+        this.currencyBalanceService = currencyBalanceService;
+        this.fxRateService = fxRateService;
+        this.objectMapper = objectMapper;
     }
 
     /**
@@ -38,6 +80,18 @@ public class ExpenseController {
         return new ResponseEntity<>(response, HttpStatus.CREATED);
     }
 
+    /**
+     * Import many expenses at once.
+     * POST /api/expenses/bulk (JSON array or NDJSON, read as a stream)
+     * Returns 200 OK with the number imported and the rows that were rejected.
+     */
+    @PostMapping(value = "/bulk", consumes = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    public ResponseEntity<BulkImportResponse> importExpenses(InputStream body) throws IOException {
+        try (MappingIterator<ExpenseRequest> rows = objectMapper.readerFor(ExpenseRequest.class).readValues(body)) {
+            return ResponseEntity.ok(expenseImportService.importExpenses(null, rows));
+        }
+    }
+
     /**
      * Get all expenses.
      * GET /api/expenses
@@ -49,6 +103,58 @@ public class ExpenseController {
         return ResponseEntity.ok(expenses);
     }
 
+    /**
+     * Get one page of expenses using keyset pagination.
+     * GET /api/expenses/page?cursor=&size=
+     * Returns 200 OK with the page and the cursor for the next one (null on the last page).
+     */
+    @GetMapping("/page")
+    public ResponseEntity<CursorPage<ExpenseResponse>> getExpensesPage(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size) {
+        CursorPage<ExpenseResponse> page = expenseService.getExpensesPage(cursor, pageSize(size));
+        return ResponseEntity.ok(page);
+    }
+
+    /**
+     * Stream all expenses as newline-delimited JSON.
+     * GET /api/expenses/stream
+     * Rows are written as they come off the Mongo cursor, so memory stays flat.
+     */
+    @GetMapping(value = "/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamExpenses() {
+        StreamingResponseBody body = out -> {
+            NdjsonWriter writer = new NdjsonWriter(objectMapper, out);
+            expenseService.streamExpenses(maxPageSize, writer::writeBatch);
+        };
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(body);
+    }
+
+    /**
+     * Export expenses as a file, streamed off a Mongo cursor.
+     * GET /api/expenses/export?format=csv|ndjson&gzip=true
+     */
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportExpenses(
+            @RequestParam(defaultValue = "csv") String format,
+            @RequestParam(defaultValue = "false") boolean gzip) {
+        return Exports.expenses("expenses", format, gzip, objectMapper,
+                fxRateService.getRates().getBaseCurrency(),
+                sink -> expenseService.streamExpenses(null, maxPageSize, sink));
+    }
+
+    /**
+     * Export per-person balances as a file, streamed in batches.
+     * GET /api/expenses/balances/export?format=csv|ndjson&gzip=true
+     */
+    @GetMapping("/balances/export")
+    public ResponseEntity<StreamingResponseBody> exportBalances(
+            @RequestParam(defaultValue = "csv") String format,
+            @RequestParam(defaultValue = "false") boolean gzip) {
+        return Exports.balances("balances", format, gzip, objectMapper,
+                sink -> expenseService.streamBalances(null, maxPageSize, sink));
+    }
+
     /**
      * Get an expense by ID.
      * GET /api/expenses/{id}
@@ -63,7 +169,7 @@ public class ExpenseController {
     /**
      * Update an existing expense.
      * PUT /api/expenses/{id}
-     * Returns 200 OK with updated expense details.
+     * Returns 200 OK with updated expense details, or 409 CONFLICT if "version" is stale.
      */
     @PutMapping("/{id}")
     public ResponseEntity<ExpenseResponse> updateExpense(
@@ -73,6 +179,19 @@ public class ExpenseController {
         return ResponseEntity.ok(response);
     }
 
+    /**
+     * Change only the given fields of an expense.
+     * PATCH /api/expenses/{id}
+     * Returns 200 OK with the updated expense, or 409 CONFLICT if "version" is stale.
+     */
+    @PatchMapping("/{id}")
+    public ResponseEntity<ExpenseResponse> patchExpense(
+            @PathVariable String id,
+            @Valid @RequestBody ExpensePatchRequest patch) {
+        ExpenseResponse response = expenseService.patchExpense(id, patch);
+        return ResponseEntity.ok(response);
+    }
+
     /**
      * Delete an expense.
      * DELETE /api/expenses/{id}
@@ -86,23 +205,91 @@ public class ExpenseController {
 
     /**
      * Get a summary of all balances with person details.
-     * GET /api/expenses/summary
-     * Returns 200 OK with a map of person ID -> name, email, balance.
+     * GET /api/expenses/summary?personIds=a,b&sort=balance,desc
+     * Returns 200 OK with one entry (person ID, name, email, balance) per person.
      */
     @GetMapping("/summary")
-    public ResponseEntity<Map<String, Map<String, Object>>> getSummary() {
-        Map<String, Map<String, Object>> summary = expenseService.getSummary();
+    public ResponseEntity<List<SummaryResponse>> getSummary(
+            @RequestParam(required = false) List<String> personIds,
+            @RequestParam(required = false) String sort) {
+        List<SummaryResponse> summary = expenseService.getSummary(null, personIds, sort);
         return ResponseEntity.ok(summary);
     }
 
     /**
      * Get raw numeric balances (person ID -> net balance).
      * GET /api/expenses/balances
+     * GET /api/expenses/balances?asOf=2024-01-31T23:59:59 (balances at that time)
+     * GET /api/expenses/balances?from=2024-01-01T00:00:00&to=2024-02-01T00:00:00 (net change in [from, to))
      * Returns 200 OK with a map of person ID -> balance amount.
      */
     @GetMapping("/balances")
-    public ResponseEntity<Map<String, Double>> getBalances() {
-        Map<String, Double> balances = expenseService.calculateBalances();
+    public ResponseEntity<Map<String, Double>> getBalances(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime asOf,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to) {
+        Map<String, Double> balances = expenseService.calculateBalances(null, asOf, from, to);
         return ResponseEntity.ok(balances);
     }
+
+    /**
+     * Get the transfers that settle all outstanding balances.
+     * GET /api/expenses/settlements
+     * Returns 200 OK with a list of from -> to payments.
+     */
+    @GetMapping("/settlements")
+    public ResponseEntity<List<SettlementResponse>> getSettlements() {
+        List<SettlementResponse> settlements = settlementService.getSettlements();
+        return ResponseEntity.ok(settlements);
+    }
+
+    /**
+     * Get balances per original currency and converted at the current FX rates.
+     * GET /api/expenses/balances/currencies
+     * Returns 200 OK with both views, computed in one pass over the expenses.
+     */
+    @GetMapping("/balances/currencies")
+    public ResponseEntity<CurrencyBalanceReport> getCurrencyBalances() {
+        CurrencyBalanceReport report = currencyBalanceService.getBalances(null);
+        return ResponseEntity.ok(report);
+    }
+
+    /**
+     * Rebuild the balance ledger from the expense log.
+     * POST /api/expenses/balances/reconcile
+     * Returns 200 OK with the drift that was found and corrected.
+     */
+    @PostMapping("/balances/reconcile")
+    public ResponseEntity<ReconciliationReport> reconcileBalances() {
+        ReconciliationReport report = expenseService.reconcileBalances();
+        return ResponseEntity.ok(report);
+    }
+
+    /**
+     * Progress of copying renamed persons' names onto their expenses.
+     * GET /api/expenses/names/backfill
+     */
+    @GetMapping("/names/backfill")
+    public ResponseEntity<NameBackfillStatus> getNameBackfillStatus() {
+        return ResponseEntity.ok(expenseService.getNameBackfillStatus());
+    }
+
+    /**
+     * Check the names stored on expenses against the persons.
+     * POST /api/expenses/names/check?repair=true
+     * Returns 200 OK with the stale expense counts per person.
+     */
+    @PostMapping("/names/check")
+    public ResponseEntity<NameConsistencyReport> checkPersonNames(
+            @RequestParam(defaultValue = "false") boolean repair) {
+        NameConsistencyReport report = expenseService.checkPersonNames(repair);
+        return ResponseEntity.ok(report);
+    }
+
+    private int pageSize(Integer requested) {
+        if (requested == null || requested < 1) {
+            return defaultPageSize;
+        }
+        return Math.min(requested, maxPageSize);
+    }
 }
@@ -0,0 +1,121 @@
+package com.expense.splitter.controller;
+
+import com.expense.splitter.dto.ExpenseResponse;
+import com.expense.splitter.dto.SummaryResponse;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.OutputStream;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Builds streaming export responses (CSV or NDJSON, optionally gzipped)
+ * shared by the global and group-scoped controllers. Rows are written
+ * batch by batch as the service produces them, so heap use does not grow
+ * with the size of the export.
+ */
+final class Exports {
+
+    private static final MediaType CSV = new MediaType("text", "csv");
+    private static final MediaType GZIP = new MediaType("application", "gzip");
+
+    private static final CsvWriter.Builder<SummaryResponse> BALANCE_COLUMNS = CsvWriter.<SummaryResponse>columns()
+            .column("personId", SummaryResponse::getPersonId)
+            .column("name", SummaryResponse::getName)
+            .column("email", SummaryResponse::getEmail)
+            .column("balance", SummaryResponse::getBalance);
+
+    private Exports() {}
+
+    /**
+     * Producer of export rows: hands each batch to the given sink.
+     */
+    interface Rows<T> {
+        void writeTo(Consumer<List<T>> sink);
+    }
+
+    /**
+     * Expenses export. Every row names its currency and the rate it was
+     * booked at; expenses stored before currencies existed are in
+     * {@code baseCurrency} at rate 1.
+     */
+    static ResponseEntity<StreamingResponseBody> expenses(String filename, String format, boolean gzip,
+                                                          ObjectMapper objectMapper, String baseCurrency,
+                                                          Rows<ExpenseResponse> rows) {
+        return export(filename, format, gzip, objectMapper, expenseColumns(baseCurrency), rows);
+    }
+
+    static ResponseEntity<StreamingResponseBody> balances(String filename, String format, boolean gzip,
+                                                          ObjectMapper objectMapper, Rows<SummaryResponse> rows) {
+        return export(filename, format, gzip, objectMapper, BALANCE_COLUMNS, rows);
+    }
+
+    private static CsvWriter.Builder<ExpenseResponse> expenseColumns(String baseCurrency) {
+        return CsvWriter.<ExpenseResponse>columns()
+                .column("id", ExpenseResponse::getId)
+                .column("createdAt", ExpenseResponse::getCreatedAt)
+                .column("description", ExpenseResponse::getDescription)
+                .column("amount", ExpenseResponse::getAmount)
+                .column("currency", expense -> expense.getCurrency() != null ? expense.getCurrency() : baseCurrency)
+                .column("fxRate", expense -> expense.getFxRate() != null ? expense.getFxRate() : 1.0)
+                .column("paidBy", ExpenseResponse::getPaidBy)
+                .column("paidByName", ExpenseResponse::getPaidByName)
+                .column("splitBetween", ExpenseResponse::getSplitBetween)
+                .column("splitBetweenNames", ExpenseResponse::getSplitBetweenNames)
+                .column("splitType", ExpenseResponse::getSplitType)
+                .column("shares", ExpenseResponse::getShares)
+                .column("perPersonAmount", ExpenseResponse::getPerPersonAmount);
+    }
+
+    private static <T> ResponseEntity<StreamingResponseBody> export(String filename, String format, boolean gzip,
+                                                                     ObjectMapper objectMapper,
+                                                                     CsvWriter.Builder<T> columns, Rows<T> rows) {
+        boolean csv = parseFormat(format);
+        StreamingResponseBody body = out -> {
+            // syncFlush so every batch reaches the client as soon as it is written
+            OutputStream target = gzip ? new GZIPOutputStream(out, 8192, true) : out;
+            if (csv) {
+                CsvWriter<T> writer = columns.writeTo(target);
+                writer.writeHeader();
+                rows.writeTo(writer::writeBatch);
+            } else {
+                NdjsonWriter writer = new NdjsonWriter(objectMapper, target);
+                rows.writeTo(writer::writeBatch);
+            }
+            if (gzip) {
+                ((GZIPOutputStream) target).finish();
+            }
+        };
+
+        String extension = csv ? "csv" : "ndjson";
+        MediaType contentType = csv ? CSV : MediaType.APPLICATION_NDJSON;
+        if (gzip) {
+            extension += ".gz";
+            contentType = GZIP;
+        }
+        return ResponseEntity.ok()
+                .contentType(contentType)
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        ContentDisposition.attachment().filename(filename + "." + extension).build().toString())
+                .body(body);
+    }
+
+    /**
+     * True for csv, false for ndjson.
+     */
+    private static boolean parseFormat(String format) {
+        if ("csv".equalsIgnoreCase(format)) {
+            return true;
+        }
+        if ("ndjson".equalsIgnoreCase(format)) {
+            return false;
+        }
+        throw new IllegalArgumentException("Unsupported export format: " + format + " (use csv or ndjson)");
+    }
+}
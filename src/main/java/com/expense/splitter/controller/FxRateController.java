@@ -0,0 +1,49 @@
+package com.expense.splitter.controller;
+
+import com.expense.splitter.dto.FxRatesRequest;
+import com.expense.splitter.dto.FxRatesResponse;
+import com.expense.splitter.service.FxRateService;
+import com.expense.splitter.service.FxRateTable;
+import jakarta.validation.Valid;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+/**
+ * REST Controller for the FX rate table (rates into the ledger base currency)
+ * Rates are local: replaced here or reloaded from the configured file
+ */
+@RestController
+@RequestMapping("/api/fx/rates")
+@CrossOrigin(origins = "http://localhost:5173")
+@Profile("!reactive")
+public class FxRateController {
+
+    private final FxRateService fxRateService;
+
+    public FxRateController(FxRateService fxRateService) {
+        this.fxRateService = fxRateService;
+    }
+
+    /** Get the current rate table */
+    @GetMapping
+    public ResponseEntity<FxRatesResponse> getRates() {
+        return ResponseEntity.ok(toResponse(fxRateService.getRates()));
+    }
+
+    /** Replace the whole rate table; applies to expenses written from now on */
+    @PutMapping
+    public ResponseEntity<FxRatesResponse> replaceRates(@Valid @RequestBody FxRatesRequest request) {
+        return ResponseEntity.ok(toResponse(fxRateService.replaceRates(request.getRates())));
+    }
+
+    /** Reload the rate table from app.fx.rates-file */
+    @PostMapping("/reload")
+    public ResponseEntity<FxRatesResponse> reloadRates() {
+        return ResponseEntity.ok(toResponse(fxRateService.reloadRates()));
+    }
+
+    static FxRatesResponse toResponse(FxRateTable rates) {
+        return new FxRatesResponse(rates.getBaseCurrency(), rates.getAsOf(), rates.toMap());
+    }
+}
@@ -0,0 +1,74 @@
+package com.expense.splitter.controller;
+
+import com.expense.splitter.dto.GroupRequest;
+import com.expense.splitter.dto.GroupResponse;
+import com.expense.splitter.dto.PersonResponse;
+import com.expense.splitter.service.GroupService;
+import com.expense.splitter.service.PersonService;
+import jakarta.validation.Valid;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+/**
+ * REST Controller for Group CRUD operations and membership
+ * Group-scoped expenses are served by GroupExpenseController
+ * Not served under the "reactive" profile, which covers expenses and persons only
+ */
+@RestController
+@RequestMapping("/api/groups")
+@CrossOrigin(origins = "http://localhost:5173")
+@Profile("!reactive")
+public class GroupController {
+
+    private final GroupService groupService;
+    private final PersonService personService;
+
+    public GroupController(GroupService groupService, PersonService personService) {
+        this.groupService = groupService;
+        this.personService = personService;
+    }
+
+    /** Create a new group */
+    @PostMapping
+    public ResponseEntity<GroupResponse> createGroup(@Valid @RequestBody GroupRequest request) {
+        GroupResponse response = groupService.createGroup(request);
+        return new ResponseEntity<>(response, HttpStatus.CREATED);
+    }
+
+    /** Get all groups */
+    @GetMapping
+    public ResponseEntity<List<GroupResponse>> getAllGroups() {
+        return ResponseEntity.ok(groupService.getAllGroups());
+    }
+
+    /** Get group by ID */
+    @GetMapping("/{groupId}")
+    public ResponseEntity<GroupResponse> getGroupById(@PathVariable String groupId) {
+        return ResponseEntity.ok(groupService.getGroupById(groupId));
+    }
+
+    /** Get the members of a group */
+    @GetMapping("/{groupId}/members")
+    public ResponseEntity<List<PersonResponse>> getMembers(@PathVariable String groupId) {
+        groupService.getGroupById(groupId);
+        return ResponseEntity.ok(personService.getPersonsInGroup(groupId));
+    }
+
+    /** Add a person to a group */
+    @PutMapping("/{groupId}/members/{personId}")
+    public ResponseEntity<Void> addMember(@PathVariable String groupId, @PathVariable String personId) {
+        groupService.addMember(groupId, personId);
+        return ResponseEntity.noContent().build();
+    }
+
+    /** Remove a person from a group (only when their group balance is zero) */
+    @DeleteMapping("/{groupId}/members/{personId}")
+    public ResponseEntity<Void> removeMember(@PathVariable String groupId, @PathVariable String personId) {
+        groupService.removeMember(groupId, personId);
+        return ResponseEntity.noContent().build();
+    }
+}
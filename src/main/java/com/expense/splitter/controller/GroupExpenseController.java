@@ -0,0 +1,248 @@
+package com.expense.splitter.controller;
+
+import com.expense.splitter.dto.BulkImportResponse;
+import com.expense.splitter.dto.CurrencyBalanceReport;
+import com.expense.splitter.dto.CursorPage;
+import com.expense.splitter.dto.ExpensePatchRequest;
+import com.expense.splitter.dto.ExpenseRequest;
+import com.expense.splitter.dto.ExpenseResponse;
+import com.expense.splitter.dto.SettlementResponse;
+import com.expense.splitter.dto.SummaryResponse;
+import com.expense.splitter.service.CurrencyBalanceService;
+import com.expense.splitter.service.ExpenseImportService;
+import com.expense.splitter.service.ExpenseService;
+import com.expense.splitter.service.FxRateService;
+import com.expense.splitter.service.SettlementService;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.validation.Valid;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * REST Controller for group-scoped expenses and balances.
+ * Mirrors ExpenseController under /api/groups/{groupId}/expenses; every
+ * query is bounded by the group instead of the whole expense collection.
+ * Servlet stack only; the "reactive" profile serves /api/expenses and /api/persons.
+ */
+@RestController
+@RequestMapping("/api/groups/{groupId}/expenses")
+@CrossOrigin(origins = "http://localhost:5173")
+@Profile("!reactive")
+public class GroupExpenseController {
+
+    private final ExpenseService expenseService;
+    private final ExpenseImportService expenseImportService;
+    private final SettlementService settlementService;
+    private final CurrencyBalanceService currencyBalanceService;
+    private final FxRateService fxRateService;
+    private final ObjectMapper objectMapper;
+
+    @Value("${app.pagination.default-size}")
+    private int defaultPageSize;
+
+    @Value("${app.pagination.max-size}")
+    private int maxPageSize;
+
+    public GroupExpenseController(ExpenseService expenseService, ExpenseImportService expenseImportService,
+                                  SettlementService settlementService, CurrencyBalanceService currencyBalanceService,
+                                  FxRateService fxRateService, ObjectMapper objectMapper) {
+        this.expenseService = expenseService;
+        this.expenseImportService = expenseImportService;
+        this.settlementService = settlementService;
+        this.currencyBalanceService = currencyBalanceService;
+        this.fxRateService = fxRateService;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Create a new expense in the group.
+     * POST /api/groups/{groupId}/expenses
+     * Payer and participants must be members of the group.
+     */
+    @PostMapping
+    public ResponseEntity<ExpenseResponse> createExpense(@PathVariable String groupId,
+                                                         @Valid @RequestBody ExpenseRequest request) {
+        ExpenseResponse response = expenseService.createExpense(groupId, request);
+        return new ResponseEntity<>(response, HttpStatus.CREATED);
+    }
+
+    /**
+     * Import many expenses into the group at once.
+     * POST /api/groups/{groupId}/expenses/bulk (JSON array or NDJSON)
+     * Returns 200 OK with the number imported and the rows that were rejected.
+     */
+    @PostMapping(value = "/bulk", consumes = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    public ResponseEntity<BulkImportResponse> importExpenses(@PathVariable String groupId,
+                                                             InputStream body) throws IOException {
+        try (MappingIterator<ExpenseRequest> rows = objectMapper.readerFor(ExpenseRequest.class).readValues(body)) {
+            return ResponseEntity.ok(expenseImportService.importExpenses(groupId, rows));
+        }
+    }
+
+    /**
+     * Get all expenses of the group.
+     * GET /api/groups/{groupId}/expenses
+     */
+    @GetMapping
+    public ResponseEntity<List<ExpenseResponse>> getAllExpenses(@PathVariable String groupId) {
+        return ResponseEntity.ok(expenseService.getAllExpenses(groupId));
+    }
+
+    /**
+     * Get one page of the group's expenses using keyset pagination.
+     * GET /api/groups/{groupId}/expenses/page?cursor=&size=
+     */
+    @GetMapping("/page")
+    public ResponseEntity<CursorPage<ExpenseResponse>> getExpensesPage(
+            @PathVariable String groupId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size) {
+        return ResponseEntity.ok(expenseService.getExpensesPage(groupId, cursor, pageSize(size)));
+    }
+
+    /**
+     * Stream the group's expenses as newline-delimited JSON.
+     * GET /api/groups/{groupId}/expenses/stream
+     */
+    @GetMapping(value = "/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamExpenses(@PathVariable String groupId) {
+        StreamingResponseBody body = out -> {
+            NdjsonWriter writer = new NdjsonWriter(objectMapper, out);
+            expenseService.streamExpenses(groupId, maxPageSize, writer::writeBatch);
+        };
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(body);
+    }
+
+    /**
+     * Export expenses as a file, streamed off a Mongo cursor.
+     * GET /api/groups/{groupId}/expenses/export?format=csv|ndjson&gzip=true
+     */
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportExpenses(
+            @PathVariable String groupId,
+            @RequestParam(defaultValue = "csv") String format,
+            @RequestParam(defaultValue = "false") boolean gzip) {
+        return Exports.expenses("group-" + groupId + "-expenses", format, gzip, objectMapper,
+                fxRateService.getRates().getBaseCurrency(),
+                sink -> expenseService.streamExpenses(groupId, maxPageSize, sink));
+    }
+
+    /**
+     * Export per-person balances as a file, streamed in batches.
+     * GET /api/groups/{groupId}/expenses/balances/export?format=csv|ndjson&gzip=true
+     */
+    @GetMapping("/balances/export")
+    public ResponseEntity<StreamingResponseBody> exportBalances(
+            @PathVariable String groupId,
+            @RequestParam(defaultValue = "csv") String format,
+            @RequestParam(defaultValue = "false") boolean gzip) {
+        return Exports.balances("group-" + groupId + "-balances", format, gzip, objectMapper,
+                sink -> expenseService.streamBalances(groupId, maxPageSize, sink));
+    }
+
+    /**
+     * Get an expense of the group by ID.
+     * GET /api/groups/{groupId}/expenses/{id}
+     */
+    @GetMapping("/{id}")
+    public ResponseEntity<ExpenseResponse> getExpenseById(@PathVariable String groupId, @PathVariable String id) {
+        return ResponseEntity.ok(expenseService.getExpenseById(groupId, id));
+    }
+
+    /**
+     * Update an expense of the group.
+     * PUT /api/groups/{groupId}/expenses/{id}
+     */
+    @PutMapping("/{id}")
+    public ResponseEntity<ExpenseResponse> updateExpense(
+            @PathVariable String groupId,
+            @PathVariable String id,
+            @Valid @RequestBody ExpenseRequest request) {
+        return ResponseEntity.ok(expenseService.updateExpense(groupId, id, request));
+    }
+
+    /**
+     * Change only the given fields of an expense of the group.
+     * PATCH /api/groups/{groupId}/expenses/{id}
+     */
+    @PatchMapping("/{id}")
+    public ResponseEntity<ExpenseResponse> patchExpense(
+            @PathVariable String groupId,
+            @PathVariable String id,
+            @Valid @RequestBody ExpensePatchRequest patch) {
+        return ResponseEntity.ok(expenseService.patchExpense(groupId, id, patch));
+    }
+
+    /**
+     * Delete an expense of the group.
+     * DELETE /api/groups/{groupId}/expenses/{id}
+     */
+    @DeleteMapping("/{id}")
+    public ResponseEntity<Void> deleteExpense(@PathVariable String groupId, @PathVariable String id) {
+        expenseService.deleteExpense(groupId, id);
+        return ResponseEntity.noContent().build();
+    }
+
+    /**
+     * Get a summary of the group's balances with person details.
+     * GET /api/groups/{groupId}/expenses/summary?personIds=a,b&sort=balance,desc
+     */
+    @GetMapping("/summary")
+    public ResponseEntity<List<SummaryResponse>> getSummary(
+            @PathVariable String groupId,
+            @RequestParam(required = false) List<String> personIds,
+            @RequestParam(required = false) String sort) {
+        return ResponseEntity.ok(expenseService.getSummary(groupId, personIds, sort));
+    }
+
+    /**
+     * Get the group's net balances (person ID -> balance).
+     * GET /api/groups/{groupId}/expenses/balances[?asOf=] or [?from=&to=] (ISO date-times)
+     */
+    @GetMapping("/balances")
+    public ResponseEntity<Map<String, Double>> getBalances(
+            @PathVariable String groupId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime asOf,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to) {
+        return ResponseEntity.ok(expenseService.calculateBalances(groupId, asOf, from, to));
+    }
+
+    /**
+     * Get the group's balances per original currency and converted at the current FX rates.
+     * GET /api/groups/{groupId}/expenses/balances/currencies
+     */
+    @GetMapping("/balances/currencies")
+    public ResponseEntity<CurrencyBalanceReport> getCurrencyBalances(@PathVariable String groupId) {
+        return ResponseEntity.ok(currencyBalanceService.getBalances(groupId));
+    }
+
+    /**
+     * Get the transfers that settle the group's balances.
+     * GET /api/groups/{groupId}/expenses/settlements
+     */
+    @GetMapping("/settlements")
+    public ResponseEntity<List<SettlementResponse>> getSettlements(@PathVariable String groupId) {
+        return ResponseEntity.ok(settlementService.getSettlements(groupId));
+    }
+
+    private int pageSize(Integer requested) {
+        if (requested == null || requested < 1) {
+            return defaultPageSize;
+        }
+        return Math.min(requested, maxPageSize);
+    }
+}
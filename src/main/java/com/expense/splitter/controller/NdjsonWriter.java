@@ -0,0 +1,38 @@
+package com.expense.splitter.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.List;
+
+/**
+ * Writes batches of objects as newline-delimited JSON, flushing after each
+ * batch so clients start receiving rows before the listing is complete.
+ */
+class NdjsonWriter {
+
+    private static final byte[] NEWLINE = {'\n'};
+
+    private final ObjectWriter writer;
+    private final OutputStream out;
+
+    NdjsonWriter(ObjectMapper objectMapper, OutputStream out) {
+        this.writer = objectMapper.writer();
+        this.out = out;
+    }
+
+    void writeBatch(List<?> batch) {
+        try {
+            for (Object item : batch) {
+                out.write(writer.writeValueAsBytes(item));
+                out.write(NEWLINE);
+            }
+            out.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -1,12 +1,21 @@
 package com.expense.splitter.controller;
 
+import com.expense.splitter.dto.CacheStatsResponse;
+import com.expense.splitter.dto.CursorPage;
+import com.expense.splitter.dto.ExpenseResponse;
 import com.expense.splitter.dto.PersonRequest;
 import com.expense.splitter.dto.PersonResponse;
+import com.expense.splitter.service.ExpenseService;
 import com.expense.splitter.service.PersonService;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import jakarta.validation.Valid;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import java.util.List;
 
 /**
@@ -16,13 +25,24 @@ import java.util.List;
 @RestController
 @RequestMapping("/api/persons")
 @CrossOrigin(origins = "http://localhost:5173")
+@Profile("!reactive")
 public class PersonController {
 
     private final PersonService personService;
+    private final ExpenseService expenseService;
+    private final ObjectMapper objectMapper;
+
+    @Value("${app.pagination.default-size}")
+    private int defaultPageSize;
+
+    @Value("${app.pagination.max-size}")
+    private int maxPageSize;
 
     // ✅ Constructor injection (manual) to fix "blank final field not initialized" issue
-    public PersonController(PersonService personService) {
+    public PersonController(PersonService personService, ExpenseService expenseService, ObjectMapper objectMapper) {
         this.personService = personService;
+        this.expenseService = expenseService;
+        this.objectMapper = objectMapper;
     }
 
     /** Create a new person */
@@ -39,6 +59,31 @@ public class PersonController {
         return ResponseEntity.ok(persons);
     }
 
+    /** Get one page of persons (keyset pagination, GET /api/persons/page?cursor=&size=) */
+    @GetMapping("/page")
+    public ResponseEntity<CursorPage<PersonResponse>> getPersonsPage(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size) {
+        CursorPage<PersonResponse> page = personService.getPersonsPage(cursor, pageSize(size));
+        return ResponseEntity.ok(page);
+    }
+
+    /** Stream all persons as newline-delimited JSON */
+    @GetMapping(value = "/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamPersons() {
+        StreamingResponseBody body = out -> {
+            NdjsonWriter writer = new NdjsonWriter(objectMapper, out);
+            personService.streamPersons(maxPageSize, writer::writeBatch);
+        };
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(body);
+    }
+
+    /** Get person cache statistics (hits, misses, evictions) */
+    @GetMapping("/cache/stats")
+    public ResponseEntity<List<CacheStatsResponse>> getCacheStats() {
+        return ResponseEntity.ok(personService.getCacheStats());
+    }
+
     /** Get person by ID */
     @GetMapping("/{id}")
     public ResponseEntity<PersonResponse> getPersonById(@PathVariable String id) {
@@ -46,6 +91,19 @@ public class PersonController {
         return ResponseEntity.ok(response);
     }
 
+    /**
+     * Get one page of a person's expenses (keyset pagination,
+     * GET /api/persons/{id}/expenses?role=payer|participant&cursor=&size=)
+     */
+    @GetMapping("/{id}/expenses")
+    public ResponseEntity<CursorPage<ExpenseResponse>> getPersonExpenses(
+            @PathVariable String id,
+            @RequestParam(required = false) String role,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size) {
+        return ResponseEntity.ok(expenseService.getExpensesOfPerson(id, role, cursor, pageSize(size)));
+    }
+
     /** Update person */
     @PutMapping("/{id}")
     public ResponseEntity<PersonResponse> updatePerson(
@@ -55,10 +113,27 @@ public class PersonController {
         return ResponseEntity.ok(response);
     }
 
-    /** Delete person */
+    /**
+     * Delete person (DELETE /api/persons/{id}?mode=block|reassign|remove&to=).
+     * block: refused while any balance is open. reassign: the person's place
+     * goes to {@code to}, merging their shares where both take part.
+     * remove: the person's share of each expense is written off against the
+     * payer (the amount shrinks; the other shares stay), for every split type;
+     * refused while they paid any expense.
+     */
     @DeleteMapping("/{id}")
-    public ResponseEntity<Void> deletePerson(@PathVariable String id) {
-        personService.deletePerson(id);
+    public ResponseEntity<Void> deletePerson(
+            @PathVariable String id,
+            @RequestParam(required = false) String mode,
+            @RequestParam(required = false) String to) {
+        personService.deletePerson(id, mode, to);
         return ResponseEntity.noContent().build();
     }
+
+    private int pageSize(Integer requested) {
+        if (requested == null || requested < 1) {
+            return defaultPageSize;
+        }
+        return Math.min(requested, maxPageSize);
+    }
 }
@@ -0,0 +1,45 @@
+package com.expense.splitter.controller;
+
+import com.expense.splitter.dto.AuthResponse;
+import com.expense.splitter.dto.LoginRequest;
+import com.expense.splitter.service.AuthService;
+import jakarta.validation.Valid;
+import org.springframework.context.annotation.Profile;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * WebFlux variant of {@link AuthController} for the "reactive" profile.
+ * Same routes and payloads; the user lookup and BCrypt hashing run on the
+ * boundedElastic scheduler, off the event loop.
+ */
+@RestController
+@RequestMapping("/api/auth")
+@CrossOrigin(origins = "http://localhost:5173")
+@Profile("reactive")
+public class ReactiveAuthController {
+
+    private final AuthService authService;
+
+    public ReactiveAuthController(AuthService authService) {
+        this.authService = authService;
+    }
+
+    /** Login; returns a JWT token for authenticated requests */
+    @PostMapping("/login")
+    public Mono<AuthResponse> login(@Valid @RequestBody LoginRequest request) {
+        return Mono.fromCallable(() -> authService.login(request))
+                .subscribeOn(Schedulers.boundedElastic());
+    }
+
+    /** Register a new user account */
+    @PostMapping("/register")
+    public Mono<String> register(@Valid @RequestBody LoginRequest request) {
+        return Mono.fromCallable(() -> {
+                    authService.register(request.getUsername(), request.getPassword());
+                    return "User registered successfully";
+                })
+                .subscribeOn(Schedulers.boundedElastic());
+    }
+}
@@ -0,0 +1,216 @@
+package com.expense.splitter.controller;
+
+import com.expense.splitter.dto.BulkImportResponse;
+import com.expense.splitter.dto.CurrencyBalanceReport;
+import com.expense.splitter.dto.CursorPage;
+import com.expense.splitter.dto.ExpensePatchRequest;
+import com.expense.splitter.dto.ExpenseRequest;
+import com.expense.splitter.dto.ExpenseResponse;
+import com.expense.splitter.dto.NameBackfillStatus;
+import com.expense.splitter.dto.NameConsistencyReport;
+import com.expense.splitter.dto.ReconciliationReport;
+import com.expense.splitter.dto.SettlementResponse;
+import com.expense.splitter.dto.SummaryResponse;
+import com.expense.splitter.service.ReactiveExpenseService;
+import jakarta.validation.Valid;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * WebFlux variant of {@link ExpenseController} for the "reactive" profile.
+ * Same routes and payloads; list endpoints stream off a Mongo cursor with
+ * backpressure, so a slow client slows the cursor instead of filling memory.
+ * The file exports are only served by the servlet stack.
+ */
+@RestController
+@RequestMapping("/api/expenses")
+@CrossOrigin(origins = "http://localhost:5173")
+@Profile("reactive")
+public class ReactiveExpenseController {
+
+    private final ReactiveExpenseService expenseService;
+
+    @Value("${app.pagination.default-size}")
+    private int defaultPageSize;
+
+    @Value("${app.pagination.max-size}")
+    private int maxPageSize;
+
+    public ReactiveExpenseController(ReactiveExpenseService expenseService) {
+        this.expenseService = expenseService;
+    }
+
+    /**
+     * Create a new expense.
+     * POST /api/expenses
+     */
+    @PostMapping
+    public Mono<ResponseEntity<ExpenseResponse>> createExpense(@Valid @RequestBody ExpenseRequest request) {
+        return expenseService.createExpense(request)
+                .map(response -> new ResponseEntity<>(response, HttpStatus.CREATED));
+    }
+
+    /**
+     * Import many expenses at once.
+     * POST /api/expenses/bulk (JSON array or NDJSON, decoded as a stream)
+     */
+    @PostMapping(value = "/bulk", consumes = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    public Mono<ResponseEntity<BulkImportResponse>> importExpenses(@RequestBody Flux<ExpenseRequest> rows) {
+        return expenseService.importExpenses(rows).map(ResponseEntity::ok);
+    }
+
+    /**
+     * Get all expenses.
+     * GET /api/expenses (written as a JSON array while the cursor is read)
+     */
+    @GetMapping
+    public Flux<ExpenseResponse> getAllExpenses() {
+        return expenseService.streamExpenses(maxPageSize);
+    }
+
+    /**
+     * Get one page of expenses using keyset pagination.
+     * GET /api/expenses/page?cursor=&size=
+     */
+    @GetMapping("/page")
+    public Mono<CursorPage<ExpenseResponse>> getExpensesPage(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size) {
+        return expenseService.getExpensesPage(cursor, pageSize(size));
+    }
+
+    /**
+     * Stream all expenses as newline-delimited JSON.
+     * GET /api/expenses/stream
+     */
+    @GetMapping(value = "/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<ExpenseResponse> streamExpenses() {
+        return expenseService.streamExpenses(maxPageSize);
+    }
+
+    /**
+     * Get an expense by ID.
+     * GET /api/expenses/{id}
+     */
+    @GetMapping("/{id}")
+    public Mono<ExpenseResponse> getExpenseById(@PathVariable String id) {
+        return expenseService.getExpenseById(id);
+    }
+
+    /**
+     * Update an existing expense.
+     * PUT /api/expenses/{id}
+     */
+    @PutMapping("/{id}")
+    public Mono<ExpenseResponse> updateExpense(
+            @PathVariable String id,
+            @Valid @RequestBody ExpenseRequest request) {
+        return expenseService.updateExpense(id, request);
+    }
+
+    /**
+     * Change only the given fields of an expense.
+     * PATCH /api/expenses/{id}
+     */
+    @PatchMapping("/{id}")
+    public Mono<ExpenseResponse> patchExpense(
+            @PathVariable String id,
+            @Valid @RequestBody ExpensePatchRequest patch) {
+        return expenseService.patchExpense(id, patch);
+    }
+
+    /**
+     * Delete an expense.
+     * DELETE /api/expenses/{id}
+     */
+    @DeleteMapping("/{id}")
+    public Mono<ResponseEntity<Void>> deleteExpense(@PathVariable String id) {
+        return expenseService.deleteExpense(id).then(Mono.just(ResponseEntity.noContent().build()));
+    }
+
+    /**
+     * Get a summary of all balances with person details.
+     * GET /api/expenses/summary?personIds=a,b&sort=balance,desc
+     */
+    @GetMapping("/summary")
+    public Mono<List<SummaryResponse>> getSummary(
+            @RequestParam(required = false) List<String> personIds,
+            @RequestParam(required = false) String sort) {
+        return expenseService.getSummary(personIds, sort);
+    }
+
+    /**
+     * Get raw numeric balances (person ID -> net balance).
+     * GET /api/expenses/balances[?asOf=] or [?from=&to=]
+     */
+    @GetMapping("/balances")
+    public Mono<Map<String, Double>> getBalances(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime asOf,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to) {
+        return expenseService.calculateBalances(asOf, from, to);
+    }
+
+    /**
+     * Get the transfers that settle all outstanding balances.
+     * GET /api/expenses/settlements
+     */
+    @GetMapping("/settlements")
+    public Mono<List<SettlementResponse>> getSettlements() {
+        return expenseService.getSettlements();
+    }
+
+    /**
+     * Get balances per original currency and converted at the current FX rates.
+     * GET /api/expenses/balances/currencies
+     */
+    @GetMapping("/balances/currencies")
+    public Mono<CurrencyBalanceReport> getCurrencyBalances() {
+        return expenseService.getCurrencyBalances();
+    }
+
+    /**
+     * Rebuild the balance ledger from the expense log.
+     * POST /api/expenses/balances/reconcile
+     */
+    @PostMapping("/balances/reconcile")
+    public Mono<ReconciliationReport> reconcileBalances() {
+        return expenseService.reconcileBalances();
+    }
+
+    /**
+     * Progress of copying renamed persons' names onto their expenses.
+     * GET /api/expenses/names/backfill
+     */
+    @GetMapping("/names/backfill")
+    public Mono<NameBackfillStatus> getNameBackfillStatus() {
+        return expenseService.getNameBackfillStatus();
+    }
+
+    /**
+     * Check the names stored on expenses against the persons.
+     * POST /api/expenses/names/check?repair=true
+     */
+    @PostMapping("/names/check")
+    public Mono<NameConsistencyReport> checkPersonNames(@RequestParam(defaultValue = "false") boolean repair) {
+        return expenseService.checkPersonNames(repair);
+    }
+
+    private int pageSize(Integer requested) {
+        if (requested == null || requested < 1) {
+            return defaultPageSize;
+        }
+        return Math.min(requested, maxPageSize);
+    }
+}
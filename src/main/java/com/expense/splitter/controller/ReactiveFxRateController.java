@@ -0,0 +1,47 @@
+package com.expense.splitter.controller;
+
+import com.expense.splitter.dto.FxRatesRequest;
+import com.expense.splitter.dto.FxRatesResponse;
+import com.expense.splitter.service.FxRateService;
+import jakarta.validation.Valid;
+import org.springframework.context.annotation.Profile;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * WebFlux variant of {@link FxRateController} for the "reactive" profile.
+ * Reading and replacing the in-memory table never blocks; reloading reads
+ * the rates file on the boundedElastic scheduler.
+ */
+@RestController
+@RequestMapping("/api/fx/rates")
+@CrossOrigin(origins = "http://localhost:5173")
+@Profile("reactive")
+public class ReactiveFxRateController {
+
+    private final FxRateService fxRateService;
+
+    public ReactiveFxRateController(FxRateService fxRateService) {
+        this.fxRateService = fxRateService;
+    }
+
+    /** Get the current rate table */
+    @GetMapping
+    public FxRatesResponse getRates() {
+        return FxRateController.toResponse(fxRateService.getRates());
+    }
+
+    /** Replace the whole rate table; applies to expenses written from now on */
+    @PutMapping
+    public FxRatesResponse replaceRates(@Valid @RequestBody FxRatesRequest request) {
+        return FxRateController.toResponse(fxRateService.replaceRates(request.getRates()));
+    }
+
+    /** Reload the rate table from app.fx.rates-file */
+    @PostMapping("/reload")
+    public Mono<FxRatesResponse> reloadRates() {
+        return Mono.fromCallable(() -> FxRateController.toResponse(fxRateService.reloadRates()))
+                .subscribeOn(Schedulers.boundedElastic());
+    }
+}
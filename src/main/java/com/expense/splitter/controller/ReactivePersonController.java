@@ -0,0 +1,125 @@
+package com.expense.splitter.controller;
+
+import com.expense.splitter.dto.CacheStatsResponse;
+import com.expense.splitter.dto.CursorPage;
+import com.expense.splitter.dto.ExpenseResponse;
+import com.expense.splitter.dto.PersonRequest;
+import com.expense.splitter.dto.PersonResponse;
+import com.expense.splitter.service.ReactiveExpenseService;
+import com.expense.splitter.service.ReactivePersonService;
+import jakarta.validation.Valid;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+/**
+ * WebFlux variant of {@link PersonController} for the "reactive" profile.
+ * Same routes and payloads; list endpoints stream off a Mongo cursor with backpressure.
+ */
+@RestController
+@RequestMapping("/api/persons")
+@CrossOrigin(origins = "http://localhost:5173")
+@Profile("reactive")
+public class ReactivePersonController {
+
+    private final ReactivePersonService personService;
+    private final ReactiveExpenseService expenseService;
+
+    @Value("${app.pagination.default-size}")
+    private int defaultPageSize;
+
+    @Value("${app.pagination.max-size}")
+    private int maxPageSize;
+
+    public ReactivePersonController(ReactivePersonService personService, ReactiveExpenseService expenseService) {
+        this.personService = personService;
+        this.expenseService = expenseService;
+    }
+
+    /** Create a new person */
+    @PostMapping
+    public Mono<ResponseEntity<PersonResponse>> createPerson(@Valid @RequestBody PersonRequest request) {
+        return personService.createPerson(request)
+                .map(response -> new ResponseEntity<>(response, HttpStatus.CREATED));
+    }
+
+    /** Get all persons (written as a JSON array while the cursor is read) */
+    @GetMapping
+    public Flux<PersonResponse> getAllPersons() {
+        return personService.streamPersons(maxPageSize);
+    }
+
+    /** Get one page of persons (keyset pagination, GET /api/persons/page?cursor=&size=) */
+    @GetMapping("/page")
+    public Mono<CursorPage<PersonResponse>> getPersonsPage(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size) {
+        return personService.getPersonsPage(cursor, pageSize(size));
+    }
+
+    /** Stream all persons as newline-delimited JSON */
+    @GetMapping(value = "/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<PersonResponse> streamPersons() {
+        return personService.streamPersons(maxPageSize);
+    }
+
+    /** Get person cache statistics (hits, misses, evictions) */
+    @GetMapping("/cache/stats")
+    public List<CacheStatsResponse> getCacheStats() {
+        return personService.getCacheStats();
+    }
+
+    /** Get person by ID */
+    @GetMapping("/{id}")
+    public Mono<PersonResponse> getPersonById(@PathVariable String id) {
+        return personService.getPersonById(id);
+    }
+
+    /** Get one page of a person's expenses (GET /api/persons/{id}/expenses?role=payer|participant&cursor=&size=) */
+    @GetMapping("/{id}/expenses")
+    public Mono<CursorPage<ExpenseResponse>> getPersonExpenses(
+            @PathVariable String id,
+            @RequestParam(required = false) String role,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size) {
+        return expenseService.getExpensesOfPerson(id, role, cursor, pageSize(size));
+    }
+
+    /** Update person */
+    @PutMapping("/{id}")
+    public Mono<PersonResponse> updatePerson(
+            @PathVariable String id,
+            @Valid @RequestBody PersonRequest request) {
+        return personService.updatePerson(id, request);
+    }
+
+    /**
+     * Delete person (DELETE /api/persons/{id}?mode=block|reassign|remove&to=).
+     * block: refused while any balance is open. reassign: the person's place
+     * goes to {@code to}, merging their shares where both take part.
+     * remove: the person's share of each expense is written off against the
+     * payer (the amount shrinks; the other shares stay), for every split type;
+     * refused while they paid any expense.
+     */
+    @DeleteMapping("/{id}")
+    public Mono<ResponseEntity<Void>> deletePerson(
+            @PathVariable String id,
+            @RequestParam(required = false) String mode,
+            @RequestParam(required = false) String to) {
+        return personService.deletePerson(id, mode, to).then(Mono.just(ResponseEntity.noContent().build()));
+    }
+
+    private int pageSize(Integer requested) {
+        if (requested == null || requested < 1) {
+            return defaultPageSize;
+        }
+        return Math.min(requested, maxPageSize);
+    }
+}
@@ -0,0 +1,52 @@
+package com.expense.splitter.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Outcome of a bulk expense import.
+ * Rows listed in {@code errors} were skipped; every other row was stored.
+ */
+public class BulkImportResponse {
+    private int received;
+    private int imported;
+    private List<RowError> errors = new ArrayList<>();
+    
+    // Constructors
+    public BulkImportResponse() {}
+    
+    public void addError(int index, String message) {
+        errors.add(new RowError(index, message));
+    }
+    
+    // Getters and Setters
+    public int getReceived() { return received; }
+    public void setReceived(int received) { this.received = received; }
+    
+    public int getImported() { return imported; }
+    public void setImported(int imported) { this.imported = imported; }
+    
+    public List<RowError> getErrors() { return errors; }
+    public void setErrors(List<RowError> errors) { this.errors = errors; }
+    
+    /**
+     * A rejected row, identified by its zero-based position in the input.
+     */
+    public static class RowError {
+        private int index;
+        private String message;
+        
+        public RowError() {}
+        
+        public RowError(int index, String message) {
+            this.index = index;
+            this.message = message;
+        }
+        
+        public int getIndex() { return index; }
+        public void setIndex(int index) { this.index = index; }
+        
+        public String getMessage() { return message; }
+        public void setMessage(String message) { this.message = message; }
+    }
+}
@@ -0,0 +1,48 @@
+package com.expense.splitter.dto;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Balances per person in each original currency ({@code balances}: person ID
+ * -> currency -> amount) and converted into the base currency at the rates of
+ * {@code ratesAsOf} ({@code converted}). Currencies without a current rate
+ * are listed in {@code missingRates} and left out of the converted amounts.
+ */
+public class CurrencyBalanceReport {
+    private String baseCurrency;
+    private LocalDateTime ratesAsOf;
+    private Map<String, Map<String, Double>> balances;
+    private Map<String, Double> converted;
+    private List<String> missingRates;
+    
+    // Constructors
+    public CurrencyBalanceReport() {}
+    
+    public CurrencyBalanceReport(String baseCurrency, LocalDateTime ratesAsOf,
+                                 Map<String, Map<String, Double>> balances, Map<String, Double> converted,
+                                 List<String> missingRates) {
+        this.baseCurrency = baseCurrency;
+        this.ratesAsOf = ratesAsOf;
+        this.balances = balances;
+        this.converted = converted;
+        this.missingRates = missingRates;
+    }
+    
+    // Getters and Setters
+    public String getBaseCurrency() { return baseCurrency; }
+    public void setBaseCurrency(String baseCurrency) { this.baseCurrency = baseCurrency; }
+    
+    public LocalDateTime getRatesAsOf() { return ratesAsOf; }
+    public void setRatesAsOf(LocalDateTime ratesAsOf) { this.ratesAsOf = ratesAsOf; }
+    
+    public Map<String, Map<String, Double>> getBalances() { return balances; }
+    public void setBalances(Map<String, Map<String, Double>> balances) { this.balances = balances; }
+    
+    public Map<String, Double> getConverted() { return converted; }
+    public void setConverted(Map<String, Double> converted) { this.converted = converted; }
+    
+    public List<String> getMissingRates() { return missingRates; }
+    public void setMissingRates(List<String> missingRates) { this.missingRates = missingRates; }
+}
@@ -0,0 +1,63 @@
+package com.expense.splitter.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.Pattern;
+import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+
+/**
+ * Partial expense update: only the fields that are set are changed.
+ */
+public class ExpensePatchRequest {
+    @Pattern(regexp = "(?s).*\\S.*", message = "Description cannot be blank")
+    private String description;
+
+    @Positive(message = "Amount must be positive")
+    private Double amount;
+
+    @Pattern(regexp = "(?s).*\\S.*", message = "Paid by person ID cannot be blank")
+    private String paidBy;
+
+    @Size(min = 1, message = "Split between list cannot be empty")
+    private List<String> splitBetween;
+
+    // A new split needs the amount and splitBetween it applies to
+    @Valid
+    private SplitRequest split;
+
+    // Optional: the version the client last read; a stale version is rejected with 409
+    private Long version;
+
+    /**
+     * True if the patch changes who paid, who shares or how much,
+     * i.e. anything the balance ledger depends on.
+     */
+    public boolean changesBalances() {
+        return amount != null || paidBy != null || splitBetween != null || split != null;
+    }
+
+    public boolean isEmpty() {
+        return description == null && !changesBalances();
+    }
+
+    // Getters and Setters
+    public String getDescription() { return description; }
+    public void setDescription(String description) { this.description = description; }
+
+    public Double getAmount() { return amount; }
+    public void setAmount(Double amount) { this.amount = amount; }
+
+    public String getPaidBy() { return paidBy; }
+    public void setPaidBy(String paidBy) { this.paidBy = paidBy; }
+
+    public List<String> getSplitBetween() { return splitBetween; }
+    public void setSplitBetween(List<String> splitBetween) { this.splitBetween = splitBetween; }
+
+    public SplitRequest getSplit() { return split; }
+    public void setSplit(SplitRequest split) { this.split = split; }
+
+    public Long getVersion() { return version; }
+    public void setVersion(Long version) { this.version = version; }
+}
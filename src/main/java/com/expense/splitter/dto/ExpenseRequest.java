@@ -1,7 +1,9 @@
 package com.expense.splitter.dto;
 
+import jakarta.validation.Valid;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Pattern;
 import jakarta.validation.constraints.Positive;
 import jakarta.validation.constraints.NotEmpty;
 
@@ -21,6 +23,17 @@ public class ExpenseRequest {
     @NotEmpty(message = "Split between list cannot be empty")
     private List<String> splitBetween;
     
+    // Optional: how to divide the amount; equal when absent
+    @Valid
+    private SplitRequest split;
+    
+    // Optional: ISO 4217 code of the amount; the ledger base currency when absent
+    @Pattern(regexp = "[A-Za-z]{3}", message = "Currency must be a 3-letter ISO 4217 code")
+    private String currency;
+    
+    // Optional: the version the client last read; a stale version is rejected with 409
+    private Long version;
+    
     // Getters and Setters
     public String getDescription() { return description; }
     public void setDescription(String description) { this.description = description; }
@@ -33,4 +46,13 @@ public class ExpenseRequest {
     
     public List<String> getSplitBetween() { return splitBetween; }
     public void setSplitBetween(List<String> splitBetween) { this.splitBetween = splitBetween; }
+    
+    public SplitRequest getSplit() { return split; }
+    public void setSplit(SplitRequest split) { this.split = split; }
+    
+    public String getCurrency() { return currency; }
+    public void setCurrency(String currency) { this.currency = currency; }
+    
+    public Long getVersion() { return version; }
+    public void setVersion(Long version) { this.version = version; }
 }
@@ -12,8 +12,16 @@ public class ExpenseResponse {
     private List<String> splitBetween;
     private List<String> splitBetweenNames;
     private Double perPersonAmount;
+    private String splitType;
+    // Share of each participant, aligned with splitBetween
+    private List<Double> shares;
+    // Currency of amount and shares; null for the ledger base currency (older expenses)
+    private String currency;
+    // Base-currency units per unit the expense was booked at; null for the base currency
+    private Double fxRate;
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
+    private Long version;
     
     // Constructors
     public ExpenseResponse() {}
@@ -58,9 +66,24 @@ public class ExpenseResponse {
     public Double getPerPersonAmount() { return perPersonAmount; }
     public void setPerPersonAmount(Double perPersonAmount) { this.perPersonAmount = perPersonAmount; }
     
+    public String getSplitType() { return splitType; }
+    public void setSplitType(String splitType) { this.splitType = splitType; }
+    
+    public List<Double> getShares() { return shares; }
+    public void setShares(List<Double> shares) { this.shares = shares; }
+    
+    public String getCurrency() { return currency; }
+    public void setCurrency(String currency) { this.currency = currency; }
+    
+    public Double getFxRate() { return fxRate; }
+    public void setFxRate(Double fxRate) { this.fxRate = fxRate; }
+    
     public LocalDateTime getCreatedAt() { return createdAt; }
     public void setCreatedAt(LocalDateTime createdAt) { this.createdAt = createdAt; }
     
     public LocalDateTime getUpdatedAt() { return updatedAt; }
     public void setUpdatedAt(LocalDateTime updatedAt) { this.updatedAt = updatedAt; }
+    
+    public Long getVersion() { return version; }
+    public void setVersion(Long version) { this.version = version; }
 }
\ No newline at end of file
@@ -0,0 +1,26 @@
+package com.expense.splitter.dto;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+
+import java.util.Map;
+
+/**
+ * A complete FX rate table: currency code -> base-currency units per unit.
+ */
+public class FxRatesRequest {
+    @NotEmpty(message = "Rates are required")
+    private Map<String, @NotNull @Positive Double> rates;
+    
+    // Constructors
+    public FxRatesRequest() {}
+    
+    public FxRatesRequest(Map<String, Double> rates) {
+        this.rates = rates;
+    }
+    
+    // Getters and Setters
+    public Map<String, Double> getRates() { return rates; }
+    public void setRates(Map<String, Double> rates) { this.rates = rates; }
+}
@@ -0,0 +1,32 @@
+package com.expense.splitter.dto;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+/**
+ * The current FX rate table: currency code -> base-currency units per unit.
+ */
+public class FxRatesResponse {
+    private String baseCurrency;
+    private LocalDateTime asOf;
+    private Map<String, Double> rates;
+    
+    // Constructors
+    public FxRatesResponse() {}
+    
+    public FxRatesResponse(String baseCurrency, LocalDateTime asOf, Map<String, Double> rates) {
+        this.baseCurrency = baseCurrency;
+        this.asOf = asOf;
+        this.rates = rates;
+    }
+    
+    // Getters and Setters
+    public String getBaseCurrency() { return baseCurrency; }
+    public void setBaseCurrency(String baseCurrency) { this.baseCurrency = baseCurrency; }
+    
+    public LocalDateTime getAsOf() { return asOf; }
+    public void setAsOf(LocalDateTime asOf) { this.asOf = asOf; }
+    
+    public Map<String, Double> getRates() { return rates; }
+    public void setRates(Map<String, Double> rates) { this.rates = rates; }
+}
@@ -0,0 +1,19 @@
+package com.expense.splitter.dto;
+
+import jakarta.validation.constraints.NotBlank;
+
+public class GroupRequest {
+    @NotBlank(message = "Name is required")
+    private String name;
+    
+    // Constructors
+    public GroupRequest() {}
+    
+    public GroupRequest(String name) {
+        this.name = name;
+    }
+    
+    // Getters and Setters
+    public String getName() { return name; }
+    public void setName(String name) { this.name = name; }
+}
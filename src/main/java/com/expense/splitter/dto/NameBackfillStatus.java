@@ -0,0 +1,32 @@
+package com.expense.splitter.dto;
+
+import java.time.LocalDateTime;
+
+/**
+ * Progress of copying renamed persons' names onto their expenses:
+ * how many renames are pending and how long the oldest has waited.
+ */
+public class NameBackfillStatus {
+    private long pending;
+    private LocalDateTime oldestRequestedAt;
+    private double lagSeconds;
+    
+    // Constructors
+    public NameBackfillStatus() {}
+    
+    public NameBackfillStatus(long pending, LocalDateTime oldestRequestedAt, double lagSeconds) {
+        this.pending = pending;
+        this.oldestRequestedAt = oldestRequestedAt;
+        this.lagSeconds = lagSeconds;
+    }
+    
+    // Getters and Setters
+    public long getPending() { return pending; }
+    public void setPending(long pending) { this.pending = pending; }
+    
+    public LocalDateTime getOldestRequestedAt() { return oldestRequestedAt; }
+    public void setOldestRequestedAt(LocalDateTime oldestRequestedAt) { this.oldestRequestedAt = oldestRequestedAt; }
+    
+    public double getLagSeconds() { return lagSeconds; }
+    public void setLagSeconds(double lagSeconds) { this.lagSeconds = lagSeconds; }
+}
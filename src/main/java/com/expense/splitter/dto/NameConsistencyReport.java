@@ -0,0 +1,40 @@
+package com.expense.splitter.dto;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+/**
+ * Result of comparing the names stored on expenses with the current
+ * person names. {@code staleExpenses} maps person ID -> number of
+ * expenses that show another (or no) name for that person.
+ */
+public class NameConsistencyReport {
+    private LocalDateTime checkedAt;
+    private int personsChecked;
+    private Map<String, Long> staleExpenses;
+    private boolean repaired;
+    
+    // Constructors
+    public NameConsistencyReport() {}
+    
+    public NameConsistencyReport(LocalDateTime checkedAt, int personsChecked,
+                                 Map<String, Long> staleExpenses, boolean repaired) {
+        this.checkedAt = checkedAt;
+        this.personsChecked = personsChecked;
+        this.staleExpenses = staleExpenses;
+        this.repaired = repaired;
+    }
+    
+    // Getters and Setters
+    public LocalDateTime getCheckedAt() { return checkedAt; }
+    public void setCheckedAt(LocalDateTime checkedAt) { this.checkedAt = checkedAt; }
+    
+    public int getPersonsChecked() { return personsChecked; }
+    public void setPersonsChecked(int personsChecked) { this.personsChecked = personsChecked; }
+    
+    public Map<String, Long> getStaleExpenses() { return staleExpenses; }
+    public void setStaleExpenses(Map<String, Long> staleExpenses) { this.staleExpenses = staleExpenses; }
+    
+    public boolean isRepaired() { return repaired; }
+    public void setRepaired(boolean repaired) { this.repaired = repaired; }
+}
@@ -0,0 +1,48 @@
+package com.expense.splitter.dto;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Result of rebuilding the balance ledger from the expense log.
+ * {@code drift} maps person ID -> (ledger balance - recomputed balance)
+ * for every entry that was out of sync and has been corrected.
+ * {@code skipped} lists the entries that were written while reconciling;
+ * they are checked again by the next run.
+ */
+public class ReconciliationReport {
+    private LocalDateTime checkedAt;
+    private int expensesReplayed;
+    private int balancesChecked;
+    private Map<String, Double> drift;
+    private List<String> skipped;
+    
+    // Constructors
+    public ReconciliationReport() {}
+    
+    public ReconciliationReport(LocalDateTime checkedAt, int expensesReplayed,
+                                int balancesChecked, Map<String, Double> drift, List<String> skipped) {
+        this.checkedAt = checkedAt;
+        this.expensesReplayed = expensesReplayed;
+        this.balancesChecked = balancesChecked;
+        this.drift = drift;
+        this.skipped = skipped;
+    }
+    
+    // Getters and Setters
+    public LocalDateTime getCheckedAt() { return checkedAt; }
+    public void setCheckedAt(LocalDateTime checkedAt) { this.checkedAt = checkedAt; }
+    
+    public int getExpensesReplayed() { return expensesReplayed; }
+    public void setExpensesReplayed(int expensesReplayed) { this.expensesReplayed = expensesReplayed; }
+    
+    public int getBalancesChecked() { return balancesChecked; }
+    public void setBalancesChecked(int balancesChecked) { this.balancesChecked = balancesChecked; }
+    
+    public Map<String, Double> getDrift() { return drift; }
+    public void setDrift(Map<String, Double> drift) { this.drift = drift; }
+    
+    public List<String> getSkipped() { return skipped; }
+    public void setSkipped(List<String> skipped) { this.skipped = skipped; }
+}
@@ -0,0 +1,39 @@
+package com.expense.splitter.dto;
+
+/**
+ * One suggested payment: {@code from} pays {@code amount} to {@code to}.
+ */
+public class SettlementResponse {
+    private String from;
+    private String fromName;
+    private String to;
+    private String toName;
+    private Double amount;
+    
+    // Constructors
+    public SettlementResponse() {}
+    
+    public SettlementResponse(String from, String fromName, String to, String toName, Double amount) {
+        this.from = from;
+        this.fromName = fromName;
+        this.to = to;
+        this.toName = toName;
+        this.amount = amount;
+    }
+    
+    // Getters and Setters
+    public String getFrom() { return from; }
+    public void setFrom(String from) { this.from = from; }
+    
+    public String getFromName() { return fromName; }
+    public void setFromName(String fromName) { this.fromName = fromName; }
+    
+    public String getTo() { return to; }
+    public void setTo(String to) { this.to = to; }
+    
+    public String getToName() { return toName; }
+    public void setToName(String toName) { this.toName = toName; }
+    
+    public Double getAmount() { return amount; }
+    public void setAmount(Double amount) { this.amount = amount; }
+}
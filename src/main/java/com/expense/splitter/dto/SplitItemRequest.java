@@ -0,0 +1,40 @@
+package com.expense.splitter.dto;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+
+import java.util.List;
+
+/**
+ * One line item of an itemized split, shared equally by its participants.
+ */
+public class SplitItemRequest {
+    private String description;
+
+    @NotNull(message = "Item amount is required")
+    @Positive(message = "Item amount must be positive")
+    private Double amount;
+
+    @NotEmpty(message = "Item split between list cannot be empty")
+    private List<String> splitBetween;
+
+    // Constructors
+    public SplitItemRequest() {}
+
+    public SplitItemRequest(String description, Double amount, List<String> splitBetween) {
+        this.description = description;
+        this.amount = amount;
+        this.splitBetween = splitBetween;
+    }
+
+    // Getters and Setters
+    public String getDescription() { return description; }
+    public void setDescription(String description) { this.description = description; }
+
+    public Double getAmount() { return amount; }
+    public void setAmount(Double amount) { this.amount = amount; }
+
+    public List<String> getSplitBetween() { return splitBetween; }
+    public void setSplitBetween(List<String> splitBetween) { this.splitBetween = splitBetween; }
+}
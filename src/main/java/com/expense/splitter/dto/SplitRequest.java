@@ -0,0 +1,44 @@
+package com.expense.splitter.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.PositiveOrZero;
+
+import java.util.List;
+
+/**
+ * How to divide an expense: "equal" (the default when no split is sent),
+ * "shares" (a weight per participant), "percentage" (a percentage per
+ * participant, summing to 100), "exact" (an amount per participant, summing
+ * to the expense amount) or "itemized" (line items, each split equally
+ * among its own participants). Values are aligned with splitBetween.
+ */
+public class SplitRequest {
+    @NotBlank(message = "Split type is required")
+    private String type;
+
+    private List<@NotNull(message = "Split values cannot contain null")
+            @PositiveOrZero(message = "Split values cannot be negative") Double> values;
+
+    @Valid
+    private List<SplitItemRequest> items;
+
+    // Constructors
+    public SplitRequest() {}
+
+    public SplitRequest(String type, List<Double> values) {
+        this.type = type;
+        this.values = values;
+    }
+
+    // Getters and Setters
+    public String getType() { return type; }
+    public void setType(String type) { this.type = type; }
+
+    public List<Double> getValues() { return values; }
+    public void setValues(List<Double> values) { this.values = values; }
+
+    public List<SplitItemRequest> getItems() { return items; }
+    public void setItems(List<SplitItemRequest> items) { this.items = items; }
+}
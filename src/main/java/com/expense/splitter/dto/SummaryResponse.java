@@ -0,0 +1,34 @@
+package com.expense.splitter.dto;
+
+/**
+ * One person's entry in the balance summary.
+ */
+public class SummaryResponse {
+    private String personId;
+    private String name;
+    private String email;
+    private Double balance;
+    
+    // Constructors
+    public SummaryResponse() {}
+    
+    public SummaryResponse(String personId, String name, String email, Double balance) {
+        this.personId = personId;
+        this.name = name;
+        this.email = email;
+        this.balance = balance;
+    }
+    
+    // Getters and Setters
+    public String getPersonId() { return personId; }
+    public void setPersonId(String personId) { this.personId = personId; }
+    
+    public String getName() { return name; }
+    public void setName(String name) { this.name = name; }
+    
+    public String getEmail() { return email; }
+    public void setEmail(String email) { this.email = email; }
+    
+    public Double getBalance() { return balance; }
+    public void setBalance(Double balance) { this.balance = balance; }
+}
@@ -1,11 +1,15 @@
 package com.expense.splitter.exception;
 
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.validation.BindingResult;
 import org.springframework.validation.FieldError;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.bind.support.WebExchangeBindException;
 
 import java.time.LocalDateTime;
 import java.util.HashMap;
@@ -24,8 +28,21 @@ public class GlobalExceptionHandler {
     @ExceptionHandler(MethodArgumentNotValidException.class)
     public ResponseEntity<Map> handleValidationExceptions(
             MethodArgumentNotValidException ex) {
+        return validationFailed(ex.getBindingResult());
+    }
+    
+    /**
+     * Handle validation errors raised by WebFlux ("reactive" profile)
+     */
+    @ExceptionHandler(WebExchangeBindException.class)
+    public ResponseEntity<Map> handleWebExchangeBindException(
+            WebExchangeBindException ex) {
+        return validationFailed(ex.getBindingResult());
+    }
+    
+    private ResponseEntity<Map> validationFailed(BindingResult bindingResult) {
         Map errors = new HashMap<>();
-        ex.getBindingResult().getAllErrors().forEach((error) -> {
+        bindingResult.getAllErrors().forEach((error) -> {
             String fieldName = ((FieldError) error).getField();
             String errorMessage = error.getDefaultMessage();
             errors.put(fieldName, errorMessage);
@@ -50,10 +67,42 @@ public class GlobalExceptionHandler {
         response.put("timestamp", LocalDateTime.now());
         response.put("status", HttpStatus.NOT_FOUND.value());
         response.put("message", ex.getMessage());
+        if (!ex.getMissingIds().isEmpty()) {
+            response.put("missingIds", ex.getMissingIds());
+        }
         
         return new ResponseEntity<>(response, HttpStatus.NOT_FOUND);
     }
     
+    /**
+     * Handle concurrent modification (stale version)
+     */
+    @ExceptionHandler(OptimisticLockingFailureException.class)
+    public ResponseEntity<Map> handleOptimisticLockingFailureException(
+            OptimisticLockingFailureException ex) {
+        Map response = new HashMap<>();
+        response.put("timestamp", LocalDateTime.now());
+        response.put("status", HttpStatus.CONFLICT.value());
+        response.put("message", ex.getMessage());
+        
+        return new ResponseEntity<>(response, HttpStatus.CONFLICT);
+    }
+    
+    /**
+     * Handle writes rejected by a unique index, e.g. an email taken by a
+     * concurrent request after the uniqueness check passed
+     */
+    @ExceptionHandler(DuplicateKeyException.class)
+    public ResponseEntity<Map> handleDuplicateKeyException(
+            DuplicateKeyException ex) {
+        Map response = new HashMap<>();
+        response.put("timestamp", LocalDateTime.now());
+        response.put("status", HttpStatus.CONFLICT.value());
+        response.put("message", "A record with the same unique value already exists");
+        
+        return new ResponseEntity<>(response, HttpStatus.CONFLICT);
+    }
+    
     /**
      * Handle illegal arguments
      */
@@ -1,10 +1,35 @@
 package com.expense.splitter.exception;
 
+import java.util.Collections;
+import java.util.List;
+
 /**
  * Custom exception thrown when a requested resource is not found.
  */
 public class ResourceNotFoundException extends RuntimeException {
+
+    private final List<String> missingIds;
+
     public ResourceNotFoundException(String message) {
+        this(message, Collections.emptyList());
+    }
+
+    public ResourceNotFoundException(String message, List<String> missingIds) {
         super(message);
+        this.missingIds = missingIds;
+    }
+
+    /**
+     * Exception reporting every person ID that could not be found.
+     */
+    public static ResourceNotFoundException persons(List<String> missingIds) {
+        if (missingIds.size() == 1) {
+            return new ResourceNotFoundException("Person not found with id: " + missingIds.get(0), missingIds);
+        }
+        return new ResourceNotFoundException("Persons not found with ids: " + missingIds, missingIds);
+    }
+
+    public List<String> getMissingIds() {
+        return missingIds;
     }
 }
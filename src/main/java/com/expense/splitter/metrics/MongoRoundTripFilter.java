@@ -0,0 +1,52 @@
+package com.expense.splitter.metrics;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Records the MongoDB commands issued while handling each request as the
+ * {@code mongodb.request.round.trips} summary, tagged like
+ * {@code http.server.requests} by method and URI pattern.
+ * Rows written by streamed responses after the handler returns are not included.
+ */
+public class MongoRoundTripFilter extends OncePerRequestFilter {
+
+    private final MeterRegistry meterRegistry;
+
+    public MongoRoundTripFilter(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                    HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        AtomicInteger roundTrips = MongoRoundTrips.open();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            MongoRoundTrips.close();
+            DistributionSummary.builder("mongodb.request.round.trips")
+                    .description("MongoDB commands issued per HTTP request")
+                    .baseUnit("commands")
+                    .tag("method", request.getMethod())
+                    .tag("uri", uri(request))
+                    .register(meterRegistry)
+                    .record(roundTrips.get());
+        }
+    }
+
+    private static String uri(HttpServletRequest request) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        return pattern != null ? pattern.toString() : "UNKNOWN";
+    }
+}
@@ -0,0 +1,71 @@
+package com.expense.splitter.metrics;
+
+import com.mongodb.event.CommandListener;
+import com.mongodb.event.CommandStartedEvent;
+import org.springframework.core.task.TaskDecorator;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Per-request count of MongoDB commands (round trips), to catch N+1 regressions.
+ * {@link MongoRoundTripFilter} opens a scope on the request thread; the
+ * command listener counts every command started while a scope is bound, and
+ * the task decorator carries the scope to lookups fanned out on the
+ * lookup executor. Commands outside a request are not counted.
+ */
+public final class MongoRoundTrips {
+
+    private static final ThreadLocal<AtomicInteger> CURRENT = new ThreadLocal<>();
+
+    private MongoRoundTrips() {}
+
+    static AtomicInteger open() {
+        AtomicInteger roundTrips = new AtomicInteger();
+        CURRENT.set(roundTrips);
+        return roundTrips;
+    }
+
+    static void close() {
+        CURRENT.remove();
+    }
+
+    /**
+     * Listener counting commands against the scope of the calling thread.
+     */
+    public static CommandListener commandListener() {
+        return new CommandListener() {
+            @Override
+            public void commandStarted(CommandStartedEvent event) {
+                AtomicInteger roundTrips = CURRENT.get();
+                if (roundTrips != null) {
+                    roundTrips.incrementAndGet();
+                }
+            }
+        };
+    }
+
+    /**
+     * Decorator binding the submitting thread's scope while a task runs.
+     */
+    public static TaskDecorator taskDecorator() {
+        return task -> {
+            AtomicInteger scope = CURRENT.get();
+            if (scope == null) {
+                return task;
+            }
+            return () -> {
+                AtomicInteger previous = CURRENT.get();
+                CURRENT.set(scope);
+                try {
+                    task.run();
+                } finally {
+                    if (previous != null) {
+                        CURRENT.set(previous);
+                    } else {
+                        CURRENT.remove();
+                    }
+                }
+            };
+        };
+    }
+}
@@ -0,0 +1,54 @@
+package com.expense.splitter.model;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.Indexed;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.LocalDateTime;
+
+/**
+ * Running net balance of a single person, maintained incrementally by
+ * expense writes. Global balances use the person id as document id;
+ * group-scoped balances use "groupId:personId" and carry the group id.
+ */
+@Document(collection = "balances")
+public class Balance {
+    @Id
+    private String id;
+    
+    @Indexed
+    private String groupId;
+    @Indexed
+    private String personId;
+    
+    // Net balance in minor units (see Money)
+    private long amountMinor;
+    private LocalDateTime updatedAt;
+    
+    // Constructors
+    public Balance() {}
+    
+    public Balance(String id, String groupId, String personId, long amountMinor, LocalDateTime updatedAt) {
+        this.id = id;
+        this.groupId = groupId;
+        this.personId = personId;
+        this.amountMinor = amountMinor;
+        this.updatedAt = updatedAt;
+    }
+    
+    // Getters and Setters
+    public String getId() { return id; }
+    public void setId(String id) { this.id = id; }
+    
+    public String getGroupId() { return groupId; }
+    public void setGroupId(String groupId) { this.groupId = groupId; }
+    
+    public String getPersonId() { return personId; }
+    public void setPersonId(String personId) { this.personId = personId; }
+    
+    public long getAmountMinor() { return amountMinor; }
+    public void setAmountMinor(long amountMinor) { this.amountMinor = amountMinor; }
+    
+    public LocalDateTime getUpdatedAt() { return updatedAt; }
+    public void setUpdatedAt(LocalDateTime updatedAt) { this.updatedAt = updatedAt; }
+}
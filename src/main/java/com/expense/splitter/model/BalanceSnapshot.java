@@ -0,0 +1,57 @@
+package com.expense.splitter.model;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Checkpoint of the balances of one group (or of all expenses when groupId
+ * is null) covering every expense created before {@code asOf}.
+ * Time-windowed balance queries start from the nearest snapshot and only
+ * replay the expenses created after it.
+ */
+@Document(collection = "balance_snapshots")
+@CompoundIndex(name = "group_asOf", def = "{'groupId': 1, 'asOf': -1}")
+public class BalanceSnapshot {
+    @Id
+    private String id;
+    
+    private String groupId;
+    private LocalDateTime asOf;
+    
+    // Person ID -> net balance in minor units (see Money)
+    private Map<String, Long> balances = new HashMap<>();
+    private LocalDateTime createdAt;
+    
+    // Constructors
+    public BalanceSnapshot() {}
+    
+    public BalanceSnapshot(String id, String groupId, LocalDateTime asOf,
+                           Map<String, Long> balances, LocalDateTime createdAt) {
+        this.id = id;
+        this.groupId = groupId;
+        this.asOf = asOf;
+        this.balances = balances;
+        this.createdAt = createdAt;
+    }
+    
+    // Getters and Setters
+    public String getId() { return id; }
+    public void setId(String id) { this.id = id; }
+    
+    public String getGroupId() { return groupId; }
+    public void setGroupId(String groupId) { this.groupId = groupId; }
+    
+    public LocalDateTime getAsOf() { return asOf; }
+    public void setAsOf(LocalDateTime asOf) { this.asOf = asOf; }
+    
+    public Map<String, Long> getBalances() { return balances; }
+    public void setBalances(Map<String, Long> balances) { this.balances = balances; }
+    
+    public LocalDateTime getCreatedAt() { return createdAt; }
+    public void setCreatedAt(LocalDateTime createdAt) { this.createdAt = createdAt; }
+}
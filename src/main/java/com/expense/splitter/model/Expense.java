@@ -1,31 +1,63 @@
 package com.expense.splitter.model;
 
 import org.springframework.data.annotation.Id;
+import org.springframework.data.annotation.Version;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
 import org.springframework.data.mongodb.core.mapping.Document;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
 
 @Document(collection = "expenses")
+@CompoundIndex(name = "group_createdAt", def = "{'groupId': 1, 'createdAt': 1, '_id': 1}")
+@CompoundIndex(name = "createdAt", def = "{'createdAt': 1, '_id': 1}")
+// Expenses of one person (as payer, or as participant via a multikey index) in page order
+@CompoundIndex(name = "paidBy_createdAt", def = "{'paidBy': 1, 'createdAt': 1, '_id': 1}")
+@CompoundIndex(name = "splitBetween_createdAt", def = "{'splitBetween': 1, 'createdAt': 1, '_id': 1}")
+// Expenses marked while persons are being removed from them (see ExpenseRepositoryCustom); sparse, so normally empty
+@CompoundIndex(name = "removingPersons", def = "{'removingPersons': 1}", sparse = true)
 public class Expense {
     @Id
     private String id;
     
+    // Owning group; null for expenses outside any group
+    private String groupId;
+    
     private String description;
-    private Double amount;
+    // Amount in minor units (see Money)
+    private long amountMinor;
     private String paidBy;
     private List<String> splitBetween;
+    // Null for expenses stored before split types, which are equal splits
+    private SplitType splitType;
+    // Share of each participant in minor units, aligned with splitBetween and summing
+    // to amountMinor; null for equal splits, whose shares follow Money.shareOf
+    private long[] shares;
+    // Names of the payer and participants (person ID -> name) when the expense was
+    // written, kept current by the rename backfill; responses need no person lookups
+    private Map<String, String> personNames;
+    // ISO 4217 code of amountMinor and shares; null for expenses stored before
+    // currencies, which are in the ledger base currency
+    private String currency;
+    // Base-currency units per unit of currency, taken from the FX table when the
+    // expense was written and used for its ledger entries; null in the base currency
+    private Double fxRate;
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
     
+    // Optimistic lock, incremented by every update; null for expenses stored before versioning
+    @Version
+    private Long version;
+    
     // Constructors
     public Expense() {}
     
-    public Expense(String id, String description, Double amount, String paidBy, 
+    public Expense(String id, String description, long amountMinor, String paidBy, 
                    List<String> splitBetween, LocalDateTime createdAt, LocalDateTime updatedAt) {
         this.id = id;
         this.description = description;
-        this.amount = amount;
+        this.amountMinor = amountMinor;
         this.paidBy = paidBy;
         this.splitBetween = splitBetween;
         this.createdAt = createdAt;
@@ -36,11 +68,14 @@ public class Expense {
     public String getId() { return id; }
     public void setId(String id) { this.id = id; }
     
+    public String getGroupId() { return groupId; }
+    public void setGroupId(String groupId) { this.groupId = groupId; }
+    
     public String getDescription() { return description; }
     public void setDescription(String description) { this.description = description; }
     
-    public Double getAmount() { return amount; }
-    public void setAmount(Double amount) { this.amount = amount; }
+    public long getAmountMinor() { return amountMinor; }
+    public void setAmountMinor(long amountMinor) { this.amountMinor = amountMinor; }
     
     public String getPaidBy() { return paidBy; }
     public void setPaidBy(String paidBy) { this.paidBy = paidBy; }
@@ -48,9 +83,27 @@ public class Expense {
     public List<String> getSplitBetween() { return splitBetween; }
     public void setSplitBetween(List<String> splitBetween) { this.splitBetween = splitBetween; }
     
+    public SplitType getSplitType() { return splitType; }
+    public void setSplitType(SplitType splitType) { this.splitType = splitType; }
+    
+    public long[] getShares() { return shares; }
+    public void setShares(long[] shares) { this.shares = shares; }
+    
+    public Map<String, String> getPersonNames() { return personNames; }
+    public void setPersonNames(Map<String, String> personNames) { this.personNames = personNames; }
+    
+    public String getCurrency() { return currency; }
+    public void setCurrency(String currency) { this.currency = currency; }
+    
+    public Double getFxRate() { return fxRate; }
+    public void setFxRate(Double fxRate) { this.fxRate = fxRate; }
+    
     public LocalDateTime getCreatedAt() { return createdAt; }
     public void setCreatedAt(LocalDateTime createdAt) { this.createdAt = createdAt; }
     
     public LocalDateTime getUpdatedAt() { return updatedAt; }
     public void setUpdatedAt(LocalDateTime updatedAt) { this.updatedAt = updatedAt; }
+    
+    public Long getVersion() { return version; }
+    public void setVersion(Long version) { this.version = version; }
 }
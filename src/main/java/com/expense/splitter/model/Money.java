@@ -0,0 +1,51 @@
+package com.expense.splitter.model;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * Fixed-point money helpers.
+ * Amounts are stored and accumulated as long minor units (cents at the
+ * default scale of 2) and only converted to decimals at the API boundary.
+ */
+public final class Money {
+
+    /** Number of decimal places in one major unit */
+    public static final int SCALE = 2;
+
+    private Money() {}
+
+    /**
+     * Convert a decimal API amount to minor units, rounding half up.
+     */
+    public static long toMinor(double amount) {
+        return BigDecimal.valueOf(amount).setScale(SCALE, RoundingMode.HALF_UP).unscaledValue().longValueExact();
+    }
+
+    /**
+     * Convert minor units back to a decimal API amount.
+     */
+    public static double toMajor(long minor) {
+        return BigDecimal.valueOf(minor, SCALE).doubleValue();
+    }
+
+    /**
+     * Share of participant {@code index} when {@code amount} is split across
+     * {@code parts} participants. The remainder is handed out one minor unit
+     * at a time to the first participants, so the shares always sum to the
+     * amount and the result only depends on participant order.
+     */
+    public static long shareOf(long amount, int parts, int index) {
+        long base = amount / parts;
+        long remainder = amount % parts;
+        return index < remainder ? base + 1 : base;
+    }
+
+    /**
+     * Convert minor units at {@code rate} (target units per source unit),
+     * rounding half up. Double arithmetic, so converting in a loop allocates nothing.
+     */
+    public static long convert(long minor, double rate) {
+        return Math.round(minor * rate);
+    }
+}
@@ -0,0 +1,49 @@
+package com.expense.splitter.model;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.Indexed;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.LocalDateTime;
+
+/**
+ * A renamed person whose new name still has to be copied onto the
+ * expenses that reference them. One entry per person: a later rename
+ * replaces the pending name and request time. Once copied, the entry is
+ * kept (with copiedAt set) until the old name can no longer be served
+ * from a person cache, and copied again on every run until then.
+ */
+@Document(collection = "name_backfills")
+public class NameBackfill {
+    @Id
+    private String personId;
+    
+    private String name;
+    
+    @Indexed
+    private LocalDateTime requestedAt;
+    // Last time the name was copied onto the expenses; null until the first copy
+    private LocalDateTime copiedAt;
+    
+    // Constructors
+    public NameBackfill() {}
+    
+    public NameBackfill(String personId, String name, LocalDateTime requestedAt) {
+        this.personId = personId;
+        this.name = name;
+        this.requestedAt = requestedAt;
+    }
+    
+    // Getters and Setters
+    public String getPersonId() { return personId; }
+    public void setPersonId(String personId) { this.personId = personId; }
+    
+    public String getName() { return name; }
+    public void setName(String name) { this.name = name; }
+    
+    public LocalDateTime getRequestedAt() { return requestedAt; }
+    public void setRequestedAt(LocalDateTime requestedAt) { this.requestedAt = requestedAt; }
+    
+    public LocalDateTime getCopiedAt() { return copiedAt; }
+    public void setCopiedAt(LocalDateTime copiedAt) { this.copiedAt = copiedAt; }
+}
@@ -5,6 +5,8 @@ import org.springframework.data.mongodb.core.mapping.Document;
 import org.springframework.data.mongodb.core.index.Indexed;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
 
 @Document(collection = "persons")
 public class Person {
@@ -16,6 +18,10 @@ public class Person {
     @Indexed(unique = true)
     private String email;
     
+    // IDs of the groups this person is a member of
+    @Indexed
+    private List<String> groupIds = new ArrayList<>();
+    
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
     
@@ -40,6 +46,9 @@ public class Person {
     public String getEmail() { return email; }
     public void setEmail(String email) { this.email = email; }
     
+    public List<String> getGroupIds() { return groupIds; }
+    public void setGroupIds(List<String> groupIds) { this.groupIds = groupIds; }
+    
     public LocalDateTime getCreatedAt() { return createdAt; }
     public void setCreatedAt(LocalDateTime createdAt) { this.createdAt = createdAt; }
     
@@ -0,0 +1,17 @@
+package com.expense.splitter.model;
+
+/**
+ * How an expense's amount is divided among its participants.
+ */
+public enum SplitType {
+    /** Same share for everyone; the remainder goes to the first participants (see Money#shareOf) */
+    EQUAL,
+    /** Proportional to a weight per participant */
+    SHARES,
+    /** A percentage per participant, summing to 100 */
+    PERCENTAGE,
+    /** An exact amount per participant, summing to the expense amount */
+    EXACT,
+    /** Line items, each split equally among its own participants */
+    ITEMIZED
+}
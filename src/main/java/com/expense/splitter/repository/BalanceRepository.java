@@ -0,0 +1,26 @@
+package com.expense.splitter.repository;
+
+import com.expense.splitter.model.Balance;
+import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+/**
+ * MongoDB repository for the per-person balance ledger.
+ */
+@Repository
+public interface BalanceRepository extends MongoRepository<Balance, String> {
+
+    /**
+     * Global (not group-scoped) balances.
+     */
+    List<Balance> findByGroupIdIsNull();
+
+    List<Balance> findByGroupId(String groupId);
+
+    /**
+     * Every entry of one person: the global one and one per group.
+     */
+    List<Balance> findByPersonId(String personId);
+}
@@ -0,0 +1,21 @@
+package com.expense.splitter.repository;
+
+import com.expense.splitter.model.BalanceSnapshot;
+import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+/**
+ * MongoDB repository for periodic balance snapshots.
+ */
+@Repository
+public interface BalanceSnapshotRepository extends MongoRepository<BalanceSnapshot, String> {
+
+    /**
+     * Latest snapshot of a group (null for global) taken at or before {@code asOf}.
+     */
+    Optional<BalanceSnapshot> findFirstByGroupIdAndAsOfLessThanEqualOrderByAsOfDesc(String groupId,
+                                                                                    LocalDateTime asOf);
+}
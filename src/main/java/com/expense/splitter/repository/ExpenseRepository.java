@@ -4,9 +4,19 @@ import com.expense.splitter.model.Expense;
 import org.springframework.data.mongodb.repository.MongoRepository;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
+import java.util.Optional;
+
 /**
  * MongoDB repository for managing Expense data.
  */
 @Repository
-public interface ExpenseRepository extends MongoRepository<Expense, String> {
+public interface ExpenseRepository extends MongoRepository<Expense, String>, ExpenseRepositoryCustom {
+
+    List<Expense> findByGroupId(String groupId);
+
+    Optional<Expense> findByIdAndGroupId(String id, String groupId);
+
+    // Served by the paidBy_createdAt index
+    boolean existsByPaidBy(String paidBy);
 }
@@ -0,0 +1,123 @@
+package com.expense.splitter.repository;
+
+import com.expense.splitter.model.Expense;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+/**
+ * Custom Expense queries that need MongoTemplate directly.
+ */
+public interface ExpenseRepositoryCustom {
+
+    /**
+     * Up to {@code limit} expenses after the cursor, in (createdAt, _id) order.
+     * A null groupId lists expenses of all groups.
+     */
+    List<Expense> findPage(String groupId, KeysetCursor cursor, int limit);
+
+    /**
+     * Up to {@code limit} expenses paid by the person after the cursor,
+     * in (createdAt, _id) order. Served by the paidBy_createdAt index.
+     */
+    List<Expense> findByPaidBy(String paidBy, KeysetCursor cursor, int limit);
+
+    /**
+     * Up to {@code limit} expenses shared by the person after the cursor,
+     * in (createdAt, _id) order. Served by the multikey splitBetween_createdAt index.
+     */
+    List<Expense> findBySplitBetweenContaining(String personId, KeysetCursor cursor, int limit);
+
+    /**
+     * Stream expenses from a server-side cursor in (createdAt, _id) order.
+     * A null groupId streams expenses of all groups. The caller must close the stream.
+     */
+    Stream<Expense> streamAll(String groupId, int batchSize);
+
+    /**
+     * Stream expenses with {@code from <= createdAt < to} in (createdAt, _id) order.
+     * A null {@code from} has no lower bound; a null groupId covers all groups.
+     * The caller must close the stream.
+     */
+    Stream<Expense> streamCreatedBetween(String groupId, LocalDateTime from, LocalDateTime to, int batchSize);
+
+    /**
+     * Apply {@code update} to the first expense matching {@code criteria} and
+     * increment its version, in one findAndModify round trip.
+     * Returns the expense as it was before the update, or null if none matched.
+     */
+    Expense findAndUpdate(Criteria criteria, Update update);
+
+    /**
+     * Delete the first expense matching {@code criteria} in one findAndModify round trip.
+     * Returns the expense as it was deleted, or null if none matched.
+     */
+    Expense findAndDelete(Criteria criteria);
+
+    /**
+     * Distinct groups (null for none) of the expenses the person paid or shares in.
+     */
+    List<String> findGroupIdsOfPerson(String personId);
+
+    /**
+     * Replace the person by another (and their stored name) as payer and in every splitBetween array,
+     * keeping each participant's position (and therefore its share), with one
+     * bulk write of three multi-document updates. Where the other person
+     * already shares in the expense, the person's share is merged into theirs
+     * instead, so nobody is listed twice. Returns the number of updates.
+     */
+    long reassignPerson(String personId, String toPersonId, String toPersonName);
+
+    /**
+     * Mark every expense both persons share in with {@link #removalMarked(String)},
+     * i.e. the expenses {@link #reassignPerson} merges. Returns the number of expenses marked.
+     */
+    long markShared(String personId, String otherPersonId);
+
+    /**
+     * Mark every expense the person paid or shares in with
+     * {@link #removalMarked(String)}. Returns the number of expenses marked.
+     */
+    long markForRemoval(String personId);
+
+    /**
+     * Remove the person from every marked expense they did not pay, in one
+     * ordered bulk write: the person is pulled from the splitBetween arrays
+     * and the amount shrinks by their share, so every other participant
+     * keeps the share they had, whatever the split type; expenses left
+     * without participants or amount are deleted.
+     * Rewritten expenses stay marked.
+     */
+    void removePerson(String personId);
+
+    /**
+     * Drop the person's mark set by {@link #markForRemoval(String)} or
+     * {@link #markShared(String, String)}, keeping marks of other persons.
+     */
+    void clearRemovalMark(String personId);
+
+    /**
+     * Store each person's current name (person ID -> name) on every expense
+     * that references them and shows another name, with one bulk write of
+     * one multi-document update per person. Returns the number of expenses changed.
+     */
+    long updatePersonNames(Map<String, String> names);
+
+    /**
+     * Number of expenses referencing the person that show another (or no) name for them.
+     */
+    long countStalePersonNames(String personId, String name);
+
+    /**
+     * Expenses marked for the removal of the person. Marks are kept per
+     * person in an array, so persons removed at the same time from a shared
+     * expense each keep their own mark.
+     */
+    static Criteria removalMarked(String personId) {
+        return Criteria.where("removingPersons").is(personId);
+    }
+}
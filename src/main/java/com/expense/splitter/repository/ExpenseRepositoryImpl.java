@@ -0,0 +1,277 @@
+package com.expense.splitter.repository;
+
+import com.expense.splitter.model.Expense;
+import com.expense.splitter.model.SplitType;
+import com.mongodb.bulk.BulkWriteResult;
+import org.bson.Document;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.aggregation.AggregationUpdate;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+/**
+ * MongoTemplate-backed implementation of {@link ExpenseRepositoryCustom}.
+ */
+public class ExpenseRepositoryImpl implements ExpenseRepositoryCustom {
+
+    private final MongoTemplate mongoTemplate;
+
+    public ExpenseRepositoryImpl(MongoTemplate mongoTemplate) {
+        this.mongoTemplate = mongoTemplate;
+    }
+
+    @Override
+    public List<Expense> findPage(String groupId, KeysetCursor cursor, int limit) {
+        return mongoTemplate.find(KeysetCursor.pageQuery(groupFilter(groupId), cursor, limit), Expense.class);
+    }
+
+    @Override
+    public List<Expense> findByPaidBy(String paidBy, KeysetCursor cursor, int limit) {
+        return mongoTemplate.find(KeysetCursor.pageQuery(Criteria.where("paidBy").is(paidBy), cursor, limit),
+                Expense.class);
+    }
+
+    @Override
+    public List<Expense> findBySplitBetweenContaining(String personId, KeysetCursor cursor, int limit) {
+        return mongoTemplate.find(KeysetCursor.pageQuery(Criteria.where("splitBetween").is(personId), cursor, limit),
+                Expense.class);
+    }
+
+    @Override
+    public Stream<Expense> streamAll(String groupId, int batchSize) {
+        Criteria filter = groupFilter(groupId);
+        Query query = (filter != null ? Query.query(filter) : new Query())
+                .with(KeysetCursor.order())
+                .cursorBatchSize(batchSize);
+        return mongoTemplate.stream(query, Expense.class);
+    }
+
+    @Override
+    public Stream<Expense> streamCreatedBetween(String groupId, LocalDateTime from, LocalDateTime to, int batchSize) {
+        Criteria createdAt = Criteria.where("createdAt").lt(to);
+        if (from != null) {
+            createdAt.gte(from);
+        }
+        Criteria filter = groupId != null ? Criteria.where("groupId").is(groupId).andOperator(createdAt) : createdAt;
+        Query query = Query.query(filter)
+                .with(KeysetCursor.order())
+                .cursorBatchSize(batchSize);
+        return mongoTemplate.stream(query, Expense.class);
+    }
+
+    @Override
+    public Expense findAndUpdate(Criteria criteria, Update update) {
+        return mongoTemplate.findAndModify(Query.query(criteria), update.inc("version", 1),
+                FindAndModifyOptions.options().returnNew(false), Expense.class);
+    }
+
+    @Override
+    public Expense findAndDelete(Criteria criteria) {
+        return mongoTemplate.findAndRemove(Query.query(criteria), Expense.class);
+    }
+
+    @Override
+    public List<String> findGroupIdsOfPerson(String personId) {
+        return mongoTemplate.findDistinct(Query.query(referencing(personId)), "groupId", Expense.class, String.class);
+    }
+
+    @Override
+    public long reassignPerson(String personId, String toPersonId, String toPersonName) {
+        LocalDateTime now = LocalDateTime.now();
+        Criteria sharesWithTarget = Criteria.where("splitBetween").all(personId, toPersonId);
+        BulkWriteResult result = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Expense.class)
+                .updateMulti(Query.query(Criteria.where("paidBy").is(personId)),
+                        new Update().set("paidBy", toPersonId)
+                                .set(nameField(toPersonId), toPersonName)
+                                .unset(nameField(personId))
+                                .inc("version", 1)
+                                .set("updatedAt", now))
+                .updateMulti(Query.query(new Criteria().andOperator(Criteria.where("splitBetween").is(personId),
+                                Criteria.where("splitBetween").ne(toPersonId))),
+                        new Update().set("splitBetween.$[p]", toPersonId)
+                                .filterArray(Criteria.where("p").is(personId))
+                                .set(nameField(toPersonId), toPersonName)
+                                .unset(nameField(personId))
+                                .inc("version", 1)
+                                .set("updatedAt", now))
+                .updateMulti(Query.query(sharesWithTarget),
+                        mergedInto(personId, toPersonId, toPersonName, now))
+                .execute();
+        return result.getModifiedCount();
+    }
+
+    @Override
+    public long markShared(String personId, String otherPersonId) {
+        return mongoTemplate.updateMulti(Query.query(Criteria.where("splitBetween").all(personId, otherPersonId)),
+                new Update().addToSet("removingPersons", personId), Expense.class).getModifiedCount();
+    }
+
+    @Override
+    public long updatePersonNames(Map<String, String> names) {
+        if (names.isEmpty()) {
+            return 0;
+        }
+        BulkOperations bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Expense.class);
+        names.forEach((personId, name) -> bulk.updateMulti(Query.query(stalePersonName(personId, name)),
+                new Update().set(nameField(personId), name)));
+        return bulk.execute().getModifiedCount();
+    }
+
+    @Override
+    public long countStalePersonNames(String personId, String name) {
+        return mongoTemplate.count(Query.query(stalePersonName(personId, name)), Expense.class);
+    }
+
+    @Override
+    public long markForRemoval(String personId) {
+        return mongoTemplate.updateMulti(Query.query(referencing(personId)),
+                new Update().addToSet("removingPersons", personId), Expense.class).getModifiedCount();
+    }
+
+    @Override
+    public void removePerson(String personId) {
+        Criteria marked = ExpenseRepositoryCustom.removalMarked(personId);
+        mongoTemplate.bulkOps(BulkOperations.BulkMode.ORDERED, Expense.class)
+                .updateMulti(Query.query(new Criteria().andOperator(marked, Criteria.where("paidBy").ne(personId))),
+                        withoutShare(personId, LocalDateTime.now()))
+                .remove(Query.query(new Criteria().andOperator(marked, new Criteria().orOperator(
+                        Criteria.where("splitBetween").size(0), Criteria.where("amountMinor").lte(0)))))
+                .execute();
+    }
+
+    @Override
+    public void clearRemovalMark(String personId) {
+        mongoTemplate.updateMulti(Query.query(ExpenseRepositoryCustom.removalMarked(personId)),
+                withoutRemovalMark(personId), Expense.class);
+    }
+
+    /**
+     * Pipeline update that pulls the person's removal mark, dropping the
+     * field once no marks are left so the sparse index stays empty.
+     */
+    private static AggregationUpdate withoutRemovalMark(String personId) {
+        Document remaining = new Document("$filter", new Document("input", "$removingPersons")
+                .append("as", "p")
+                .append("cond", new Document("$ne", List.of("$$p", personId))));
+        Document fields = new Document("removingPersons", new Document("$cond", List.of(
+                new Document("$eq", List.of(new Document("$size", remaining), 0)), "$$REMOVE", remaining)));
+        return AggregationUpdate.from(List.of(context -> new Document("$set", fields)));
+    }
+
+    /**
+     * Pipeline update that drops the person from an expense: the amount
+     * shrinks by their share, and with stored shares their shares are
+     * dropped, so every other participant keeps the share they had. For
+     * equal splits the others' shares are unchanged too: taking one share
+     * off also takes its remainder cent, if any (see Money.shareOf).
+     */
+    private static AggregationUpdate withoutShare(String personId, LocalDateTime now) {
+        Document positions = positions();
+        Document isPerson = isAt("$$i", personId);
+        Document dropped = new Document("$sum", new Document("$map", new Document("input", positions)
+                .append("as", "i")
+                .append("in", new Document("$cond", List.of(isPerson, shareAt("$$i"), 0L)))));
+        Document kept = new Document("$map", new Document("input", new Document("$filter",
+                new Document("input", positions).append("as", "i").append("cond", new Document("$not", List.of(isPerson)))))
+                .append("as", "i")
+                .append("in", new Document("$arrayElemAt", List.of("$shares", "$$i"))));
+        Document fields = new Document("amountMinor", new Document("$subtract", List.of("$amountMinor", dropped)))
+                .append("shares", new Document("$cond", List.of(new Document("$isArray", "$shares"), kept, "$shares")))
+                .append("splitBetween", without(personId))
+                .append("version", nextVersion())
+                .append("updatedAt", now);
+        return AggregationUpdate.from(List.of(context -> new Document("$set", fields)));
+    }
+
+    /**
+     * Pipeline update that merges the person into {@code toPersonId} on an
+     * expense they both share in: the person's share is added to the
+     * other's, so the amount each owes in total is unchanged. Equal splits
+     * cannot hold the merged share and become exact splits.
+     */
+    private static AggregationUpdate mergedInto(String personId, String toPersonId, String toPersonName,
+                                                LocalDateTime now) {
+        Document positions = positions();
+        Document isPerson = isAt("$$i", personId);
+        Document moved = new Document("$sum", new Document("$map", new Document("input", positions)
+                .append("as", "i")
+                .append("in", new Document("$cond", List.of(isPerson, shareAt("$$i"), 0L)))));
+        // Only the target's first position takes the share, should they be listed twice
+        Document isTarget = new Document("$eq", List.of("$$i",
+                new Document("$indexOfArray", List.of("$splitBetween", toPersonId))));
+        Document merged = new Document("$map", new Document("input", new Document("$filter",
+                new Document("input", positions).append("as", "i").append("cond", new Document("$not", List.of(isPerson)))))
+                .append("as", "i")
+                .append("in", new Document("$add", List.of(shareAt("$$i"),
+                        new Document("$cond", List.of(isTarget, moved, 0L))))));
+        Document fields = new Document("shares", merged)
+                .append("splitType", new Document("$cond", List.of(new Document("$isArray", "$shares"),
+                        "$splitType", SplitType.EXACT.name())))
+                .append("splitBetween", without(personId))
+                .append(nameField(toPersonId), toPersonName)
+                .append("version", nextVersion())
+                .append("updatedAt", now);
+        return AggregationUpdate.from(List.of(
+                context -> new Document("$set", fields),
+                context -> new Document("$unset", nameField(personId))));
+    }
+
+    private static Document positions() {
+        return new Document("$range", List.of(0, new Document("$size", "$splitBetween")));
+    }
+
+    private static Document isAt(String index, String personId) {
+        return new Document("$eq", List.of(new Document("$arrayElemAt", List.of("$splitBetween", index)), personId));
+    }
+
+    /**
+     * The share at {@code index}: the stored one, or for equal splits
+     * floor(amount / parts) plus one for the first (amount % parts) participants.
+     */
+    private static Document shareAt(String index) {
+        Document parts = new Document("$size", "$splitBetween");
+        Document remainder = new Document("$mod", List.of("$amountMinor", parts));
+        Document base = new Document("$toLong", new Document("$divide", List.of(
+                new Document("$subtract", List.of("$amountMinor", remainder)), parts)));
+        Document equal = new Document("$add", List.of(base,
+                new Document("$cond", List.of(new Document("$lt", List.of(index, remainder)), 1L, 0L))));
+        return new Document("$cond", List.of(new Document("$isArray", "$shares"),
+                new Document("$arrayElemAt", List.of("$shares", index)), equal));
+    }
+
+    private static Document without(String personId) {
+        return new Document("$filter", new Document("input", "$splitBetween")
+                .append("as", "p")
+                .append("cond", new Document("$ne", List.of("$$p", personId))));
+    }
+
+    private static Document nextVersion() {
+        return new Document("$add", List.of(new Document("$ifNull", List.of("$version", 0L)), 1L));
+    }
+
+    private static Criteria stalePersonName(String personId, String name) {
+        return new Criteria().andOperator(referencing(personId), Criteria.where(nameField(personId)).ne(name));
+    }
+
+    private static String nameField(String personId) {
+        return "personNames." + personId;
+    }
+
+    // Served by the paidBy_createdAt and splitBetween_createdAt indexes
+    private static Criteria referencing(String personId) {
+        return new Criteria().orOperator(Criteria.where("paidBy").is(personId),
+                Criteria.where("splitBetween").is(personId));
+    }
+
+    private static Criteria groupFilter(String groupId) {
+        return groupId != null ? Criteria.where("groupId").is(groupId) : null;
+    }
+}
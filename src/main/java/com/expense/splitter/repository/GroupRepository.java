@@ -0,0 +1,12 @@
+package com.expense.splitter.repository;
+
+import com.expense.splitter.model.Group;
+import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.stereotype.Repository;
+
+/**
+ * MongoDB repository for managing Group data.
+ */
+@Repository
+public interface GroupRepository extends MongoRepository<Group, String> {
+}
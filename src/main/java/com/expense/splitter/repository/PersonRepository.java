@@ -3,6 +3,17 @@ package com.expense.splitter.repository;
 import com.expense.splitter.model.Person;
 import org.springframework.data.mongodb.repository.MongoRepository;
 
-public interface PersonRepository extends MongoRepository<Person, String> {
+import java.util.Collection;
+import java.util.List;
+
+public interface PersonRepository extends MongoRepository<Person, String>, PersonRepositoryCustom {
     boolean existsByEmail(String email);
+
+    List<Person> findByGroupIdsContaining(String groupId);
+
+    List<PersonSummary> findProjectedBy();
+
+    List<PersonSummary> findProjectedByIdIn(Collection<String> ids);
+
+    List<PersonSummary> findProjectedByGroupIdsContaining(String groupId);
 }
@@ -0,0 +1,30 @@
+package com.expense.splitter.repository;
+
+import com.expense.splitter.model.Person;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Custom Person queries that need MongoTemplate directly.
+ */
+public interface PersonRepositoryCustom {
+
+    /**
+     * Up to {@code limit} persons after the cursor, in (createdAt, _id) order.
+     */
+    List<Person> findPage(KeysetCursor cursor, int limit);
+
+    /**
+     * Stream all persons from a server-side cursor in (createdAt, _id) order.
+     * The caller must close the stream.
+     */
+    Stream<Person> streamAll(int batchSize);
+
+    /**
+     * Stream the members of a group (all persons when groupId is null)
+     * from a server-side cursor in (createdAt, _id) order.
+     * The caller must close the stream.
+     */
+    Stream<Person> streamAll(String groupId, int batchSize);
+}
@@ -0,0 +1,39 @@
+package com.expense.splitter.repository;
+
+import com.expense.splitter.model.Person;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * MongoTemplate-backed implementation of {@link PersonRepositoryCustom}.
+ */
+public class PersonRepositoryImpl implements PersonRepositoryCustom {
+
+    private final MongoTemplate mongoTemplate;
+
+    public PersonRepositoryImpl(MongoTemplate mongoTemplate) {
+        this.mongoTemplate = mongoTemplate;
+    }
+
+    @Override
+    public List<Person> findPage(KeysetCursor cursor, int limit) {
+        return mongoTemplate.find(KeysetCursor.pageQuery(null, cursor, limit), Person.class);
+    }
+
+    @Override
+    public Stream<Person> streamAll(int batchSize) {
+        return streamAll(null, batchSize);
+    }
+
+    @Override
+    public Stream<Person> streamAll(String groupId, int batchSize) {
+        Query query = (groupId != null ? Query.query(Criteria.where("groupIds").is(groupId)) : new Query())
+                .with(KeysetCursor.order())
+                .cursorBatchSize(batchSize);
+        return mongoTemplate.stream(query, Person.class);
+    }
+}
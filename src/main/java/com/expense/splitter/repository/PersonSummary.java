@@ -0,0 +1,11 @@
+package com.expense.splitter.repository;
+
+/**
+ * Closed projection of Person: queries returning it only fetch
+ * the id, name and email fields.
+ */
+public interface PersonSummary {
+    String getId();
+    String getName();
+    String getEmail();
+}
@@ -0,0 +1,19 @@
+package com.expense.splitter.repository;
+
+import com.expense.splitter.model.Expense;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.mongodb.repository.ReactiveMongoRepository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Reactive counterpart of {@link ExpenseRepository}, used by the "reactive" profile.
+ */
+@Profile("reactive")
+public interface ReactiveExpenseRepository
+        extends ReactiveMongoRepository<Expense, String>, ReactiveExpenseRepositoryCustom {
+
+    Flux<Expense> findByGroupId(String groupId);
+
+    Mono<Expense> findByIdAndGroupId(String id, String groupId);
+}
@@ -0,0 +1,37 @@
+package com.expense.splitter.repository;
+
+import com.expense.splitter.model.Expense;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Update;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Keyset paging, cursor streaming and conditional updates for {@link ReactiveExpenseRepository}.
+ */
+public interface ReactiveExpenseRepositoryCustom {
+
+    /**
+     * Up to {@code limit} expenses following {@code cursor} in (createdAt, id) order.
+     */
+    Flux<Expense> findPage(KeysetCursor cursor, int limit);
+
+    /**
+     * Every expense in (createdAt, id) order. Documents are fetched in
+     * batches of {@code batchSize} as the subscriber requests them.
+     */
+    Flux<Expense> streamAll(int batchSize);
+
+    /**
+     * Apply {@code update} to the first expense matching {@code criteria} and
+     * increment its version, in one findAndModify round trip.
+     * Emits the expense as it was before the update; empty if none matched.
+     */
+    Mono<Expense> findAndUpdate(Criteria criteria, Update update);
+
+    /**
+     * Delete the first expense matching {@code criteria} in one findAndModify round trip.
+     * Emits the expense as it was deleted; empty if none matched.
+     */
+    Mono<Expense> findAndDelete(Criteria criteria);
+}
@@ -0,0 +1,44 @@
+package com.expense.splitter.repository;
+
+import com.expense.splitter.model.Expense;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * ReactiveMongoTemplate-backed implementation of {@link ReactiveExpenseRepositoryCustom}.
+ */
+public class ReactiveExpenseRepositoryImpl implements ReactiveExpenseRepositoryCustom {
+
+    private final ReactiveMongoTemplate mongoTemplate;
+
+    public ReactiveExpenseRepositoryImpl(ReactiveMongoTemplate mongoTemplate) {
+        this.mongoTemplate = mongoTemplate;
+    }
+
+    @Override
+    public Flux<Expense> findPage(KeysetCursor cursor, int limit) {
+        return mongoTemplate.find(KeysetCursor.pageQuery(null, cursor, limit), Expense.class);
+    }
+
+    @Override
+    public Flux<Expense> streamAll(int batchSize) {
+        Query query = new Query().with(KeysetCursor.order()).cursorBatchSize(batchSize);
+        return mongoTemplate.find(query, Expense.class);
+    }
+
+    @Override
+    public Mono<Expense> findAndUpdate(Criteria criteria, Update update) {
+        return mongoTemplate.findAndModify(Query.query(criteria), update.inc("version", 1),
+                FindAndModifyOptions.options().returnNew(false), Expense.class);
+    }
+
+    @Override
+    public Mono<Expense> findAndDelete(Criteria criteria) {
+        return mongoTemplate.findAndRemove(Query.query(criteria), Expense.class);
+    }
+}
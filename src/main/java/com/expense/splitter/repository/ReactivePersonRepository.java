@@ -0,0 +1,21 @@
+package com.expense.splitter.repository;
+
+import com.expense.splitter.model.Person;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.mongodb.repository.ReactiveMongoRepository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.Collection;
+
+/**
+ * Reactive counterpart of {@link PersonRepository}, used by the "reactive" profile.
+ */
+@Profile("reactive")
+public interface ReactivePersonRepository
+        extends ReactiveMongoRepository<Person, String>, ReactivePersonRepositoryCustom {
+
+    Mono<Boolean> existsByEmail(String email);
+
+    Flux<PersonSummary> findProjectedByIdIn(Collection<String> ids);
+}
@@ -0,0 +1,21 @@
+package com.expense.splitter.repository;
+
+import com.expense.splitter.model.Person;
+import reactor.core.publisher.Flux;
+
+/**
+ * Keyset paging and cursor streaming for {@link ReactivePersonRepository}.
+ */
+public interface ReactivePersonRepositoryCustom {
+
+    /**
+     * Up to {@code limit} persons following {@code cursor} in (createdAt, id) order.
+     */
+    Flux<Person> findPage(KeysetCursor cursor, int limit);
+
+    /**
+     * Every person in (createdAt, id) order. Documents are fetched in
+     * batches of {@code batchSize} as the subscriber requests them.
+     */
+    Flux<Person> streamAll(int batchSize);
+}
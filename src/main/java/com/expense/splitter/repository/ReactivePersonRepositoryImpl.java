@@ -0,0 +1,29 @@
+package com.expense.splitter.repository;
+
+import com.expense.splitter.model.Person;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import reactor.core.publisher.Flux;
+
+/**
+ * ReactiveMongoTemplate-backed implementation of {@link ReactivePersonRepositoryCustom}.
+ */
+public class ReactivePersonRepositoryImpl implements ReactivePersonRepositoryCustom {
+
+    private final ReactiveMongoTemplate mongoTemplate;
+
+    public ReactivePersonRepositoryImpl(ReactiveMongoTemplate mongoTemplate) {
+        this.mongoTemplate = mongoTemplate;
+    }
+
+    @Override
+    public Flux<Person> findPage(KeysetCursor cursor, int limit) {
+        return mongoTemplate.find(KeysetCursor.pageQuery(null, cursor, limit), Person.class);
+    }
+
+    @Override
+    public Flux<Person> streamAll(int batchSize) {
+        Query query = new Query().with(KeysetCursor.order()).cursorBatchSize(batchSize);
+        return mongoTemplate.find(query, Person.class);
+    }
+}
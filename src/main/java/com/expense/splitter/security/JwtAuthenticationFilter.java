@@ -1,10 +1,13 @@
 package com.expense.splitter.security;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
@@ -14,20 +17,37 @@ import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
 import java.util.Collections;
+import java.util.concurrent.TimeUnit;
 
 /**
  * JWT Authentication Filter
  * Intercepts all incoming HTTP requests and validates JWT tokens.
  * If the token is valid, it sets the authentication in the SecurityContext.
+ * Validation time is recorded as security.jwt.validation.
  */
 @Component
+@Profile("!reactive")
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
     private final JwtTokenProvider tokenProvider;
+    private final Timer validTokens;
+    private final Timer invalidTokens;
 
     @Autowired
-    public JwtAuthenticationFilter(JwtTokenProvider tokenProvider) {
+    public JwtAuthenticationFilter(JwtTokenProvider tokenProvider, MeterRegistry meterRegistry) {
         this.tokenProvider = tokenProvider;
+        this.validTokens = validationTimer(meterRegistry, "valid");
+        this.invalidTokens = validationTimer(meterRegistry, "invalid");
+    }
+
+    /**
+     * Timer of JWT validation (security.jwt.validation), tagged by outcome.
+     */
+    static Timer validationTimer(MeterRegistry meterRegistry, String result) {
+        return Timer.builder("security.jwt.validation")
+                .description("Time to validate a bearer token, including cache lookups")
+                .tag("result", result)
+                .register(meterRegistry);
     }
 
     @Override
@@ -38,10 +58,14 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
             // Extract JWT from the Authorization header
             String jwt = getJwtFromRequest(request);
 
-            // Validate the token and set authentication context
-            if (StringUtils.hasText(jwt) && tokenProvider.validateToken(jwt)) {
-                String username = tokenProvider.getUsernameFromToken(jwt);
-
+            // Validate the token (single parse, or a cache hit) and set authentication context
+            String username = null;
+            if (StringUtils.hasText(jwt)) {
+                long start = System.nanoTime();
+                username = tokenProvider.authenticate(jwt).orElse(null);
+                (username != null ? validTokens : invalidTokens).record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            }
+            if (username != null) {
                 UsernamePasswordAuthenticationToken authentication =
                         new UsernamePasswordAuthenticationToken(
                                 username, null, Collections.emptyList());
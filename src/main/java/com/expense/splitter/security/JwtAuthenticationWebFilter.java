@@ -0,0 +1,75 @@
+package com.expense.splitter.security;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.ReactiveSecurityContextHolder;
+import org.springframework.util.StringUtils;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Mono;
+
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JWT Authentication WebFilter
+ * Reactive equivalent of {@link JwtAuthenticationFilter}: validates the bearer
+ * token and, if it is valid, exposes the authentication to the rest of the
+ * chain through the Reactor context.
+ */
+public class JwtAuthenticationWebFilter implements WebFilter {
+
+    private static final Logger log = LoggerFactory.getLogger(JwtAuthenticationWebFilter.class);
+
+    private final JwtTokenProvider tokenProvider;
+    private final Timer validTokens;
+    private final Timer invalidTokens;
+
+    public JwtAuthenticationWebFilter(JwtTokenProvider tokenProvider, MeterRegistry meterRegistry) {
+        this.tokenProvider = tokenProvider;
+        this.validTokens = JwtAuthenticationFilter.validationTimer(meterRegistry, "valid");
+        this.invalidTokens = JwtAuthenticationFilter.validationTimer(meterRegistry, "invalid");
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+        String username = null;
+        try {
+            // Validate the token (single parse, or a cache hit); no I/O, so it runs inline
+            String jwt = getJwtFromRequest(exchange);
+            if (StringUtils.hasText(jwt)) {
+                long start = System.nanoTime();
+                username = tokenProvider.authenticate(jwt).orElse(null);
+                (username != null ? validTokens : invalidTokens).record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            }
+        } catch (Exception ex) {
+            log.error("Failed to authenticate user using JWT token", ex);
+        }
+
+        if (username == null) {
+            return chain.filter(exchange);
+        }
+        UsernamePasswordAuthenticationToken authentication =
+                new UsernamePasswordAuthenticationToken(username, null, Collections.emptyList());
+        return chain.filter(exchange)
+                .contextWrite(ReactiveSecurityContextHolder.withAuthentication(authentication));
+    }
+
+    /**
+     * Extracts the JWT token from the Authorization header.
+     */
+    private String getJwtFromRequest(ServerWebExchange exchange) {
+        String bearerToken = exchange.getRequest().getHeaders().getFirst(HttpHeaders.AUTHORIZATION);
+
+        if (StringUtils.hasText(bearerToken) && bearerToken.startsWith("Bearer ")) {
+            return bearerToken.substring(7);
+        }
+
+        return null;
+    }
+}
@@ -1,25 +1,50 @@
 package com.expense.splitter.security;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
 import io.jsonwebtoken.*;
 import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
+import java.nio.charset.StandardCharsets;
 import java.security.Key;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
 import java.util.Date;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
 
 /**
  * JWT Token Provider
- * Generates and validates JWT tokens for authentication
+ * Generates and validates JWT tokens for authentication.
+ * The signing key and parser are built once. Verified tokens are cached
+ * by SHA-256 hash until their expiry, so repeat requests with the same
+ * token skip signature verification and claim parsing.
  */
 @Component
-public class JwtTokenProvider {
+public class JwtTokenProvider implements MeterBinder {
     
-    @Value("${app.jwt.secret}")
-    private String jwtSecret;
+    private final long jwtExpirationMs;
+    private final Key key;
+    private final JwtParser parser;
+    private final Cache<String, VerifiedToken> verifiedTokens;
     
-    @Value("${app.jwt.expiration}")
-    private long jwtExpirationMs;
+    public JwtTokenProvider(@Value("${app.jwt.secret}") String jwtSecret,
+                            @Value("${app.jwt.expiration}") long jwtExpirationMs,
+                            @Value("${app.jwt.cache.max-size}") long cacheSize) {
+        this.jwtExpirationMs = jwtExpirationMs;
+        this.key = Keys.hmacShaKeyFor(jwtSecret.getBytes());
+        this.parser = Jwts.parserBuilder().setSigningKey(key).build();
+        this.verifiedTokens = cacheSize > 0
+                ? Caffeine.newBuilder().maximumSize(cacheSize).expireAfter(new UntilTokenExpiry()).recordStats().build()
+                : null;
+    }
     
     /**
      * Generate JWT token from username
@@ -28,8 +53,6 @@ public class JwtTokenProvider {
         Date now = new Date();
         Date expiryDate = new Date(now.getTime() + jwtExpirationMs);
         
-        Key key = Keys.hmacShaKeyFor(jwtSecret.getBytes());
-        
         return Jwts.builder()
                 .setSubject(username)
                 .setIssuedAt(now)
@@ -38,34 +61,98 @@ public class JwtTokenProvider {
                 .compact();
     }
     
+    /**
+     * Validate a token and return its username, parsing and verifying it
+     * at most once while it stays cached. Empty if the token is invalid.
+     */
+    public Optional<String> authenticate(String token) {
+        String hash = verifiedTokens != null ? sha256(token) : null;
+        VerifiedToken cached = hash != null ? verifiedTokens.getIfPresent(hash) : null;
+        if (cached != null && cached.expiresAtMillis > System.currentTimeMillis()) {
+            return Optional.ofNullable(cached.username);
+        }
+        
+        Claims claims;
+        try {
+            claims = parseClaims(token);
+        } catch (JwtException | IllegalArgumentException e) {
+            return Optional.empty();
+        }
+        if (hash != null && claims.getExpiration() != null) {
+            verifiedTokens.put(hash, new VerifiedToken(claims.getSubject(), claims.getExpiration().getTime()));
+        }
+        return Optional.ofNullable(claims.getSubject());
+    }
+    
+    /**
+     * Publish the verified-token cache hit ratio (cache.gets).
+     */
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        if (verifiedTokens != null) {
+            CaffeineCacheMetrics.monitor(registry, verifiedTokens, "jwt.verifiedTokens");
+        }
+    }
+    
+    /**
+     * Parse and verify a token once, returning its claims.
+     * Throws JwtException if the token is malformed, forged or expired.
+     */
+    public Claims parseClaims(String token) {
+        return parser.parseClaimsJws(token).getBody();
+    }
+    
     /**
      * Extract username from JWT token
      */
     public String getUsernameFromToken(String token) {
-        Key key = Keys.hmacShaKeyFor(jwtSecret.getBytes());
-        
-        Claims claims = Jwts.parserBuilder()
-                .setSigningKey(key)
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
-        
-        return claims.getSubject();
+        return parseClaims(token).getSubject();
     }
     
     /**
      * Validate JWT token
      */
     public boolean validateToken(String token) {
+        return authenticate(token).isPresent();
+    }
+    
+    private static String sha256(String token) {
         try {
-            Key key = Keys.hmacShaKeyFor(jwtSecret.getBytes());
-            Jwts.parserBuilder()
-                    .setSigningKey(key)
-                    .build()
-                    .parseClaimsJws(token);
-            return true;
-        } catch (JwtException | IllegalArgumentException e) {
-            return false;
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+            return Base64.getEncoder().encodeToString(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+    
+    private static final class VerifiedToken {
+        private final String username;
+        private final long expiresAtMillis;
+        
+        private VerifiedToken(String username, long expiresAtMillis) {
+            this.username = username;
+            this.expiresAtMillis = expiresAtMillis;
+        }
+    }
+    
+    /**
+     * Evicts each cached token when the token itself expires.
+     */
+    private static final class UntilTokenExpiry implements Expiry<String, VerifiedToken> {
+        @Override
+        public long expireAfterCreate(String hash, VerifiedToken token, long currentTime) {
+            long remainingMillis = Math.max(0, token.expiresAtMillis - System.currentTimeMillis());
+            return TimeUnit.MILLISECONDS.toNanos(remainingMillis);
+        }
+        
+        @Override
+        public long expireAfterUpdate(String hash, VerifiedToken token, long currentTime, long currentDuration) {
+            return expireAfterCreate(hash, token, currentTime);
+        }
+        
+        @Override
+        public long expireAfterRead(String hash, VerifiedToken token, long currentTime, long currentDuration) {
+            return currentDuration;
         }
     }
-}
\ No newline at end of file
+}
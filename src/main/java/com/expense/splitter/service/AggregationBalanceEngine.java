@@ -0,0 +1,132 @@
+package com.expense.splitter.service;
+
+import com.expense.splitter.model.Expense;
+import org.bson.Document;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.aggregation.AggregationExpression;
+import org.springframework.data.mongodb.core.aggregation.AggregationOperation;
+import org.springframework.data.mongodb.core.aggregation.ArrayOperators;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * BalanceEngine that pushes the computation down to MongoDB.
+ * Two aggregations each return one row per (group, person): the amounts
+ * paid, and the shares owed ({@code $unwind} on splitBetween with the array
+ * index, which picks the stored share or, for equal splits, hands the
+ * remainder to the first participants exactly as in
+ * {@link com.expense.splitter.model.Money#shareOf}). Expenses in another
+ * currency are booked like {@link BalanceAccumulator#addExpense}: each share
+ * converted at the stored rate, and the payer credited their sum.
+ */
+@Component
+@ConditionalOnProperty(name = "app.balances.engine", havingValue = "aggregation")
+public class AggregationBalanceEngine implements BalanceEngine {
+
+    private final MongoTemplate mongoTemplate;
+
+    public AggregationBalanceEngine(MongoTemplate mongoTemplate) {
+        this.mongoTemplate = mongoTemplate;
+    }
+
+    @Override
+    public Map<String, Map<String, Long>> computeBalancesByGroup() {
+        return computeBalancesByGroup(mongoTemplate, null);
+    }
+
+    /**
+     * Balances per group of the expenses matching {@code filter} (all when null).
+     */
+    static Map<String, Map<String, Long>> computeBalancesByGroup(MongoTemplate mongoTemplate, Criteria filter) {
+        Map<String, Map<String, Long>> balances = new HashMap<>();
+        addRows(balances, mongoTemplate.aggregate(paidAggregation(filter), Expense.class, Document.class)
+                .getMappedResults(), 1);
+        addRows(balances, mongoTemplate.aggregate(owedAggregation(filter), Expense.class, Document.class)
+                .getMappedResults(), -1);
+        return balances;
+    }
+
+    /**
+     * Total paid per (groupId, personId).
+     */
+    static Aggregation paidAggregation(Criteria filter) {
+        List<AggregationOperation> stages = new ArrayList<>();
+        if (filter != null) {
+            stages.add(Aggregation.match(filter));
+        }
+        stages.add(Aggregation.project("groupId").and("paidBy").as("personId").and(paid()).as("paid"));
+        stages.add(Aggregation.group("groupId", "personId").sum("paid").as("amountMinor"));
+        return Aggregation.newAggregation(stages);
+    }
+
+    /**
+     * Total owed per (groupId, personId): each participant's share of each expense.
+     */
+    static Aggregation owedAggregation(Criteria filter) {
+        Criteria shared = Criteria.where("splitBetween.0").exists(true);
+        return Aggregation.newAggregation(
+                Aggregation.match(filter != null ? new Criteria().andOperator(filter, shared) : shared),
+                Aggregation.project("groupId", "amountMinor", "splitBetween", "shares", "fxRate")
+                        .and(ArrayOperators.Size.lengthOfArray("splitBetween")).as("parts"),
+                Aggregation.unwind("splitBetween", "index"),
+                Aggregation.project("groupId")
+                        .and("splitBetween").as("personId")
+                        .and(context -> booked(share("$index", "$parts"))).as("share"),
+                Aggregation.group("groupId", "personId").sum("share").as("amountMinor"));
+    }
+
+    /**
+     * Amount credited to the payer: the amount, or for expenses in another
+     * currency the sum of their converted shares.
+     */
+    private static AggregationExpression paid() {
+        Document parts = new Document("$size", new Document("$ifNull", List.of("$splitBetween", List.of())));
+        Document converted = new Document("$sum", new Document("$map", new Document("input",
+                new Document("$range", List.of(0, parts)))
+                .append("as", "i")
+                .append("in", booked(share("$$i", parts)))));
+        return context -> new Document("$cond", List.of(
+                new Document("$isNumber", "$fxRate"), converted, "$amountMinor"));
+    }
+
+    /**
+     * The stored share at {@code index}; for equal splits floor(amount / parts),
+     * plus one for the first (amount % parts) participants.
+     */
+    private static Document share(Object index, Object parts) {
+        Document remainder = new Document("$mod", List.of("$amountMinor", parts));
+        Document base = new Document("$toLong", new Document("$divide", List.of(
+                new Document("$subtract", List.of("$amountMinor", remainder)), parts)));
+        Document extra = new Document("$cond", List.of(
+                new Document("$lt", List.of(index, remainder)), 1L, 0L));
+        Document equal = new Document("$add", List.of(base, extra));
+        Document stored = new Document("$arrayElemAt", List.of("$shares", index));
+        return new Document("$cond", List.of(new Document("$isArray", "$shares"), stored, equal));
+    }
+
+    /**
+     * A share in the base currency: converted at the stored rate when there
+     * is one, rounding half up like {@link com.expense.splitter.model.Money#convert}.
+     */
+    private static Document booked(Document share) {
+        Document converted = new Document("$toLong", new Document("$floor", new Document("$add", List.of(
+                new Document("$multiply", List.of(share, "$fxRate")), 0.5))));
+        return new Document("$cond", List.of(new Document("$isNumber", "$fxRate"), converted, share));
+    }
+
+    private static void addRows(Map<String, Map<String, Long>> balances, List<Document> rows, int sign) {
+        for (Document row : rows) {
+            Document id = row.get("_id", Document.class);
+            long amount = ((Number) row.get("amountMinor")).longValue();
+            balances.computeIfAbsent(id.getString("groupId"), groupId -> new HashMap<>())
+                    .merge(id.getString("personId"), sign * amount, Long::sum);
+        }
+    }
+}
@@ -0,0 +1,117 @@
+package com.expense.splitter.service;
+
+import com.expense.splitter.model.Expense;
+import com.expense.splitter.model.Money;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Accumulates per-person balances in minor units on a primitive long array.
+ * Person IDs are mapped to dense indexes once, so adding an expense does not
+ * box or allocate per participant.
+ */
+public final class BalanceAccumulator {
+
+    private final Map<String, Integer> indexes;
+    private String[] personIds;
+    private long[] amounts;
+    private int size;
+
+    public BalanceAccumulator() {
+        this(16);
+    }
+
+    public BalanceAccumulator(int expectedPersons) {
+        int capacity = Math.max(expectedPersons, 4);
+        this.indexes = new HashMap<>(capacity * 2);
+        this.personIds = new String[capacity];
+        this.amounts = new long[capacity];
+    }
+
+    /**
+     * Add {@code sign} times the effect of an expense: the payer is credited
+     * the full amount and each participant is debited their share (the stored
+     * share, or the equal share for expenses without stored shares).
+     * Expenses in another currency are booked in the base currency at their
+     * stored rate: each share is converted and the payer is credited the sum
+     * of the converted shares, so the ledger stays zero-sum.
+     */
+    public void addExpense(Expense expense, int sign) {
+        long amount = expense.getAmountMinor();
+        List<String> splitBetween = expense.getSplitBetween();
+        long[] shares = expense.getShares();
+        int parts = splitBetween.size();
+        Double fxRate = expense.getFxRate();
+
+        if (fxRate == null) {
+            add(expense.getPaidBy(), sign * amount);
+            for (int i = 0; i < parts; i++) {
+                add(splitBetween.get(i), -sign * shareAt(shares, amount, parts, i));
+            }
+            return;
+        }
+        double rate = fxRate;
+        long converted = 0;
+        for (int i = 0; i < parts; i++) {
+            long share = Money.convert(shareAt(shares, amount, parts, i), rate);
+            add(splitBetween.get(i), -sign * share);
+            converted += share;
+        }
+        add(expense.getPaidBy(), sign * converted);
+    }
+
+    /**
+     * Share of participant {@code index}: the stored share, or the equal
+     * share (see {@link Money#shareOf}) when no shares are stored.
+     */
+    static long shareAt(long[] shares, long amount, int parts, int index) {
+        return shares != null ? shares[index] : Money.shareOf(amount, parts, index);
+    }
+
+    /**
+     * Add a delta to one person's balance.
+     */
+    public void add(String personId, long delta) {
+        amounts[indexOf(personId)] += delta;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public String personIdAt(int index) {
+        return personIds[index];
+    }
+
+    public long amountAt(int index) {
+        return amounts[index];
+    }
+
+    /**
+     * Copy the accumulated balances into a map keyed by person ID.
+     */
+    public Map<String, Long> toMap() {
+        Map<String, Long> balances = new HashMap<>(size * 2);
+        for (int i = 0; i < size; i++) {
+            balances.put(personIds[i], amounts[i]);
+        }
+        return balances;
+    }
+
+    private int indexOf(String personId) {
+        Integer index = indexes.get(personId);
+        if (index != null) {
+            return index;
+        }
+        if (size == amounts.length) {
+            personIds = Arrays.copyOf(personIds, size * 2);
+            amounts = Arrays.copyOf(amounts, size * 2);
+        }
+        personIds[size] = personId;
+        indexes.put(personId, size);
+        return size++;
+    }
+}
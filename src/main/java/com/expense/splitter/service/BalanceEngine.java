@@ -0,0 +1,16 @@
+package com.expense.splitter.service;
+
+import java.util.Map;
+
+/**
+ * Recomputes balances from the expense log, independently of the ledger.
+ * Selected with {@code app.balances.engine}.
+ */
+public interface BalanceEngine {
+
+    /**
+     * Per-person balances in minor units for every group, keyed by group ID.
+     * Expenses that belong to no group are reported under the {@code null} key.
+     */
+    Map<String, Map<String, Long>> computeBalancesByGroup();
+}
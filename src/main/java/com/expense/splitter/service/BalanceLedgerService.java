@@ -0,0 +1,476 @@
+package com.expense.splitter.service;
+
+import com.expense.splitter.dto.ReconciliationReport;
+import com.expense.splitter.model.Balance;
+import com.expense.splitter.model.Expense;
+import com.expense.splitter.model.Money;
+import com.expense.splitter.repository.BalanceRepository;
+import com.expense.splitter.repository.ExpenseRepository;
+import com.expense.splitter.repository.PersonRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.mongodb.bulk.BulkWriteError;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Maintains the persisted per-person balance ledger.
+ * Expense writes adjust the ledger by delta so that balance reads only
+ * touch one document per person instead of replaying every expense.
+ * Every expense moves the global balances and, for group expenses, the
+ * balances of that group; group results are cached per group.
+ * A scheduled job rebuilds the ledger from the expense log, using the
+ * configured {@link BalanceEngine}, and reports drift.
+ */
+@Service
+public class BalanceLedgerService {
+
+    private static final Logger log = LoggerFactory.getLogger(BalanceLedgerService.class);
+
+    private static final int DUPLICATE_KEY = 11000;
+
+    private final MongoTemplate mongoTemplate;
+    private final BalanceRepository balanceRepository;
+    private final ExpenseRepository expenseRepository;
+    private final PersonRepository personRepository;
+    private final BalanceEngine balanceEngine;
+    private final BalanceSnapshotService snapshotService;
+    private final Cache<String, Map<String, Long>> groupBalances;
+    private final Timer reconcileTimer;
+    private final Timer groupBalancesTimer;
+
+    public BalanceLedgerService(MongoTemplate mongoTemplate,
+                                BalanceRepository balanceRepository,
+                                ExpenseRepository expenseRepository,
+                                PersonRepository personRepository,
+                                BalanceEngine balanceEngine,
+                                BalanceSnapshotService snapshotService,
+                                MeterRegistry meterRegistry,
+                                @Value("${app.cache.group-balances.max-size}") long groupCacheSize,
+                                @Value("${app.cache.group-balances.ttl}") Duration groupCacheTtl) {
+        this.mongoTemplate = mongoTemplate;
+        this.balanceRepository = balanceRepository;
+        this.expenseRepository = expenseRepository;
+        this.personRepository = personRepository;
+        this.balanceEngine = balanceEngine;
+        this.snapshotService = snapshotService;
+        this.groupBalances = Caffeine.newBuilder()
+                .maximumSize(groupCacheSize)
+                .expireAfterWrite(groupCacheTtl)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, groupBalances, "balances.byGroup");
+        this.reconcileTimer = computationTimer("reconcile")
+                .tag("engine", balanceEngine.getClass().getSimpleName())
+                .register(meterRegistry);
+        this.groupBalancesTimer = computationTimer("group").register(meterRegistry);
+    }
+
+    /**
+     * Timer of one kind of balance computation (balances.computation, tagged by operation).
+     */
+    static Timer.Builder computationTimer(String operation) {
+        return Timer.builder("balances.computation")
+                .description("Time to compute balances from the expense log or the ledger")
+                .tag("operation", operation);
+    }
+
+    /**
+     * Add the effect of a newly stored expense to the ledger.
+     */
+    public void applyExpense(Expense expense) {
+        BalanceAccumulator deltas = new BalanceAccumulator(expense.getSplitBetween().size() + 1);
+        deltas.addExpense(expense, 1);
+        applyDeltas(expense.getGroupId(), deltas);
+    }
+
+    /**
+     * Add the effect of a batch of stored expenses of one group (null for none)
+     * with a single ledger write.
+     */
+    public void applyExpenses(String groupId, Collection<Expense> expenses) {
+        if (expenses.isEmpty()) {
+            return;
+        }
+        BalanceAccumulator deltas = new BalanceAccumulator();
+        for (Expense expense : expenses) {
+            deltas.addExpense(expense, 1);
+        }
+        applyDeltas(groupId, deltas);
+    }
+
+    /**
+     * Remove the effect of a deleted expense from the ledger
+     * and drop the balance snapshots that included it.
+     */
+    public void revertExpense(Expense expense) {
+        snapshotService.invalidate(expense);
+        BalanceAccumulator deltas = new BalanceAccumulator(expense.getSplitBetween().size() + 1);
+        deltas.addExpense(expense, -1);
+        applyDeltas(expense.getGroupId(), deltas);
+    }
+
+    /**
+     * Replace the effect of {@code before} with that of {@code after}.
+     * Only the net difference is written, in a single bulk round trip;
+     * balance snapshots that included the old state are dropped.
+     */
+    public void replaceExpense(Expense before, Expense after) {
+        if (!Objects.equals(before.getGroupId(), after.getGroupId())) {
+            revertExpense(before);
+            snapshotService.invalidate(after);
+            applyExpense(after);
+            return;
+        }
+        snapshotService.invalidate(before);
+        BalanceAccumulator deltas = new BalanceAccumulator(
+                before.getSplitBetween().size() + after.getSplitBetween().size() + 2);
+        deltas.addExpense(before, -1);
+        deltas.addExpense(after, 1);
+        applyDeltas(after.getGroupId(), deltas);
+    }
+
+    /**
+     * Current global balances in minor units: every known person (0 by default)
+     * overlaid with the ledger. Cost is proportional to the number of persons only.
+     */
+    public Map<String, Long> getBalances() {
+        Map<String, Long> balances = new HashMap<>();
+        personRepository.findAll().forEach(person -> balances.put(person.getId(), 0L));
+        balances.putAll(getLedgerBalances());
+        return balances;
+    }
+
+    /**
+     * Global ledger entries only, in minor units. Persons without an entry
+     * have never been part of an expense and have a zero balance.
+     */
+    public Map<String, Long> getLedgerBalances() {
+        Map<String, Long> balances = new HashMap<>();
+        balanceRepository.findByGroupIdIsNull()
+                .forEach(balance -> balances.put(balance.getId(), balance.getAmountMinor()));
+        return balances;
+    }
+
+    /**
+     * Ledger entries of the given persons in minor units, global or for one
+     * group, read with a single $in query. Persons without an entry are absent.
+     */
+    public Map<String, Long> getLedgerBalances(String groupId, Collection<String> personIds) {
+        List<String> balanceIds = new ArrayList<>(personIds.size());
+        personIds.forEach(personId -> balanceIds.add(balanceId(groupId, personId)));
+        Map<String, Long> balances = new HashMap<>();
+        balanceRepository.findAllById(balanceIds)
+                .forEach(balance -> balances.put(balance.getPersonId(), balance.getAmountMinor()));
+        return balances;
+    }
+
+    /**
+     * Balances of one group in minor units: every member (0 by default)
+     * overlaid with the group ledger. Served from the per-group cache.
+     */
+    public Map<String, Long> getBalances(String groupId) {
+        return new HashMap<>(groupBalances.get(groupId, this::loadGroupBalances));
+    }
+
+    /**
+     * Apply a ledger entry written by any node to the cached group balances:
+     * the entry's new amount replaces the cached one, and a null amount (entry
+     * deleted) drops the group. Global entries are not cached in process.
+     */
+    public void applyLedgerChange(String balanceId, Long amountMinor) {
+        int separator = balanceId.indexOf(':');
+        if (separator < 0) {
+            return;
+        }
+        String groupId = balanceId.substring(0, separator);
+        String personId = balanceId.substring(separator + 1);
+        if (amountMinor == null) {
+            groupBalances.invalidate(groupId);
+            return;
+        }
+        // Copy on write: readers copy the cached map outside the cache's lock
+        groupBalances.asMap().computeIfPresent(groupId, (id, balances) -> {
+            Map<String, Long> updated = new HashMap<>(balances);
+            updated.put(personId, amountMinor);
+            return updated;
+        });
+    }
+
+    /**
+     * Every ledger entry of one person: the global one and one per group.
+     */
+    public List<Balance> getLedgerEntries(String personId) {
+        return balanceRepository.findByPersonId(personId);
+    }
+
+    /**
+     * Move every ledger entry of one person onto another (after their expenses
+     * were reassigned), adding to the other's entries and deleting the old ones
+     * in one bulk write.
+     */
+    public void transferBalances(String fromPersonId, String toPersonId) {
+        List<Balance> entries = balanceRepository.findByPersonId(fromPersonId);
+        if (entries.isEmpty()) {
+            return;
+        }
+        BulkOperations bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Balance.class);
+        LocalDateTime now = LocalDateTime.now();
+        for (Balance entry : entries) {
+            Update update = new Update().inc("amountMinor", entry.getAmountMinor())
+                    .set("personId", toPersonId)
+                    .set("updatedAt", now);
+            if (entry.getGroupId() != null) {
+                update.set("groupId", entry.getGroupId());
+            }
+            bulk.upsert(Query.query(Criteria.where("_id").is(balanceId(entry.getGroupId(), toPersonId))), update);
+            bulk.remove(Query.query(Criteria.where("_id").is(entry.getId())));
+        }
+        bulk.execute();
+        entries.forEach(entry -> invalidateGroup(entry.getGroupId()));
+    }
+
+    /**
+     * Delete every ledger entry of one person, e.g. once the person is deleted.
+     */
+    public void removeBalances(String personId) {
+        List<Balance> entries = balanceRepository.findByPersonId(personId);
+        if (entries.isEmpty()) {
+            return;
+        }
+        mongoTemplate.remove(Query.query(Criteria.where("personId").is(personId)), Balance.class);
+        entries.forEach(entry -> invalidateGroup(entry.getGroupId()));
+    }
+
+    /**
+     * Per-group balances of the expenses matching {@code filter}, computed
+     * server-side (see {@link AggregationBalanceEngine}).
+     */
+    public Map<String, Map<String, Long>> computeBalancesByGroup(Criteria filter) {
+        return AggregationBalanceEngine.computeBalancesByGroup(mongoTemplate, filter);
+    }
+
+    /**
+     * Apply the difference between two per-group results of
+     * {@link #computeBalancesByGroup(Criteria)}, one bulk write per group.
+     */
+    public void applyChanges(Map<String, Map<String, Long>> before, Map<String, Map<String, Long>> after) {
+        Map<String, BalanceAccumulator> deltas = new HashMap<>();
+        before.forEach((groupId, balances) -> balances.forEach((personId, amount) ->
+                deltas.computeIfAbsent(groupId, id -> new BalanceAccumulator()).add(personId, -amount)));
+        after.forEach((groupId, balances) -> balances.forEach((personId, amount) ->
+                deltas.computeIfAbsent(groupId, id -> new BalanceAccumulator()).add(personId, amount)));
+        deltas.forEach(this::applyDeltas);
+    }
+
+    /**
+     * Drop the cached balances of one group, e.g. after its members changed.
+     */
+    public void invalidateGroupBalances(String groupId) {
+        groupBalances.invalidate(groupId);
+    }
+
+    /**
+     * Drop every cached group result.
+     */
+    public void invalidateGroupBalances() {
+        groupBalances.invalidateAll();
+    }
+
+    /**
+     * Rebuild the ledger from the expense log, correcting and reporting
+     * every entry that has drifted from the recomputed value.
+     * The ledger is read before and after recomputing: an entry that changed
+     * in between was written concurrently and may or may not be part of the
+     * recomputed value, so it is skipped and left to the next run. Every
+     * correction is an $inc of (expected - observed) guarded by the observed
+     * amount, so a ledger write landing after the second read is never
+     * overwritten; the guarded entry is skipped instead.
+     * The expense count is read before recomputing and is informational only.
+     */
+    public ReconciliationReport reconcile() {
+        int expensesReplayed = (int) expenseRepository.count();
+        Map<String, Long> before = readLedger();
+        Map<String, Map<String, Long>> byGroup = reconcileTimer.record(balanceEngine::computeBalancesByGroup);
+        Map<String, Long> actual = readLedger();
+
+        Map<String, Long> global = new HashMap<>();
+        byGroup.values().forEach(balances -> balances.forEach((personId, amount) ->
+                global.merge(personId, amount, Long::sum)));
+
+        Map<String, Balance> expected = new HashMap<>();
+        addExpected(expected, null, global);
+        byGroup.forEach((groupId, balances) -> {
+            if (groupId != null) {
+                addExpected(expected, groupId, balances);
+            }
+        });
+
+        Set<String> balanceIds = new HashSet<>(expected.keySet());
+        balanceIds.addAll(actual.keySet());
+
+        Map<String, Double> drift = new HashMap<>();
+        List<String> skipped = new ArrayList<>();
+        List<String> corrected = new ArrayList<>();
+        BulkOperations bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Balance.class);
+        LocalDateTime now = LocalDateTime.now();
+        for (String balanceId : balanceIds) {
+            Balance expectedBalance = expected.get(balanceId);
+            long expectedAmount = expectedBalance != null ? expectedBalance.getAmountMinor() : 0L;
+            long actualAmount = actual.getOrDefault(balanceId, 0L);
+            if (actualAmount == expectedAmount) {
+                continue;
+            }
+            if (!Objects.equals(before.get(balanceId), actual.get(balanceId))) {
+                skipped.add(balanceId);
+                continue;
+            }
+            Update update = new Update().inc("amountMinor", expectedAmount - actualAmount).set("updatedAt", now);
+            if (expectedBalance != null) {
+                // Entries missing from the ledger are created with their keys
+                update.set("personId", expectedBalance.getPersonId());
+                if (expectedBalance.getGroupId() != null) {
+                    update.set("groupId", expectedBalance.getGroupId());
+                }
+            }
+            // An entry that no longer holds the observed amount fails the
+            // upsert with a duplicate _id instead of being overwritten
+            bulk.upsert(Query.query(Criteria.where("_id").is(balanceId).and("amountMinor").is(actualAmount)), update);
+            corrected.add(balanceId);
+            drift.put(balanceId, Money.toMajor(actualAmount - expectedAmount));
+        }
+        if (!corrected.isEmpty()) {
+            try {
+                bulk.execute();
+            } catch (BulkOperationException e) {
+                for (BulkWriteError error : e.getErrors()) {
+                    if (error.getCode() != DUPLICATE_KEY) {
+                        throw e;
+                    }
+                    String balanceId = corrected.get(error.getIndex());
+                    drift.remove(balanceId);
+                    skipped.add(balanceId);
+                }
+            }
+        }
+        invalidateGroupBalances();
+
+        return new ReconciliationReport(LocalDateTime.now(), expensesReplayed, balanceIds.size(), drift, skipped);
+    }
+
+    /**
+     * Periodic reconciliation; drift indicates a lost ledger update.
+     */
+    @Scheduled(cron = "${app.balances.reconcile-cron:0 0 3 * * *}")
+    public void scheduledReconcile() {
+        ReconciliationReport report = reconcile();
+        if (report.getDrift().isEmpty()) {
+            log.info("Balance ledger reconciled: {} expenses, no drift", report.getExpensesReplayed());
+        } else {
+            log.warn("Balance ledger drift corrected for {} entries: {}",
+                    report.getDrift().size(), report.getDrift());
+        }
+        if (!report.getSkipped().isEmpty()) {
+            log.info("Balance ledger entries written during reconciliation, left for the next run: {}",
+                    report.getSkipped());
+        }
+    }
+
+    /**
+     * Compute balances in minor units from scratch by replaying the given expenses.
+     */
+    static Map<String, Long> replay(Iterable<Expense> expenses) {
+        BalanceAccumulator accumulator = new BalanceAccumulator();
+        for (Expense expense : expenses) {
+            accumulator.addExpense(expense, 1);
+        }
+        return accumulator.toMap();
+    }
+
+    /**
+     * Ledger document id: the person id for global balances,
+     * "groupId:personId" for group balances.
+     */
+    static String balanceId(String groupId, String personId) {
+        return groupId == null ? personId : groupId + ":" + personId;
+    }
+
+    private Map<String, Long> loadGroupBalances(String groupId) {
+        return groupBalancesTimer.record(() -> {
+            Map<String, Long> balances = new HashMap<>();
+            personRepository.findByGroupIdsContaining(groupId).forEach(person -> balances.put(person.getId(), 0L));
+            balanceRepository.findByGroupId(groupId)
+                    .forEach(balance -> balances.put(balance.getPersonId(), balance.getAmountMinor()));
+            return balances;
+        });
+    }
+
+    private void invalidateGroup(String groupId) {
+        if (groupId != null) {
+            groupBalances.invalidate(groupId);
+        }
+    }
+
+    private Map<String, Long> readLedger() {
+        Map<String, Long> ledger = new HashMap<>();
+        balanceRepository.findAll().forEach(balance -> ledger.put(balance.getId(), balance.getAmountMinor()));
+        return ledger;
+    }
+
+    private static void addExpected(Map<String, Balance> expected, String groupId, Map<String, Long> balances) {
+        balances.forEach((personId, amount) -> expected.put(balanceId(groupId, personId),
+                new Balance(balanceId(groupId, personId), groupId, personId, amount, null)));
+    }
+
+    private void applyDeltas(String groupId, BalanceAccumulator deltas) {
+        BulkOperations bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Balance.class);
+        int operations = 0;
+        LocalDateTime now = LocalDateTime.now();
+        for (int i = 0; i < deltas.size(); i++) {
+            long delta = deltas.amountAt(i);
+            if (delta == 0) {
+                continue;
+            }
+            String personId = deltas.personIdAt(i);
+            bulk.upsert(Query.query(Criteria.where("_id").is(personId)),
+                    new Update().inc("amountMinor", delta).set("personId", personId).set("updatedAt", now));
+            if (groupId != null) {
+                bulk.upsert(Query.query(Criteria.where("_id").is(balanceId(groupId, personId))),
+                        new Update().inc("amountMinor", delta)
+                                .set("groupId", groupId)
+                                .set("personId", personId)
+                                .set("updatedAt", now));
+            }
+            operations++;
+        }
+        if (operations > 0) {
+            bulk.execute();
+        }
+        if (groupId != null) {
+            groupBalances.invalidate(groupId);
+        }
+    }
+}
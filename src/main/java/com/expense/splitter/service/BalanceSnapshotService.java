@@ -0,0 +1,156 @@
+package com.expense.splitter.service;
+
+import com.expense.splitter.model.BalanceSnapshot;
+import com.expense.splitter.model.Expense;
+import com.expense.splitter.repository.BalanceSnapshotRepository;
+import com.expense.splitter.repository.ExpenseRepository;
+import com.expense.splitter.repository.GroupRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+/**
+ * Point-in-time balances backed by periodic snapshots.
+ * A daily job checkpoints the balances of every group (and the global
+ * balances) at midnight; a query for time T starts from the latest
+ * snapshot taken at or before T and replays only the expenses created
+ * between that snapshot and T.
+ * Changing or deleting an expense drops the snapshots that included it.
+ */
+@Service
+public class BalanceSnapshotService {
+
+    private static final Logger log = LoggerFactory.getLogger(BalanceSnapshotService.class);
+
+    private static final int REPLAY_BATCH_SIZE = 1000;
+
+    private final BalanceSnapshotRepository snapshotRepository;
+    private final ExpenseRepository expenseRepository;
+    private final GroupRepository groupRepository;
+    private final MongoTemplate mongoTemplate;
+    private final Timer replayTimer;
+
+    public BalanceSnapshotService(BalanceSnapshotRepository snapshotRepository,
+                                  ExpenseRepository expenseRepository,
+                                  GroupRepository groupRepository,
+                                  MongoTemplate mongoTemplate,
+                                  MeterRegistry meterRegistry) {
+        this.snapshotRepository = snapshotRepository;
+        this.expenseRepository = expenseRepository;
+        this.groupRepository = groupRepository;
+        this.mongoTemplate = mongoTemplate;
+        this.replayTimer = BalanceLedgerService.computationTimer("replay").register(meterRegistry);
+    }
+
+    /**
+     * Balances in minor units including every expense created at or before {@code asOf}.
+     */
+    public Map<String, Long> balancesAsOf(String groupId, LocalDateTime asOf) {
+        // createdAt is stored with millisecond precision
+        return balancesBefore(groupId, asOf.truncatedTo(ChronoUnit.MILLIS).plus(1, ChronoUnit.MILLIS));
+    }
+
+    /**
+     * Net change in minor units from expenses created in [from, to), computed
+     * as the difference of two snapshot-backed balances so neither side
+     * replays more than one snapshot interval.
+     */
+    public Map<String, Long> balanceChanges(String groupId, LocalDateTime from, LocalDateTime to) {
+        if (!from.isBefore(to)) {
+            throw new IllegalArgumentException("'from' must be before 'to'");
+        }
+        Map<String, Long> changes = balancesBefore(groupId, to);
+        balancesBefore(groupId, from).forEach((personId, amount) -> changes.merge(personId, -amount, Long::sum));
+        return changes;
+    }
+
+    /**
+     * Balances in minor units of the expenses created before {@code bound}.
+     */
+    Map<String, Long> balancesBefore(String groupId, LocalDateTime bound) {
+        return replayTimer.record(() -> {
+            BalanceAccumulator accumulator = new BalanceAccumulator();
+            LocalDateTime replayFrom = null;
+            BalanceSnapshot snapshot = snapshotRepository
+                    .findFirstByGroupIdAndAsOfLessThanEqualOrderByAsOfDesc(groupId, bound)
+                    .orElse(null);
+            if (snapshot != null) {
+                snapshot.getBalances().forEach(accumulator::add);
+                replayFrom = snapshot.getAsOf();
+            }
+            try (Stream<Expense> expenses =
+                         expenseRepository.streamCreatedBetween(groupId, replayFrom, bound, REPLAY_BATCH_SIZE)) {
+                Iterator<Expense> iterator = expenses.iterator();
+                while (iterator.hasNext()) {
+                    accumulator.addExpense(iterator.next(), 1);
+                }
+            }
+            return accumulator.toMap();
+        });
+    }
+
+    /**
+     * Checkpoint the global balances and those of every group as of {@code asOf}.
+     */
+    public int takeSnapshots(LocalDateTime asOf) {
+        List<String> groupIds = new ArrayList<>();
+        groupIds.add(null);
+        groupRepository.findAll().forEach(group -> groupIds.add(group.getId()));
+
+        LocalDateTime now = LocalDateTime.now();
+        for (String groupId : groupIds) {
+            Map<String, Long> balances = balancesBefore(groupId, asOf);
+            snapshotRepository.save(new BalanceSnapshot(snapshotId(groupId, asOf), groupId, asOf, balances, now));
+        }
+        return groupIds.size();
+    }
+
+    /**
+     * Daily checkpoint at the most recent midnight.
+     */
+    @Scheduled(cron = "${app.balances.snapshot-cron:0 30 0 * * *}")
+    public void scheduledSnapshot() {
+        LocalDateTime midnight = LocalDate.now().atStartOfDay();
+        int snapshots = takeSnapshots(midnight);
+        log.info("Took {} balance snapshots as of {}", snapshots, midnight);
+    }
+
+    /**
+     * Drop the snapshots (global and of the expense's group) that include
+     * this expense, after it has been changed or deleted.
+     */
+    public void invalidate(Expense expense) {
+        Criteria scope = expense.getGroupId() != null
+                ? Criteria.where("groupId").in(Arrays.asList(null, expense.getGroupId()))
+                : Criteria.where("groupId").is(null);
+        mongoTemplate.remove(Query.query(scope.and("asOf").gt(expense.getCreatedAt())), BalanceSnapshot.class);
+    }
+
+    /**
+     * Drop every snapshot that has a balance for the person, i.e. that includes
+     * any of their expenses, after those expenses were reassigned or rewritten.
+     */
+    public void invalidateInvolving(String personId) {
+        mongoTemplate.remove(Query.query(Criteria.where("balances." + personId).exists(true)), BalanceSnapshot.class);
+    }
+
+    private static String snapshotId(String groupId, LocalDateTime asOf) {
+        return (groupId != null ? groupId : "global") + "@" + asOf;
+    }
+}
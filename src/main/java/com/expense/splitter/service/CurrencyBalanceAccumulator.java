@@ -0,0 +1,130 @@
+package com.expense.splitter.service;
+
+import com.expense.splitter.model.Expense;
+import com.expense.splitter.model.Money;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Accumulates per-person balances in each expense's own currency, in minor
+ * units, on one primitive long column per currency. Persons and currencies
+ * are mapped to dense indexes once, so adding an expense does not box or
+ * allocate per participant, and converting the totals afterwards costs one
+ * multiplication per (person, currency) instead of one per expense.
+ */
+final class CurrencyBalanceAccumulator {
+
+    private final String baseCurrency;
+    private final Map<String, Integer> personIndexes = new HashMap<>();
+    private final Map<String, Integer> currencyIndexes = new HashMap<>();
+    private String[] personIds = new String[16];
+    private String[] currencies = new String[4];
+    // amounts[currency][person]
+    private long[][] amounts = new long[4][];
+    private int persons;
+    private int currencyCount;
+
+    CurrencyBalanceAccumulator(String baseCurrency) {
+        this.baseCurrency = baseCurrency;
+    }
+
+    /**
+     * Add an expense in its own currency: the payer is credited the amount
+     * and each participant is debited their share.
+     */
+    void addExpense(Expense expense) {
+        int currency = currencyIndex(expense.getCurrency() != null ? expense.getCurrency() : baseCurrency);
+        long amount = expense.getAmountMinor();
+        List<String> splitBetween = expense.getSplitBetween();
+        long[] shares = expense.getShares();
+        int parts = splitBetween.size();
+
+        add(currency, expense.getPaidBy(), amount);
+        for (int i = 0; i < parts; i++) {
+            add(currency, splitBetween.get(i), -BalanceAccumulator.shareAt(shares, amount, parts, i));
+        }
+    }
+
+    /**
+     * Balances per person and currency (person ID -> currency -> minor units),
+     * leaving out currencies a person is settled in.
+     */
+    Map<String, Map<String, Long>> toMap() {
+        Map<String, Map<String, Long>> balances = new HashMap<>(persons * 2);
+        for (int p = 0; p < persons; p++) {
+            Map<String, Long> byCurrency = new HashMap<>();
+            for (int c = 0; c < currencyCount; c++) {
+                if (amounts[c][p] != 0) {
+                    byCurrency.put(currencies[c], amounts[c][p]);
+                }
+            }
+            balances.put(personIds[p], byCurrency);
+        }
+        return balances;
+    }
+
+    /**
+     * Balances per person converted into the table's base currency. Currencies
+     * the table has no rate for are left out and added to {@code missingRates}.
+     */
+    Map<String, Long> convert(FxRateTable rates, Set<String> missingRates) {
+        long[] converted = new long[persons];
+        for (int c = 0; c < currencyCount; c++) {
+            int index = rates.indexOf(currencies[c]);
+            if (index < 0) {
+                missingRates.add(currencies[c]);
+                continue;
+            }
+            double rate = rates.rateAt(index);
+            long[] column = amounts[c];
+            for (int p = 0; p < persons; p++) {
+                converted[p] += Money.convert(column[p], rate);
+            }
+        }
+        Map<String, Long> balances = new HashMap<>(persons * 2);
+        for (int p = 0; p < persons; p++) {
+            balances.put(personIds[p], converted[p]);
+        }
+        return balances;
+    }
+
+    private void add(int currency, String personId, long delta) {
+        int person = personIndex(personId);
+        amounts[currency][person] += delta;
+    }
+
+    private int personIndex(String personId) {
+        Integer index = personIndexes.get(personId);
+        if (index != null) {
+            return index;
+        }
+        if (persons == personIds.length) {
+            personIds = Arrays.copyOf(personIds, persons * 2);
+            for (int c = 0; c < currencyCount; c++) {
+                amounts[c] = Arrays.copyOf(amounts[c], persons * 2);
+            }
+        }
+        personIds[persons] = personId;
+        personIndexes.put(personId, persons);
+        return persons++;
+    }
+
+    private int currencyIndex(String currency) {
+        Integer index = currencyIndexes.get(currency);
+        if (index != null) {
+            return index;
+        }
+        if (currencyCount == currencies.length) {
+            currencies = Arrays.copyOf(currencies, currencyCount * 2);
+            amounts = Arrays.copyOf(amounts, currencyCount * 2);
+        }
+        currencies[currencyCount] = currency;
+        amounts[currencyCount] = new long[personIds.length];
+        currencyIndexes.put(currency, currencyCount);
+        return currencyCount++;
+    }
+}
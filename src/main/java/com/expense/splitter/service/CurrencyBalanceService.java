@@ -0,0 +1,79 @@
+package com.expense.splitter.service;
+
+import com.expense.splitter.dto.CurrencyBalanceReport;
+import com.expense.splitter.exception.ResourceNotFoundException;
+import com.expense.splitter.model.Expense;
+import com.expense.splitter.model.Money;
+import com.expense.splitter.repository.ExpenseRepository;
+import com.expense.splitter.repository.GroupRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.stream.Stream;
+
+/**
+ * Balances per original currency and converted into the base currency at
+ * the current FX rates, computed in one pass over the expense log.
+ * Unlike the ledger, which books every expense at the rate it was written
+ * with, this revalues the open balances at today's rates.
+ */
+@Service
+public class CurrencyBalanceService {
+
+    private static final int BATCH_SIZE = 1000;
+
+    private final ExpenseRepository expenseRepository;
+    private final GroupRepository groupRepository;
+    private final FxRateService fxRateService;
+    private final Timer currenciesTimer;
+
+    public CurrencyBalanceService(ExpenseRepository expenseRepository,
+                                  GroupRepository groupRepository,
+                                  FxRateService fxRateService,
+                                  MeterRegistry meterRegistry) {
+        this.expenseRepository = expenseRepository;
+        this.groupRepository = groupRepository;
+        this.fxRateService = fxRateService;
+        this.currenciesTimer = BalanceLedgerService.computationTimer("currencies").register(meterRegistry);
+    }
+
+    /**
+     * Balances of every expense (null groupId) or of one group's expenses.
+     */
+    public CurrencyBalanceReport getBalances(String groupId) {
+        if (groupId != null && !groupRepository.existsById(groupId)) {
+            throw new ResourceNotFoundException("Group not found with id: " + groupId);
+        }
+        FxRateTable rates = fxRateService.getRates();
+        return currenciesTimer.record(() -> {
+            CurrencyBalanceAccumulator accumulator = new CurrencyBalanceAccumulator(rates.getBaseCurrency());
+            try (Stream<Expense> expenses = expenseRepository.streamAll(groupId, BATCH_SIZE)) {
+                Iterator<Expense> iterator = expenses.iterator();
+                while (iterator.hasNext()) {
+                    accumulator.addExpense(iterator.next());
+                }
+            }
+
+            Map<String, Map<String, Double>> balances = new HashMap<>();
+            accumulator.toMap().forEach((personId, byCurrency) -> {
+                Map<String, Double> amounts = new HashMap<>(byCurrency.size() * 2);
+                byCurrency.forEach((currency, amount) -> amounts.put(currency, Money.toMajor(amount)));
+                balances.put(personId, amounts);
+            });
+            Set<String> missingRates = new TreeSet<>();
+            Map<String, Double> converted = new HashMap<>();
+            accumulator.convert(rates, missingRates)
+                    .forEach((personId, amount) -> converted.put(personId, Money.toMajor(amount)));
+            List<String> missing = new ArrayList<>(missingRates);
+            return new CurrencyBalanceReport(rates.getBaseCurrency(), rates.getAsOf(), balances, converted, missing);
+        });
+    }
+}
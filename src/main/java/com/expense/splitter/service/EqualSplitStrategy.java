@@ -0,0 +1,17 @@
+package com.expense.splitter.service;
+
+import com.expense.splitter.dto.SplitRequest;
+
+import java.util.List;
+
+/**
+ * Equal split. Its shares are cheap to derive from the amount and the
+ * number of participants, so none are stored.
+ */
+public class EqualSplitStrategy implements SplitStrategy {
+
+    @Override
+    public long[] split(long amountMinor, List<String> splitBetween, SplitRequest split) {
+        return null;
+    }
+}
@@ -0,0 +1,94 @@
+package com.expense.splitter.service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Minimal-transfer settlement for small groups.
+ * A group of k people whose balances sum to zero needs k - 1 transfers, so
+ * the minimum is n minus the largest number of disjoint zero-sum subgroups.
+ * That number is found with a DP over all 2^n subsets, and each subgroup is
+ * then settled on its own. Only suitable for n up to about 20.
+ */
+public class ExactSettlementStrategy implements SettlementStrategy {
+
+    /** Hard limit: the DP tables hold 2^n entries */
+    public static final int MAX_PARTICIPANTS = 20;
+
+    private final GreedySettlementStrategy subgroupStrategy = new GreedySettlementStrategy();
+
+    @Override
+    public List<Transfer> settle(String[] personIds, long[] balances) {
+        int[] open = nonZero(balances);
+        int n = open.length;
+        if (n > MAX_PARTICIPANTS) {
+            throw new IllegalArgumentException("Exact settlement supports at most "
+                    + MAX_PARTICIPANTS + " participants, got " + n);
+        }
+
+        int full = (1 << n) - 1;
+        long[] sums = new long[full + 1];
+        int[] groups = new int[full + 1];
+        for (int mask = 1; mask <= full; mask++) {
+            int lowest = Integer.numberOfTrailingZeros(mask);
+            sums[mask] = sums[mask & (mask - 1)] + balances[open[lowest]];
+
+            int best = 0;
+            for (int rest = mask; rest != 0; rest &= rest - 1) {
+                int bit = Integer.numberOfTrailingZeros(rest);
+                best = Math.max(best, groups[mask ^ (1 << bit)]);
+            }
+            groups[mask] = best + (sums[mask] == 0 ? 1 : 0);
+        }
+
+        // Walk back from the full set; every zero-sum prefix closes a subgroup
+        int[] order = new int[n];
+        int mask = full;
+        for (int position = n - 1; position >= 0; position--) {
+            int chosen = -1;
+            for (int rest = mask; rest != 0; rest &= rest - 1) {
+                int bit = Integer.numberOfTrailingZeros(rest);
+                if (chosen < 0 || groups[mask ^ (1 << bit)] > groups[mask ^ (1 << chosen)]) {
+                    chosen = bit;
+                }
+            }
+            order[position] = chosen;
+            mask ^= 1 << chosen;
+        }
+
+        List<Transfer> transfers = new ArrayList<>();
+        int start = 0;
+        long running = 0;
+        for (int position = 0; position < n; position++) {
+            running += balances[open[order[position]]];
+            if (running == 0 || position == n - 1) {
+                transfers.addAll(settleSubgroup(personIds, balances, open, order, start, position + 1));
+                start = position + 1;
+            }
+        }
+        return transfers;
+    }
+
+    private List<Transfer> settleSubgroup(String[] personIds, long[] balances,
+                                          int[] open, int[] order, int from, int to) {
+        String[] ids = new String[to - from];
+        long[] amounts = new long[to - from];
+        for (int i = from; i < to; i++) {
+            ids[i - from] = personIds[open[order[i]]];
+            amounts[i - from] = balances[open[order[i]]];
+        }
+        return subgroupStrategy.settle(ids, amounts);
+    }
+
+    private static int[] nonZero(long[] balances) {
+        int[] indexes = new int[balances.length];
+        int count = 0;
+        for (int i = 0; i < balances.length; i++) {
+            if (balances[i] != 0) {
+                indexes[count++] = i;
+            }
+        }
+        return Arrays.copyOf(indexes, count);
+    }
+}
@@ -0,0 +1,32 @@
+package com.expense.splitter.service;
+
+import com.expense.splitter.dto.SplitRequest;
+import com.expense.splitter.model.Money;
+
+import java.util.List;
+
+/**
+ * Split by an exact amount per participant; the amounts must sum to the expense amount.
+ */
+public class ExactSplitStrategy implements SplitStrategy {
+
+    @Override
+    public long[] split(long amountMinor, List<String> splitBetween, SplitRequest split) {
+        List<Double> values = split.getValues();
+        if (values == null || values.size() != splitBetween.size()) {
+            throw new IllegalArgumentException("An exact split needs one amount per participant ("
+                    + splitBetween.size() + ")");
+        }
+        long[] shares = new long[values.size()];
+        long total = 0;
+        for (int i = 0; i < shares.length; i++) {
+            shares[i] = Money.toMinor(values.get(i));
+            total += shares[i];
+        }
+        if (total != amountMinor) {
+            throw new IllegalArgumentException("Split amounts sum to " + Money.toMajor(total)
+                    + ", not the expense amount " + Money.toMajor(amountMinor));
+        }
+        return shares;
+    }
+}
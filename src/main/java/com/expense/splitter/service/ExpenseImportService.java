@@ -0,0 +1,206 @@
+package com.expense.splitter.service;
+
+import com.expense.splitter.cache.PersonCache;
+import com.expense.splitter.dto.BulkImportResponse;
+import com.expense.splitter.dto.ExpenseRequest;
+import com.expense.splitter.exception.ResourceNotFoundException;
+import com.expense.splitter.model.Expense;
+import com.expense.splitter.model.Money;
+import com.expense.splitter.model.Person;
+import com.expense.splitter.repository.GroupRepository;
+import com.fasterxml.jackson.databind.RuntimeJsonMappingException;
+import com.mongodb.bulk.BulkWriteError;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.bson.types.ObjectId;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Imports expenses in bulk. Rows are consumed from an iterator in chunks;
+ * each chunk is validated with one person lookup, written with one
+ * unordered bulk insert, and applied to the balance ledger once.
+ * Invalid rows are reported individually and never abort the import.
+ */
+@Service
+public class ExpenseImportService {
+    
+    private final MongoTemplate mongoTemplate;
+    private final GroupRepository groupRepository;
+    private final PersonCache personCache;
+    private final BalanceLedgerService balanceLedgerService;
+    private final FxRateService fxRateService;
+    private final Validator validator;
+    private final int chunkSize;
+    
+    public ExpenseImportService(MongoTemplate mongoTemplate, GroupRepository groupRepository,
+                                PersonCache personCache, BalanceLedgerService balanceLedgerService,
+                                FxRateService fxRateService, Validator validator, @Value("${app.bulk.chunk-size}") int chunkSize) {
+        this.mongoTemplate = mongoTemplate;
+        this.groupRepository = groupRepository;
+        this.personCache = personCache;
+        this.balanceLedgerService = balanceLedgerService;
+        this.fxRateService = fxRateService;
+        this.validator = validator;
+        this.chunkSize = chunkSize;
+    }
+    
+    /**
+     * Import every row of {@code rows} into the given group (null for none).
+     * A row that cannot be bound to an ExpenseRequest is reported and skipped;
+     * malformed input that cannot be read any further ends the import there.
+     */
+    public BulkImportResponse importExpenses(String groupId, Iterator<ExpenseRequest> rows) {
+        if (groupId != null && !groupRepository.existsById(groupId)) {
+            throw new ResourceNotFoundException("Group not found with id: " + groupId);
+        }
+        
+        BulkImportResponse result = new BulkImportResponse();
+        List<ExpenseRequest> chunk = new ArrayList<>(chunkSize);
+        int index = 0;
+        int chunkStart = 0;
+        while (true) {
+            ExpenseRequest request;
+            try {
+                if (!rows.hasNext()) {
+                    break;
+                }
+                request = rows.next();
+            } catch (RuntimeJsonMappingException e) {
+                // Well-formed JSON of the wrong shape; the reader continues after it
+                request = null;
+                result.addError(index, "Invalid row: " + e.getMessage());
+            } catch (RuntimeException e) {
+                result.addError(index, "Unreadable input, import stopped: " + e.getMessage());
+                break;
+            }
+            chunk.add(request);
+            index++;
+            if (chunk.size() == chunkSize) {
+                importChunk(groupId, chunk, chunkStart, result);
+                chunkStart += chunk.size();
+                chunk.clear();
+            }
+        }
+        if (!chunk.isEmpty()) {
+            importChunk(groupId, chunk, chunkStart, result);
+        }
+        result.setReceived(index);
+        return result;
+    }
+    
+    /**
+     * Validate and store one chunk. {@code null} entries are rows that were
+     * already rejected while reading and only keep the indexes aligned.
+     */
+    private void importChunk(String groupId, List<ExpenseRequest> chunk, int chunkStart, BulkImportResponse result) {
+        Set<String> personIds = new HashSet<>();
+        for (ExpenseRequest request : chunk) {
+            if (request != null) {
+                if (request.getPaidBy() != null) {
+                    personIds.add(request.getPaidBy());
+                }
+                if (request.getSplitBetween() != null) {
+                    personIds.addAll(request.getSplitBetween());
+                }
+            }
+        }
+        Map<String, Person> persons = personCache.findAllById(personIds);
+        
+        FxRateTable rates = fxRateService.getRates();
+        LocalDateTime now = LocalDateTime.now();
+        List<Expense> expenses = new ArrayList<>(chunk.size());
+        List<Integer> indexes = new ArrayList<>(chunk.size());
+        for (int i = 0; i < chunk.size(); i++) {
+            ExpenseRequest request = chunk.get(i);
+            if (request == null) {
+                continue;
+            }
+            String error = validate(groupId, request, persons);
+            if (error != null) {
+                result.addError(chunkStart + i, error);
+                continue;
+            }
+            Expense expense = new Expense(new ObjectId().toHexString(), request.getDescription(),
+                    Money.toMinor(request.getAmount()), request.getPaidBy(), request.getSplitBetween(), now, now);
+            expense.setGroupId(groupId);
+            expense.setPersonNames(ExpenseService.namesOf(ExpenseService.personIdsOf(request), persons));
+            try {
+                SplitEngine.apply(expense, request.getSplit());
+                rates.apply(expense, request.getCurrency());
+            } catch (IllegalArgumentException e) {
+                result.addError(chunkStart + i, e.getMessage());
+                continue;
+            }
+            // Bulk inserts do not initialize @Version fields
+            expense.setVersion(0L);
+            expenses.add(expense);
+            indexes.add(chunkStart + i);
+        }
+        if (expenses.isEmpty()) {
+            return;
+        }
+        
+        List<Expense> inserted = expenses;
+        try {
+            mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Expense.class).insert(expenses).execute();
+        } catch (BulkOperationException e) {
+            Set<Integer> failed = new HashSet<>();
+            for (BulkWriteError error : e.getErrors()) {
+                failed.add(error.getIndex());
+                result.addError(indexes.get(error.getIndex()), "Insert failed: " + error.getMessage());
+            }
+            inserted = new ArrayList<>(expenses.size() - failed.size());
+            for (int i = 0; i < expenses.size(); i++) {
+                if (!failed.contains(i)) {
+                    inserted.add(expenses.get(i));
+                }
+            }
+        }
+        
+        balanceLedgerService.applyExpenses(groupId, inserted);
+        result.setImported(result.getImported() + inserted.size());
+    }
+    
+    private String validate(String groupId, ExpenseRequest request, Map<String, Person> persons) {
+        Set<ConstraintViolation<ExpenseRequest>> violations = validator.validate(request);
+        if (!violations.isEmpty()) {
+            return violations.stream()
+                    .map(ConstraintViolation::getMessage)
+                    .sorted()
+                    .collect(Collectors.joining(", "));
+        }
+        
+        Set<String> personIds = new HashSet<>(request.getSplitBetween());
+        personIds.add(request.getPaidBy());
+        List<String> missing = personIds.stream()
+                .filter(id -> !persons.containsKey(id))
+                .sorted()
+                .collect(Collectors.toList());
+        if (!missing.isEmpty()) {
+            return "Persons not found: " + missing;
+        }
+        if (groupId != null) {
+            List<String> outsiders = personIds.stream()
+                    .filter(id -> !persons.get(id).getGroupIds().contains(groupId))
+                    .sorted()
+                    .collect(Collectors.toList());
+            if (!outsiders.isEmpty()) {
+                return "Persons are not members of group " + groupId + ": " + outsiders;
+            }
+        }
+        return null;
+    }
+}
@@ -1,159 +1,808 @@
 package com.expense.splitter.service;
 
+import com.expense.splitter.cache.PersonCache;
+import com.expense.splitter.dto.CursorPage;
+import com.expense.splitter.dto.ExpensePatchRequest;
 import com.expense.splitter.dto.ExpenseRequest;
 import com.expense.splitter.dto.ExpenseResponse;
+import com.expense.splitter.dto.NameBackfillStatus;
+import com.expense.splitter.dto.NameConsistencyReport;
+import com.expense.splitter.dto.ReconciliationReport;
+import com.expense.splitter.dto.SummaryResponse;
 import com.expense.splitter.exception.ResourceNotFoundException;
 import com.expense.splitter.model.Expense;
+import com.expense.splitter.model.Money;
 import com.expense.splitter.model.Person;
+import com.expense.splitter.model.SplitType;
 import com.expense.splitter.repository.ExpenseRepository;
+import com.expense.splitter.repository.GroupRepository;
+import com.expense.splitter.repository.KeysetCursor;
 import com.expense.splitter.repository.PersonRepository;
+import com.expense.splitter.repository.PersonSummary;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Update;
 import org.springframework.stereotype.Service;
+import org.springframework.util.StringUtils;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 public class ExpenseService {
     
     private final ExpenseRepository expenseRepository;
+    private final GroupRepository groupRepository;
     private final PersonRepository personRepository;
+    private final PersonCache personCache;
+    private final BalanceLedgerService balanceLedgerService;
+    private final BalanceSnapshotService balanceSnapshotService;
+    private final NameBackfillService nameBackfillService;
+    private final FxRateService fxRateService;
+    private final Executor lookupExecutor;
     
     // Constructor injection
-    public ExpenseService(ExpenseRepository expenseRepository, PersonRepository personRepository) {
+    public ExpenseService(ExpenseRepository expenseRepository, GroupRepository groupRepository,
+                          PersonRepository personRepository, PersonCache personCache,
+                          BalanceLedgerService balanceLedgerService,
+                          BalanceSnapshotService balanceSnapshotService,
+                          NameBackfillService nameBackfillService,
+                          FxRateService fxRateService,
+                          @Qualifier("lookupExecutor") Executor lookupExecutor) {
         this.expenseRepository = expenseRepository;
+        this.groupRepository = groupRepository;
         this.personRepository = personRepository;
+        this.personCache = personCache;
+        this.balanceLedgerService = balanceLedgerService;
+        this.balanceSnapshotService = balanceSnapshotService;
+        this.nameBackfillService = nameBackfillService;
+        this.fxRateService = fxRateService;
+        this.lookupExecutor = lookupExecutor;
     }
     
+    // Every operation below has a group-scoped variant. A null groupId means
+    // "not scoped": listings and balances then cover all expenses.
+    
     public ExpenseResponse createExpense(ExpenseRequest request) {
-        Person paidByPerson = personRepository.findById(request.getPaidBy())
-                .orElseThrow(() -> new ResourceNotFoundException("Person not found with id: " + request.getPaidBy()));
-        
-        for (String personId : request.getSplitBetween()) {
-            if (!personRepository.existsById(personId)) {
-                throw new ResourceNotFoundException("Person not found with id: " + personId);
-            }
-        }
+        return createExpense(null, request);
+    }
+    
+    public ExpenseResponse createExpense(String groupId, ExpenseRequest request) {
+        Set<String> personIds = personIdsOf(request);
+        AtomicReference<Map<String, Person>> persons = new AtomicReference<>();
+        fanOut(groupId != null ? () -> requireGroupExists(groupId) : null,
+                () -> persons.set(personCache.findAllById(personIds)));
+        requirePersonsExist(groupId, personIds, persons.get());
         
         Expense expense = new Expense();
+        expense.setGroupId(groupId);
         expense.setDescription(request.getDescription());
-        expense.setAmount(request.getAmount());
+        expense.setAmountMinor(Money.toMinor(request.getAmount()));
         expense.setPaidBy(request.getPaidBy());
         expense.setSplitBetween(request.getSplitBetween());
+        SplitEngine.apply(expense, request.getSplit());
+        fxRateService.getRates().apply(expense, request.getCurrency());
+        expense.setPersonNames(namesOf(personIds, persons.get()));
         expense.setCreatedAt(LocalDateTime.now());
         expense.setUpdatedAt(LocalDateTime.now());
         
         Expense saved = expenseRepository.save(expense);
+        balanceLedgerService.applyExpense(saved);
         return mapToResponse(saved);
     }
     
     public List<ExpenseResponse> getAllExpenses() {
-        return expenseRepository.findAll().stream()
-                .map(this::mapToResponse)
-                .collect(Collectors.toList());
+        return mapToResponses(expenseRepository.findAll());
+    }
+    
+    public List<ExpenseResponse> getAllExpenses(String groupId) {
+        requireGroupExists(groupId);
+        return mapToResponses(expenseRepository.findByGroupId(groupId));
+    }
+    
+    public CursorPage<ExpenseResponse> getExpensesPage(String cursor, int size) {
+        return getExpensesPage(null, cursor, size);
+    }
+    
+    /**
+     * Keyset-paginated listing in (createdAt, id) order.
+     * Fetches one extra row to decide whether a next cursor is needed.
+     */
+    public CursorPage<ExpenseResponse> getExpensesPage(String groupId, String cursor, int size) {
+        requireGroupExists(groupId);
+        KeysetCursor after = StringUtils.hasText(cursor) ? KeysetCursor.decode(cursor) : null;
+        return toPage(expenseRepository.findPage(groupId, after, size + 1), size);
+    }
+    
+    /**
+     * Keyset-paginated expenses of one person in (createdAt, id) order: the
+     * ones they paid ({@code role} "payer") or the ones they share in
+     * ("participant", the default). Each page is one index range scan.
+     */
+    public CursorPage<ExpenseResponse> getExpensesOfPerson(String personId, String role, String cursor, int size) {
+        if (personCache.findById(personId).isEmpty()) {
+            throw new ResourceNotFoundException("Person not found with id: " + personId);
+        }
+        KeysetCursor after = StringUtils.hasText(cursor) ? KeysetCursor.decode(cursor) : null;
+        String by = StringUtils.hasText(role) ? role.trim().toLowerCase() : "participant";
+        switch (by) {
+            case "payer":
+                return toPage(expenseRepository.findByPaidBy(personId, after, size + 1), size);
+            case "participant":
+                return toPage(expenseRepository.findBySplitBetweenContaining(personId, after, size + 1), size);
+            default:
+                throw new IllegalArgumentException("Unsupported role: " + role + " (use payer or participant)");
+        }
+    }
+    
+    /**
+     * One page out of {@code size + 1} fetched rows; the extra row only
+     * decides whether a next cursor is needed.
+     */
+    private CursorPage<ExpenseResponse> toPage(List<Expense> expenses, int size) {
+        String nextCursor = null;
+        if (expenses.size() > size) {
+            expenses = expenses.subList(0, size);
+            Expense last = expenses.get(size - 1);
+            nextCursor = new KeysetCursor(last.getCreatedAt(), last.getId()).encode();
+        }
+        return new CursorPage<>(mapToResponses(expenses), nextCursor);
+    }
+    
+    public void streamExpenses(int batchSize, Consumer<List<ExpenseResponse>> sink) {
+        streamExpenses(null, batchSize, sink);
+    }
+    
+    /**
+     * Stream expenses off a Mongo cursor, handing mapped responses to
+     * the sink one batch at a time so memory stays bounded by the batch size.
+     */
+    public void streamExpenses(String groupId, int batchSize, Consumer<List<ExpenseResponse>> sink) {
+        requireGroupExists(groupId);
+        try (Stream<Expense> stream = expenseRepository.streamAll(groupId, batchSize)) {
+            Iterator<Expense> iterator = stream.iterator();
+            List<Expense> batch = new ArrayList<>(batchSize);
+            while (iterator.hasNext()) {
+                batch.add(iterator.next());
+                if (batch.size() == batchSize) {
+                    sink.accept(mapToResponses(batch));
+                    batch.clear();
+                }
+            }
+            if (!batch.isEmpty()) {
+                sink.accept(mapToResponses(batch));
+            }
+        }
     }
     
     public ExpenseResponse getExpenseById(String id) {
-        Expense expense = expenseRepository.findById(id)
-                .orElseThrow(() -> new ResourceNotFoundException("Expense not found with id: " + id));
-        return mapToResponse(expense);
+        return getExpenseById(null, id);
+    }
+    
+    public ExpenseResponse getExpenseById(String groupId, String id) {
+        return mapToResponse(findExpense(groupId, id));
     }
     
     public ExpenseResponse updateExpense(String id, ExpenseRequest request) {
-        Expense expense = expenseRepository.findById(id)
-                .orElseThrow(() -> new ResourceNotFoundException("Expense not found with id: " + id));
+        return updateExpense(null, id, request);
+    }
+    
+    /**
+     * Replace an expense. The stored document is only overwritten if it is
+     * still at the version that was read (and at {@code request.version},
+     * when the client sends one); otherwise the update fails with a conflict.
+     * The ledger is adjusted by the delta from the exact state that was replaced,
+     * with the expense booked at the current FX rate of its (new) currency.
+     */
+    public ExpenseResponse updateExpense(String groupId, String id, ExpenseRequest request) {
+        long amountMinor = Money.toMinor(request.getAmount());
+        SplitType splitType = SplitEngine.typeOf(request.getSplit());
+        long[] shares = SplitEngine.shares(amountMinor, request.getSplitBetween(), request.getSplit());
+        FxRateTable rates = fxRateService.getRates();
+        String currency = rates.currencyOf(request.getCurrency());
+        Double fxRate = rates.fxRateOf(currency);
+        Set<String> personIds = personIdsOf(request);
+        AtomicReference<Expense> existing = new AtomicReference<>();
+        AtomicReference<Map<String, Person>> persons = new AtomicReference<>();
+        fanOut(() -> existing.set(findExpense(groupId, id)),
+                () -> persons.set(personCache.findAllById(personIds)));
+        Expense expense = existing.get();
+        
+        // Participants are validated against the group the expense belongs to
+        requirePersonsExist(expense.getGroupId(), personIds, persons.get());
+        requireVersion(id, request.getVersion(), expense.getVersion());
+        Map<String, String> names = namesOf(personIds, persons.get());
         
-        if (!personRepository.existsById(request.getPaidBy())) {
-            throw new ResourceNotFoundException("Person not found with id: " + request.getPaidBy());
+        Expense before = expenseRepository.findAndUpdate(
+                Criteria.where("_id").is(id).and("version").is(expense.getVersion()),
+                replacementOf(request, splitType, shares, names, currency, fxRate));
+        if (before == null) {
+            throw conflict(id);
+        }
+        Expense updated = withChanges(before, request.getDescription(), amountMinor,
+                request.getPaidBy(), request.getSplitBetween());
+        updated.setSplitType(splitType);
+        updated.setShares(shares);
+        updated.setPersonNames(names);
+        updated.setCurrency(currency);
+        updated.setFxRate(fxRate);
+        balanceLedgerService.replaceExpense(before, updated);
+        return mapToResponse(updated);
+    }
+    
+    public ExpenseResponse patchExpense(String id, ExpensePatchRequest patch) {
+        return patchExpense(null, id, patch);
+    }
+    
+    /**
+     * Change only the fields set in the patch with a single $set, without
+     * reading the expense first. Every condition (group, version, membership
+     * of new participants in the expense's group) is part of the update's
+     * filter; the expense is only read again to explain a failed match.
+     * Stored shares depend on the amount and participants, so changing either
+     * of an expense that is not split equally needs a new split as well.
+     * The ledger is adjusted by the delta from the exact state that was replaced.
+     */
+    public ExpenseResponse patchExpense(String groupId, String id, ExpensePatchRequest patch) {
+        if (patch.isEmpty()) {
+            throw new IllegalArgumentException("Nothing to update");
         }
         
-        for (String personId : request.getSplitBetween()) {
-            if (!personRepository.existsById(personId)) {
-                throw new ResourceNotFoundException("Person not found with id: " + personId);
+        Criteria criteria = Criteria.where("_id").is(id);
+        if (groupId != null) {
+            criteria.and("groupId").is(groupId);
+        }
+        if (patch.getVersion() != null) {
+            criteria.and("version").is(patch.getVersion());
+        }
+        
+        Set<String> personIds = new LinkedHashSet<>();
+        if (patch.getPaidBy() != null) {
+            personIds.add(patch.getPaidBy());
+        }
+        if (patch.getSplitBetween() != null) {
+            personIds.addAll(patch.getSplitBetween());
+        }
+        Map<String, Person> persons = personIds.isEmpty() ? Map.of() : personCache.findAllById(personIds);
+        if (!personIds.isEmpty()) {
+            requirePersonsExist(groupId, personIds, persons);
+            if (groupId == null) {
+                // The expense's group is unknown here: only match a group every new participant belongs to
+                List<String> groupIds = new ArrayList<>(sharedGroupIds(persons.values()));
+                groupIds.add(null);
+                criteria.and("groupId").in(groupIds);
             }
         }
         
-        expense.setDescription(request.getDescription());
-        expense.setAmount(request.getAmount());
-        expense.setPaidBy(request.getPaidBy());
-        expense.setSplitBetween(request.getSplitBetween());
-        expense.setUpdatedAt(LocalDateTime.now());
+        Update update = new Update().set("updatedAt", LocalDateTime.now());
+        Long amountMinor = patch.getAmount() != null ? Money.toMinor(patch.getAmount()) : null;
+        if (patch.getDescription() != null) {
+            update.set("description", patch.getDescription());
+        }
+        if (amountMinor != null) {
+            update.set("amountMinor", amountMinor);
+        }
+        if (patch.getPaidBy() != null) {
+            update.set("paidBy", patch.getPaidBy());
+        }
+        if (patch.getSplitBetween() != null) {
+            update.set("splitBetween", patch.getSplitBetween());
+        }
+        Map<String, String> names = namesOf(personIds, persons);
+        names.forEach((personId, name) -> update.set("personNames." + personId, name));
+        SplitType splitType = null;
+        long[] shares = null;
+        boolean resplits = amountMinor != null || patch.getSplitBetween() != null;
+        if (patch.getSplit() != null) {
+            if (amountMinor == null || patch.getSplitBetween() == null) {
+                throw new IllegalArgumentException("A new split needs the amount and splitBetween it applies to");
+            }
+            splitType = SplitEngine.typeOf(patch.getSplit());
+            shares = SplitEngine.shares(amountMinor, patch.getSplitBetween(), patch.getSplit());
+            update.set("splitType", splitType).set("shares", shares);
+        } else if (resplits) {
+            criteria.and("shares").is(null);
+        }
         
-        Expense updated = expenseRepository.save(expense);
+        Expense before = expenseRepository.findAndUpdate(criteria, update);
+        if (before == null) {
+            Expense current = findExpense(groupId, id);
+            requireVersion(id, patch.getVersion(), current.getVersion());
+            requirePersonsExist(current.getGroupId(), personIds, persons);
+            if (patch.getSplit() == null && resplits && current.getShares() != null) {
+                throw new IllegalArgumentException("Expense " + id + " is not split equally;"
+                        + " send a new split with the amount and splitBetween");
+            }
+            throw conflict(id);
+        }
+        Expense updated = withChanges(before, patch.getDescription(), amountMinor,
+                patch.getPaidBy(), patch.getSplitBetween());
+        if (splitType != null) {
+            updated.setSplitType(splitType);
+            updated.setShares(shares);
+        }
+        if (!names.isEmpty()) {
+            Map<String, String> merged = updated.getPersonNames() != null
+                    ? new HashMap<>(updated.getPersonNames())
+                    : new HashMap<>();
+            merged.putAll(names);
+            updated.setPersonNames(merged);
+        }
+        if (patch.changesBalances()) {
+            balanceLedgerService.replaceExpense(before, updated);
+        }
         return mapToResponse(updated);
     }
     
     public void deleteExpense(String id) {
-        if (!expenseRepository.existsById(id)) {
-            throw new ResourceNotFoundException("Expense not found with id: " + id);
+        deleteExpense(null, id);
+    }
+    
+    /**
+     * Delete an expense and revert exactly the state that was deleted, so an
+     * overlapping delete (e.g. a retry) or update cannot be reverted twice or lost.
+     */
+    public void deleteExpense(String groupId, String id) {
+        Criteria criteria = Criteria.where("_id").is(id);
+        if (groupId != null) {
+            criteria = criteria.and("groupId").is(groupId);
+        }
+        Expense deleted = expenseRepository.findAndDelete(criteria);
+        if (deleted == null) {
+            throw new ResourceNotFoundException(groupId == null
+                    ? "Expense not found with id: " + id
+                    : "Expense not found with id: " + id + " in group: " + groupId);
         }
-        expenseRepository.deleteById(id);
+        balanceLedgerService.revertExpense(deleted);
     }
     
+    /**
+     * Net balance per person, read from the incrementally maintained ledger.
+     */
     public Map<String, Double> calculateBalances() {
-        Map<String, Double> balances = new HashMap<>();
-        List<Expense> expenses = expenseRepository.findAll();
+        return toMajor(balanceLedgerService.getBalances());
+    }
+    
+    /**
+     * Net balance per member of one group; only touches that group's ledger.
+     */
+    public Map<String, Double> calculateBalances(String groupId) {
+        requireGroupExists(groupId);
+        return toMajor(balanceLedgerService.getBalances(groupId));
+    }
+    
+    /**
+     * Balances at a point in time or over a window, from the nearest snapshot:
+     * with {@code asOf}, every expense created at or before it; with
+     * {@code from} and {@code to}, the net change from expenses created in
+     * [from, to); with neither, the current balances.
+     */
+    public Map<String, Double> calculateBalances(String groupId, LocalDateTime asOf,
+                                                 LocalDateTime from, LocalDateTime to) {
+        if (asOf == null && from == null && to == null) {
+            return groupId != null ? calculateBalances(groupId) : calculateBalances();
+        }
+        requireGroupExists(groupId);
+        if (asOf != null && from == null && to == null) {
+            return toMajor(balanceSnapshotService.balancesAsOf(groupId, asOf));
+        }
+        if (asOf == null && from != null && to != null) {
+            return toMajor(balanceSnapshotService.balanceChanges(groupId, from, to));
+        }
+        throw new IllegalArgumentException("Use either 'asOf' or both 'from' and 'to'");
+    }
+    
+    /**
+     * Rebuild the balance ledger from the expense log and report drift.
+     */
+    public ReconciliationReport reconcileBalances() {
+        return balanceLedgerService.reconcile();
+    }
+    
+    /**
+     * Progress of copying renamed persons' names onto their expenses.
+     */
+    public NameBackfillStatus getNameBackfillStatus() {
+        return nameBackfillService.getStatus();
+    }
+    
+    /**
+     * Compare the names stored on expenses with the current person names,
+     * optionally rewriting the stale ones.
+     */
+    public NameConsistencyReport checkPersonNames(boolean repair) {
+        return nameBackfillService.checkNames(repair);
+    }
+    
+    public List<SummaryResponse> getSummary() {
+        return getSummary(null, null, null);
+    }
+    
+    public List<SummaryResponse> getSummary(String groupId) {
+        return getSummary(groupId, null, null);
+    }
+    
+    /**
+     * Balance per person with name and email. Persons are fetched with one
+     * projection query (id, name, email), concurrently with the ledger read,
+     * and joined with the balances in a single pass.
+     *
+     * @param personIds restrict the summary to these persons; null for everyone
+     * @param sort      null for query order, or "balance", "balance,asc", "balance,desc"
+     */
+    public List<SummaryResponse> getSummary(String groupId, Collection<String> personIds, String sort) {
+        Comparator<SummaryResponse> order = summaryOrder(sort);
         
-        personRepository.findAll().forEach(person -> balances.put(person.getId(), 0.0));
+        // Global summaries read only ledger entries (absent = 0); group balances
+        // hold an entry for every member
+        AtomicReference<Map<String, Long>> balances = new AtomicReference<>();
+        AtomicReference<List<PersonSummary>> persons = new AtomicReference<>();
+        fanOut(groupId != null ? () -> requireGroupExists(groupId) : null,
+                () -> balances.set(groupId == null
+                        ? balanceLedgerService.getLedgerBalances()
+                        : balanceLedgerService.getBalances(groupId)),
+                () -> persons.set(personIds != null
+                        ? personRepository.findProjectedByIdIn(personIds)
+                        : groupId == null
+                                ? personRepository.findProjectedBy()
+                                : personRepository.findProjectedByGroupIdsContaining(groupId)));
         
-        for (Expense expense : expenses) {
-            String paidBy = expense.getPaidBy();
-            List<String> splitBetween = expense.getSplitBetween();
-            double perPersonAmount = expense.getAmount() / splitBetween.size();
-            
-            balances.put(paidBy, balances.getOrDefault(paidBy, 0.0) + expense.getAmount());
-            
-            for (String personId : splitBetween) {
-                balances.put(personId, balances.getOrDefault(personId, 0.0) - perPersonAmount);
+        List<SummaryResponse> summary = new ArrayList<>(persons.get().size());
+        for (PersonSummary person : persons.get()) {
+            Long balance = balances.get().get(person.getId());
+            if (balance != null) {
+                summary.add(toSummary(person, balance));
+            } else if (groupId == null) {
+                summary.add(toSummary(person, 0L));
             }
         }
         
+        if (order != null) {
+            summary.sort(order);
+        }
+        return summary;
+    }
+    
+    /**
+     * Stream every person (or group member) with their balance, one batch at
+     * a time: persons come off a Mongo cursor and each batch is joined with
+     * its ledger entries by one $in query, so memory stays bounded by the batch size.
+     */
+    public void streamBalances(String groupId, int batchSize, Consumer<List<SummaryResponse>> sink) {
+        requireGroupExists(groupId);
+        try (Stream<Person> stream = personRepository.streamAll(groupId, batchSize)) {
+            Iterator<Person> iterator = stream.iterator();
+            List<Person> batch = new ArrayList<>(batchSize);
+            while (iterator.hasNext()) {
+                batch.add(iterator.next());
+                if (batch.size() == batchSize) {
+                    sink.accept(toSummaries(groupId, batch));
+                    batch.clear();
+                }
+            }
+            if (!batch.isEmpty()) {
+                sink.accept(toSummaries(groupId, batch));
+            }
+        }
+    }
+    
+    private List<SummaryResponse> toSummaries(String groupId, List<Person> persons) {
+        List<String> personIds = persons.stream().map(Person::getId).collect(Collectors.toList());
+        Map<String, Long> ledger = balanceLedgerService.getLedgerBalances(groupId, personIds);
+        List<SummaryResponse> summaries = new ArrayList<>(persons.size());
+        for (Person person : persons) {
+            summaries.add(new SummaryResponse(person.getId(), person.getName(), person.getEmail(),
+                    Money.toMajor(ledger.getOrDefault(person.getId(), 0L))));
+        }
+        return summaries;
+    }
+    
+    private static SummaryResponse toSummary(PersonSummary person, long balance) {
+        return new SummaryResponse(person.getId(), person.getName(), person.getEmail(), Money.toMajor(balance));
+    }
+    
+    private static Comparator<SummaryResponse> summaryOrder(String sort) {
+        if (!StringUtils.hasText(sort)) {
+            return null;
+        }
+        Comparator<SummaryResponse> byBalance = Comparator.comparing(SummaryResponse::getBalance);
+        switch (sort.trim().toLowerCase()) {
+            case "balance":
+            case "balance,asc":
+                return byBalance;
+            case "balance,desc":
+                return byBalance.reversed();
+            default:
+                throw new IllegalArgumentException("Unsupported sort: " + sort + " (use balance,asc or balance,desc)");
+        }
+    }
+    
+    private static Map<String, Double> toMajor(Map<String, Long> minorBalances) {
+        Map<String, Double> balances = new HashMap<>(minorBalances.size() * 2);
+        minorBalances.forEach((personId, amount) -> balances.put(personId, Money.toMajor(amount)));
         return balances;
     }
     
-    public Map<String, Map<String, Object>> getSummary() {
-        Map<String, Double> balances = calculateBalances();
-        Map<String, Map<String, Object>> summary = new HashMap<>();
+    private Expense findExpense(String groupId, String id) {
+        if (groupId == null) {
+            return expenseRepository.findById(id)
+                    .orElseThrow(() -> new ResourceNotFoundException("Expense not found with id: " + id));
+        }
+        return expenseRepository.findByIdAndGroupId(id, groupId)
+                .orElseThrow(() -> new ResourceNotFoundException(
+                        "Expense not found with id: " + id + " in group: " + groupId));
+    }
+    
+    private void requireGroupExists(String groupId) {
+        if (groupId != null && !groupRepository.existsById(groupId)) {
+            throw new ResourceNotFoundException("Group not found with id: " + groupId);
+        }
+    }
+    
+    /**
+     * $set of every field a full update (PUT) replaces, with the request's
+     * split already resolved (see {@link SplitEngine}), the persons' names and
+     * the resolved currency and its rate (see {@link FxRateTable}).
+     */
+    static Update replacementOf(ExpenseRequest request, SplitType splitType, long[] shares,
+                                Map<String, String> personNames, String currency, Double fxRate) {
+        return new Update()
+                .set("description", request.getDescription())
+                .set("amountMinor", Money.toMinor(request.getAmount()))
+                .set("paidBy", request.getPaidBy())
+                .set("splitBetween", request.getSplitBetween())
+                .set("splitType", splitType)
+                .set("shares", shares)
+                .set("personNames", personNames)
+                .set("currency", currency)
+                .set("fxRate", fxRate)
+                .set("updatedAt", LocalDateTime.now());
+    }
+    
+    /**
+     * The state an update leaves behind: {@code before} with the given
+     * fields replaced (null keeps the old value) and the next version.
+     * The split is kept; callers that change it set it on the result.
+     */
+    static Expense withChanges(Expense before, String description, Long amountMinor,
+                               String paidBy, List<String> splitBetween) {
+        Expense after = new Expense(before.getId(),
+                description != null ? description : before.getDescription(),
+                amountMinor != null ? amountMinor : before.getAmountMinor(),
+                paidBy != null ? paidBy : before.getPaidBy(),
+                splitBetween != null ? splitBetween : before.getSplitBetween(),
+                before.getCreatedAt(), LocalDateTime.now());
+        after.setGroupId(before.getGroupId());
+        after.setSplitType(before.getSplitType());
+        after.setShares(before.getShares());
+        after.setPersonNames(before.getPersonNames());
+        after.setCurrency(before.getCurrency());
+        after.setFxRate(before.getFxRate());
+        after.setVersion(before.getVersion() != null ? before.getVersion() + 1 : 1L);
+        return after;
+    }
+    
+    static void requireVersion(String id, Long expected, Long actual) {
+        if (expected != null && !expected.equals(actual)) {
+            throw conflict(id);
+        }
+    }
+    
+    static OptimisticLockingFailureException conflict(String id) {
+        return new OptimisticLockingFailureException(
+                "Expense " + id + " was changed by another request; reload it and retry");
+    }
+    
+    private static Set<String> sharedGroupIds(Collection<Person> persons) {
+        Set<String> shared = null;
+        for (Person person : persons) {
+            if (shared == null) {
+                shared = new HashSet<>(person.getGroupIds());
+            } else {
+                shared.retainAll(person.getGroupIds());
+            }
+        }
+        return shared != null ? shared : Set.of();
+    }
+    
+    /**
+     * Run independent lookups concurrently on the lookup executor (see
+     * ThreadingConfig; not the application task pool) and wait
+     * for all of them, so no lookup outlives the calling method. Failures are
+     * rethrown in argument order. Null lookups are skipped; a single remaining
+     * lookup runs on the calling thread.
+     */
+    private void fanOut(Runnable... lookups) {
+        List<Runnable> tasks = new ArrayList<>(lookups.length);
+        for (Runnable lookup : lookups) {
+            if (lookup != null) {
+                tasks.add(lookup);
+            }
+        }
+        if (tasks.size() == 1) {
+            tasks.get(0).run();
+            return;
+        }
         
-        for (Map.Entry<String, Double> entry : balances.entrySet()) {
-            Person person = personRepository.findById(entry.getKey()).orElse(null);
+        List<CompletableFuture<Void>> futures = new ArrayList<>(tasks.size());
+        for (Runnable task : tasks) {
+            futures.add(CompletableFuture.runAsync(task, lookupExecutor));
+        }
+        try {
+            CompletableFuture.allOf(futures.toArray(new CompletableFuture<?>[0])).join();
+        } catch (CompletionException ignored) {
+            // Rethrown below from the first failed lookup
+        }
+        for (CompletableFuture<Void> future : futures) {
+            try {
+                future.join();
+            } catch (CompletionException e) {
+                if (e.getCause() instanceof RuntimeException cause) {
+                    throw cause;
+                }
+                throw e;
+            }
+        }
+    }
+    
+    /**
+     * Names of the given persons (person ID -> name), as stored on expenses.
+     */
+    static Map<String, String> namesOf(Set<String> personIds, Map<String, Person> persons) {
+        Map<String, String> names = new HashMap<>(personIds.size() * 2);
+        for (String personId : personIds) {
+            Person person = persons.get(personId);
             if (person != null) {
-                Map<String, Object> personData = new HashMap<>();
-                personData.put("name", person.getName());
-                personData.put("email", person.getEmail());
-                personData.put("balance", Math.round(entry.getValue() * 100.0) / 100.0);
-                summary.put(entry.getKey(), personData);
+                names.put(personId, person.getName());
             }
         }
+        return names;
+    }
+    
+    /**
+     * Person IDs of the given expenses without a stored name, i.e. the only
+     * ones a response still has to look up (expenses stored before names were).
+     */
+    static Set<String> unnamedPersonIds(Collection<Expense> expenses) {
+        Set<String> personIds = new HashSet<>();
+        for (Expense expense : expenses) {
+            Map<String, String> stored = expense.getPersonNames() != null ? expense.getPersonNames() : Map.of();
+            if (!stored.containsKey(expense.getPaidBy())) {
+                personIds.add(expense.getPaidBy());
+            }
+            for (String personId : expense.getSplitBetween()) {
+                if (!stored.containsKey(personId)) {
+                    personIds.add(personId);
+                }
+            }
+        }
+        return personIds;
+    }
+    
+    static Set<String> personIdsOf(ExpenseRequest request) {
+        Set<String> personIds = new LinkedHashSet<>();
+        personIds.add(request.getPaidBy());
+        personIds.addAll(request.getSplitBetween());
+        return personIds;
+    }
+    
+    /**
+     * Check the payer and every participant, resolved in one batch: repeated
+     * IDs are checked once and uncached IDs are loaded with a single $in
+     * query, which also warms the cache for building the response afterwards.
+     * For group expenses every person must also be a member of the group.
+     */
+    static void requirePersonsExist(String groupId, Set<String> personIds, Map<String, Person> found) {
+        if (found.size() != personIds.size()) {
+            List<String> missing = personIds.stream()
+                    .filter(id -> !found.containsKey(id))
+                    .collect(Collectors.toList());
+            throw ResourceNotFoundException.persons(missing);
+        }
         
-        return summary;
+        if (groupId != null) {
+            List<String> outsiders = found.values().stream()
+                    .filter(person -> !person.getGroupIds().contains(groupId))
+                    .map(Person::getId)
+                    .collect(Collectors.toList());
+            if (!outsiders.isEmpty()) {
+                throw new IllegalArgumentException("Persons are not members of group " + groupId + ": " + outsiders);
+            }
+        }
     }
     
     private ExpenseResponse mapToResponse(Expense expense) {
-        Person paidByPerson = personRepository.findById(expense.getPaidBy()).orElse(null);
+        return mapToResponse(expense, resolvePersonNames(List.of(expense)));
+    }
+    
+    /**
+     * Build responses for a batch of expenses with a single person lookup.
+     */
+    private List<ExpenseResponse> mapToResponses(List<Expense> expenses) {
+        Map<String, String> names = resolvePersonNames(expenses);
+        List<ExpenseResponse> responses = new ArrayList<>(expenses.size());
+        for (Expense expense : expenses) {
+            responses.add(mapToResponse(expense, names));
+        }
+        return responses;
+    }
+    
+    /**
+     * Resolve the person IDs the given expenses have no stored name for
+     * through the person cache; all misses are loaded with one findAllById
+     * ($in) query. Expenses with stored names need no lookup at all.
+     */
+    private Map<String, String> resolvePersonNames(Collection<Expense> expenses) {
+        Set<String> personIds = unnamedPersonIds(expenses);
+        if (personIds.isEmpty()) {
+            return Map.of();
+        }
         
+        Map<String, String> names = new HashMap<>(personIds.size() * 2);
+        personCache.findAllById(personIds)
+                .forEach((id, person) -> names.put(id, person.getName()));
+        return names;
+    }
+    
+    /**
+     * Build a response from the expense's stored names, falling back to
+     * {@code names} for persons it has none for.
+     */
+    static ExpenseResponse mapToResponse(Expense expense, Map<String, String> names) {
+        Map<String, String> stored = expense.getPersonNames() != null ? expense.getPersonNames() : Map.of();
         List<String> splitBetweenNames = expense.getSplitBetween().stream()
-                .map(id -> personRepository.findById(id)
-                        .map(Person::getName)
-                        .orElse("Unknown"))
+                .map(id -> nameOf(id, stored, names))
                 .collect(Collectors.toList());
         
-        double perPersonAmount = expense.getAmount() / expense.getSplitBetween().size();
+        // Equal splits: base share; remainder cents go to the first participants (see Money.shareOf)
+        Double perPersonAmount = expense.getShares() == null
+                ? Money.toMajor(expense.getAmountMinor() / expense.getSplitBetween().size())
+                : null;
+        List<Double> shares = new ArrayList<>(expense.getSplitBetween().size());
+        for (long share : SplitEngine.sharesOf(expense)) {
+            shares.add(Money.toMajor(share));
+        }
         
-        return new ExpenseResponse(
+        ExpenseResponse response = new ExpenseResponse(
                 expense.getId(),
                 expense.getDescription(),
-                expense.getAmount(),
+                Money.toMajor(expense.getAmountMinor()),
                 expense.getPaidBy(),
-                paidByPerson != null ? paidByPerson.getName() : "Unknown",
+                nameOf(expense.getPaidBy(), stored, names),
                 expense.getSplitBetween(),
                 splitBetweenNames,
-                Math.round(perPersonAmount * 100.0) / 100.0,
+                perPersonAmount,
                 expense.getCreatedAt(),
                 expense.getUpdatedAt()
         );
+        response.setVersion(expense.getVersion());
+        SplitType splitType = expense.getSplitType() != null ? expense.getSplitType() : SplitType.EQUAL;
+        response.setSplitType(splitType.name().toLowerCase());
+        response.setShares(shares);
+        response.setCurrency(expense.getCurrency());
+        response.setFxRate(expense.getFxRate());
+        return response;
+    }
+    
+    private static String nameOf(String personId, Map<String, String> stored, Map<String, String> names) {
+        String name = stored.get(personId);
+        return name != null ? name : names.getOrDefault(personId, "Unknown");
     }
 }
-
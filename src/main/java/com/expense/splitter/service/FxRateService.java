@@ -0,0 +1,96 @@
+package com.expense.splitter.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.DefaultResourceLoader;
+import org.springframework.core.io.Resource;
+import org.springframework.stereotype.Service;
+import org.springframework.util.StringUtils;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Holds the current FX rate table. There is no live rate service: the table
+ * is read from {@code app.fx.rates-file} at startup and replaced through the
+ * admin endpoint or by reloading the file. Every change swaps in a new
+ * immutable {@link FxRateTable}, so readers take one snapshot and never see
+ * a half-updated table. The table is held per node; load the same rates on
+ * every node.
+ */
+@Service
+public class FxRateService {
+
+    private static final Logger log = LoggerFactory.getLogger(FxRateService.class);
+
+    private final String baseCurrency;
+    private final String ratesFile;
+    private final AtomicReference<FxRateTable> table = new AtomicReference<>();
+
+    public FxRateService(@Value("${app.fx.base-currency}") String baseCurrency,
+                         @Value("${app.fx.rates-file:}") String ratesFile) {
+        this.baseCurrency = baseCurrency;
+        this.ratesFile = ratesFile;
+        table.set(FxRateTable.of(baseCurrency, readRates(), LocalDateTime.now()));
+    }
+
+    /**
+     * The current snapshot; take it once per operation.
+     */
+    public FxRateTable getRates() {
+        return table.get();
+    }
+
+    /**
+     * Replace the whole table (currency -> base-currency units per unit).
+     */
+    public FxRateTable replaceRates(Map<String, Double> rates) {
+        FxRateTable replacement = FxRateTable.of(baseCurrency, rates, LocalDateTime.now());
+        table.set(replacement);
+        log.info("FX rates replaced: {} currencies", rates.size());
+        return replacement;
+    }
+
+    /**
+     * Re-read the rates file and swap in its table.
+     */
+    public FxRateTable reloadRates() {
+        if (!StringUtils.hasText(ratesFile)) {
+            throw new IllegalArgumentException("No rates file configured (app.fx.rates-file)");
+        }
+        return replaceRates(readRates());
+    }
+
+    /**
+     * Rates from the configured file, one {@code CODE=rate} line per currency.
+     */
+    private Map<String, Double> readRates() {
+        Map<String, Double> rates = new HashMap<>();
+        if (!StringUtils.hasText(ratesFile)) {
+            return rates;
+        }
+        Resource resource = new DefaultResourceLoader().getResource(ratesFile);
+        Properties properties = new Properties();
+        try (InputStream in = resource.getInputStream()) {
+            properties.load(in);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot read FX rates from " + ratesFile, e);
+        }
+        for (String currency : properties.stringPropertyNames()) {
+            String rate = properties.getProperty(currency).trim();
+            try {
+                rates.put(currency, Double.valueOf(rate));
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("Invalid FX rate for " + currency + ": " + rate);
+            }
+        }
+        return rates;
+    }
+}
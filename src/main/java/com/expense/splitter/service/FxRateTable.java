@@ -0,0 +1,168 @@
+package com.expense.splitter.service;
+
+import com.expense.splitter.model.Expense;
+import com.expense.splitter.model.Money;
+import org.springframework.util.StringUtils;
+
+import java.time.LocalDateTime;
+import java.util.Currency;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Immutable snapshot of the FX rates into the ledger base currency.
+ * Currencies are mapped to dense indexes once, so a computation can look a
+ * currency up a single time and then convert with the rate at that index.
+ * The base currency is always present, at index 0 with rate 1.
+ * Amounts in every currency are kept at {@link Money#SCALE} decimals, so
+ * currencies with more minor digits (KWD, BHD, ...) are not accepted.
+ */
+public final class FxRateTable {
+
+    private final String baseCurrency;
+    private final Map<String, Integer> indexes;
+    private final String[] currencies;
+    private final double[] rates;
+    private final LocalDateTime asOf;
+
+    private FxRateTable(String baseCurrency, String[] currencies, double[] rates, LocalDateTime asOf) {
+        this.baseCurrency = baseCurrency;
+        this.currencies = currencies;
+        this.rates = rates;
+        this.asOf = asOf;
+        this.indexes = new HashMap<>(currencies.length * 2);
+        for (int i = 0; i < currencies.length; i++) {
+            indexes.put(currencies[i], i);
+        }
+    }
+
+    /**
+     * Validate and index a rate table. {@code rates} maps currency codes to
+     * base-currency units per unit; the base currency may be listed with rate 1.
+     */
+    public static FxRateTable of(String baseCurrency, Map<String, Double> rates, LocalDateTime asOf) {
+        String base = requireScale(normalize(baseCurrency));
+        Map<String, Double> sorted = new TreeMap<>();
+        rates.forEach((currency, rate) -> {
+            String code = requireScale(normalize(currency));
+            if (rate == null || !Double.isFinite(rate) || rate <= 0) {
+                throw new IllegalArgumentException("Invalid FX rate for " + code + ": " + rate);
+            }
+            if (code.equals(base) && rate != 1.0) {
+                throw new IllegalArgumentException("The base currency " + base + " must have rate 1");
+            }
+            if (sorted.put(code, rate) != null) {
+                throw new IllegalArgumentException("Duplicate FX rate for " + code);
+            }
+        });
+        sorted.remove(base);
+
+        String[] currencies = new String[sorted.size() + 1];
+        double[] values = new double[sorted.size() + 1];
+        currencies[0] = base;
+        values[0] = 1.0;
+        int i = 1;
+        for (Map.Entry<String, Double> entry : sorted.entrySet()) {
+            currencies[i] = entry.getKey();
+            values[i++] = entry.getValue();
+        }
+        return new FxRateTable(base, currencies, values, asOf);
+    }
+
+    public String getBaseCurrency() {
+        return baseCurrency;
+    }
+
+    public LocalDateTime getAsOf() {
+        return asOf;
+    }
+
+    /**
+     * Index of a currency in this table (null is the base currency), or -1
+     * when the table has no rate for it.
+     */
+    public int indexOf(String currency) {
+        if (currency == null) {
+            return 0;
+        }
+        Integer index = indexes.get(currency);
+        return index != null ? index : -1;
+    }
+
+    public double rateAt(int index) {
+        return rates[index];
+    }
+
+    /**
+     * Set the currency of an expense (the base currency when none is
+     * requested) and the rate its ledger entries are booked at.
+     */
+    public void apply(Expense expense, String requestedCurrency) {
+        String currency = currencyOf(requestedCurrency);
+        expense.setCurrency(currency);
+        expense.setFxRate(fxRateOf(currency));
+    }
+
+    /**
+     * The currency code for a request: normalized, the base currency when
+     * blank, and rejected when this table has no rate for it.
+     */
+    public String currencyOf(String requestedCurrency) {
+        if (!StringUtils.hasText(requestedCurrency)) {
+            return baseCurrency;
+        }
+        String currency = normalize(requestedCurrency);
+        if (indexOf(currency) < 0) {
+            throw new IllegalArgumentException("Unsupported currency: " + requestedCurrency
+                    + " (use one of " + String.join(", ", currencies) + ")");
+        }
+        return currency;
+    }
+
+    /**
+     * Rate stored on an expense in this currency: null for the base currency.
+     */
+    public Double fxRateOf(String currency) {
+        int index = indexOf(currency);
+        if (index < 0) {
+            throw new IllegalArgumentException("No FX rate for " + currency);
+        }
+        return index == 0 ? null : rates[index];
+    }
+
+    /**
+     * Every rate (currency -> base-currency units per unit), base currency first.
+     */
+    public Map<String, Double> toMap() {
+        Map<String, Double> map = new LinkedHashMap<>(currencies.length * 2);
+        for (int i = 0; i < currencies.length; i++) {
+            map.put(currencies[i], rates[i]);
+        }
+        return map;
+    }
+
+    private static String normalize(String currency) {
+        String code = currency != null ? currency.trim().toUpperCase() : "";
+        if (!code.matches("[A-Z]{3}")) {
+            throw new IllegalArgumentException("Invalid currency code: " + currency + " (use ISO 4217, e.g. EUR)");
+        }
+        return code;
+    }
+
+    private static String requireScale(String code) {
+        int digits;
+        try {
+            digits = Currency.getInstance(code).getDefaultFractionDigits();
+        } catch (IllegalArgumentException e) {
+            // Not a currency the JDK knows; amounts use the default scale
+            return code;
+        }
+        if (digits > Money.SCALE) {
+            throw new IllegalArgumentException("Unsupported currency: " + code + " has " + digits
+                    + " decimal places; amounts are kept at " + Money.SCALE);
+        }
+        return code;
+    }
+}
@@ -0,0 +1,46 @@
+package com.expense.splitter.service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.PriorityQueue;
+
+/**
+ * Heap-based greedy settlement: repeatedly pays the largest creditor from
+ * the largest debtor. Each step settles at least one person in full, so it
+ * produces at most n - 1 transfers in O(n log n), which is near-minimal in
+ * practice and scales to very large groups.
+ */
+public class GreedySettlementStrategy implements SettlementStrategy {
+
+    @Override
+    public List<Transfer> settle(String[] personIds, long[] balances) {
+        PriorityQueue<Integer> creditors = new PriorityQueue<>((a, b) -> Long.compare(balances[b], balances[a]));
+        PriorityQueue<Integer> debtors = new PriorityQueue<>((a, b) -> Long.compare(balances[a], balances[b]));
+        for (int i = 0; i < balances.length; i++) {
+            if (balances[i] > 0) {
+                creditors.add(i);
+            } else if (balances[i] < 0) {
+                debtors.add(i);
+            }
+        }
+
+        List<Transfer> transfers = new ArrayList<>();
+        while (!creditors.isEmpty() && !debtors.isEmpty()) {
+            int creditor = creditors.poll();
+            int debtor = debtors.poll();
+            long amount = Math.min(balances[creditor], -balances[debtor]);
+
+            transfers.add(new Transfer(personIds[debtor], personIds[creditor], amount));
+            balances[creditor] -= amount;
+            balances[debtor] += amount;
+
+            if (balances[creditor] > 0) {
+                creditors.add(creditor);
+            }
+            if (balances[debtor] < 0) {
+                debtors.add(debtor);
+            }
+        }
+        return transfers;
+    }
+}
@@ -0,0 +1,121 @@
+package com.expense.splitter.service;
+
+import com.expense.splitter.cache.PersonCache;
+import com.expense.splitter.dto.GroupRequest;
+import com.expense.splitter.dto.GroupResponse;
+import com.expense.splitter.exception.ResourceNotFoundException;
+import com.expense.splitter.model.Group;
+import com.expense.splitter.model.Person;
+import com.expense.splitter.repository.GroupRepository;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Service layer for Group operations and group membership.
+ * Membership lives on the person document, so adding or removing a member
+ * is a single atomic $addToSet/$pull on that person.
+ */
+@Service
+public class GroupService {
+
+    private final GroupRepository groupRepository;
+    private final PersonCache personCache;
+    private final BalanceLedgerService balanceLedgerService;
+    private final MongoTemplate mongoTemplate;
+
+    public GroupService(GroupRepository groupRepository, PersonCache personCache,
+                        BalanceLedgerService balanceLedgerService, MongoTemplate mongoTemplate) {
+        this.groupRepository = groupRepository;
+        this.personCache = personCache;
+        this.balanceLedgerService = balanceLedgerService;
+        this.mongoTemplate = mongoTemplate;
+    }
+
+    /**
+     * Create a new group.
+     */
+    public GroupResponse createGroup(GroupRequest request) {
+        Group group = new Group();
+        group.setName(request.getName());
+        group.setCreatedAt(LocalDateTime.now());
+        group.setUpdatedAt(LocalDateTime.now());
+        return mapToResponse(groupRepository.save(group));
+    }
+
+    /**
+     * Return all groups.
+     */
+    public List<GroupResponse> getAllGroups() {
+        return groupRepository.findAll().stream()
+                .map(this::mapToResponse)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Get a group by id.
+     */
+    public GroupResponse getGroupById(String id) {
+        return mapToResponse(findGroup(id));
+    }
+
+    /**
+     * Add a person to a group.
+     */
+    public void addMember(String groupId, String personId) {
+        findGroup(groupId);
+        Person person = findPerson(personId);
+
+        mongoTemplate.updateFirst(Query.query(Criteria.where("_id").is(personId)),
+                new Update().addToSet("groupIds", groupId).set("updatedAt", LocalDateTime.now()),
+                Person.class);
+        personCache.evict(person);
+        balanceLedgerService.invalidateGroupBalances(groupId);
+    }
+
+    /**
+     * Remove a person from a group. Refused while the person still has an
+     * outstanding balance in that group.
+     */
+    public void removeMember(String groupId, String personId) {
+        findGroup(groupId);
+        Person person = findPerson(personId);
+
+        // Read from the ledger itself: the cached group balances may be stale on this node
+        long balance = balanceLedgerService.getLedgerBalances(groupId, List.of(personId)).getOrDefault(personId, 0L);
+        if (balance != 0) {
+            throw new IllegalArgumentException("Person " + personId + " still has a non-zero balance in group " + groupId);
+        }
+
+        mongoTemplate.updateFirst(Query.query(Criteria.where("_id").is(personId)),
+                new Update().pull("groupIds", groupId).set("updatedAt", LocalDateTime.now()),
+                Person.class);
+        personCache.evict(person);
+        balanceLedgerService.invalidateGroupBalances(groupId);
+    }
+
+    private Group findGroup(String id) {
+        return groupRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Group not found with id: " + id));
+    }
+
+    private Person findPerson(String id) {
+        return personCache.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Person not found with id: " + id));
+    }
+
+    private GroupResponse mapToResponse(Group group) {
+        return new GroupResponse(
+                group.getId(),
+                group.getName(),
+                group.getCreatedAt(),
+                group.getUpdatedAt()
+        );
+    }
+}
@@ -0,0 +1,44 @@
+package com.expense.splitter.service;
+
+import com.expense.splitter.model.Expense;
+import com.expense.splitter.repository.ExpenseRepository;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.stream.Stream;
+
+/**
+ * BalanceEngine that streams every expense into the JVM in batches and
+ * accumulates the balances on primitive arrays.
+ */
+@Component
+@ConditionalOnProperty(name = "app.balances.engine", havingValue = "in-memory", matchIfMissing = true)
+public class InMemoryBalanceEngine implements BalanceEngine {
+
+    private static final int BATCH_SIZE = 1000;
+
+    private final ExpenseRepository expenseRepository;
+
+    public InMemoryBalanceEngine(ExpenseRepository expenseRepository) {
+        this.expenseRepository = expenseRepository;
+    }
+
+    @Override
+    public Map<String, Map<String, Long>> computeBalancesByGroup() {
+        Map<String, BalanceAccumulator> byGroup = new HashMap<>();
+        try (Stream<Expense> expenses = expenseRepository.streamAll(null, BATCH_SIZE)) {
+            Iterator<Expense> iterator = expenses.iterator();
+            while (iterator.hasNext()) {
+                Expense expense = iterator.next();
+                byGroup.computeIfAbsent(expense.getGroupId(), id -> new BalanceAccumulator())
+                        .addExpense(expense, 1);
+            }
+        }
+        Map<String, Map<String, Long>> balances = new HashMap<>();
+        byGroup.forEach((groupId, accumulator) -> balances.put(groupId, accumulator.toMap()));
+        return balances;
+    }
+}
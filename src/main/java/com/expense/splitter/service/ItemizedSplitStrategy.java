@@ -0,0 +1,50 @@
+package com.expense.splitter.service;
+
+import com.expense.splitter.dto.SplitItemRequest;
+import com.expense.splitter.dto.SplitRequest;
+import com.expense.splitter.model.Money;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Split by line items: each item is shared equally (see
+ * {@link Money#shareOf}) by its own participants, who must all be
+ * participants of the expense; the items must sum to the expense amount.
+ */
+public class ItemizedSplitStrategy implements SplitStrategy {
+
+    @Override
+    public long[] split(long amountMinor, List<String> splitBetween, SplitRequest split) {
+        List<SplitItemRequest> items = split.getItems();
+        if (items == null || items.isEmpty()) {
+            throw new IllegalArgumentException("An itemized split needs at least one item");
+        }
+        Map<String, Integer> indexes = new HashMap<>(splitBetween.size() * 2);
+        for (int i = splitBetween.size() - 1; i >= 0; i--) {
+            indexes.put(splitBetween.get(i), i);
+        }
+
+        long[] shares = new long[splitBetween.size()];
+        long total = 0;
+        for (SplitItemRequest item : items) {
+            long itemMinor = Money.toMinor(item.getAmount());
+            List<String> participants = item.getSplitBetween();
+            for (int i = 0; i < participants.size(); i++) {
+                Integer index = indexes.get(participants.get(i));
+                if (index == null) {
+                    throw new IllegalArgumentException("Item participant " + participants.get(i)
+                            + " is not in splitBetween");
+                }
+                shares[index] += Money.shareOf(itemMinor, participants.size(), i);
+            }
+            total += itemMinor;
+        }
+        if (total != amountMinor) {
+            throw new IllegalArgumentException("Items sum to " + Money.toMajor(total)
+                    + ", not the expense amount " + Money.toMajor(amountMinor));
+        }
+        return shares;
+    }
+}
@@ -0,0 +1,209 @@
+package com.expense.splitter.service;
+
+import com.expense.splitter.dto.NameBackfillStatus;
+import com.expense.splitter.dto.NameConsistencyReport;
+import com.expense.splitter.model.NameBackfill;
+import com.expense.splitter.model.Person;
+import com.expense.splitter.repository.ExpenseRepository;
+import com.expense.splitter.repository.PersonRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+/**
+ * Keeps the person names stored on expenses current.
+ * A rename is queued in the name_backfills collection (one entry per
+ * person, so repeated renames coalesce) and a scheduled job copies the
+ * queued names onto the expenses, one bulk write of multi-document
+ * updates per batch of persons. The queue survives restarts, and any
+ * node may drain it. The pending count and the age of the oldest rename
+ * are exposed as gauges (expenses.names.backfill.pending / .lag).
+ * Expense writes take names from the person cache, which may serve the
+ * old name until its TTL has passed, so an entry is copied again on every
+ * run and only dequeued once it is older than the cache TTL.
+ */
+@Service
+public class NameBackfillService {
+
+    private static final Logger log = LoggerFactory.getLogger(NameBackfillService.class);
+
+    private final MongoTemplate mongoTemplate;
+    private final ExpenseRepository expenseRepository;
+    private final PersonRepository personRepository;
+    private final int batchSize;
+    private final Duration cacheTtl;
+    private final AtomicLong pending = new AtomicLong();
+    private volatile LocalDateTime oldestRequestedAt;
+
+    public NameBackfillService(MongoTemplate mongoTemplate,
+                               ExpenseRepository expenseRepository,
+                               PersonRepository personRepository,
+                               MeterRegistry meterRegistry,
+                               @Value("${app.names.backfill-batch-size}") int batchSize,
+                               @Value("${app.cache.persons.ttl}") Duration cacheTtl) {
+        this.mongoTemplate = mongoTemplate;
+        this.expenseRepository = expenseRepository;
+        this.personRepository = personRepository;
+        this.batchSize = batchSize;
+        this.cacheTtl = cacheTtl;
+        Gauge.builder("expenses.names.backfill.pending", pending, AtomicLong::get)
+                .description("Renamed persons whose name is not yet copied onto their expenses")
+                .register(meterRegistry);
+        Gauge.builder("expenses.names.backfill.lag", this, NameBackfillService::lagSeconds)
+                .description("Age of the oldest rename not yet copied onto its expenses")
+                .baseUnit("seconds")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Queue copying a person's new name onto their expenses.
+     */
+    public void enqueue(String personId, String name) {
+        LocalDateTime now = LocalDateTime.now();
+        mongoTemplate.upsert(Query.query(Criteria.where("_id").is(personId)),
+                new Update().set("name", name).set("requestedAt", now).unset("copiedAt"), NameBackfill.class);
+        if (oldestRequestedAt == null) {
+            oldestRequestedAt = now;
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.names.backfill-interval:PT5S}")
+    public void scheduledBackfill() {
+        int processed = processPending();
+        if (processed > 0) {
+            log.info("Copied {} renamed persons onto their expenses", processed);
+        }
+    }
+
+    /**
+     * Copy every name queued before this call onto the expenses, oldest
+     * first, in batches. Only expenses showing another name are written, so
+     * copying an entry again is cheap. An entry older than the person cache
+     * TTL is dequeued after this last copy, unless it was renamed again
+     * meanwhile. Returns the number of renames copied for the first time.
+     */
+    public int processPending() {
+        LocalDateTime start = LocalDateTime.now();
+        LocalDateTime settled = start.minus(cacheTtl);
+        int processed = 0;
+        Query queued = Query.query(Criteria.where("requestedAt").lte(start))
+                .with(Sort.by("requestedAt"))
+                .cursorBatchSize(batchSize);
+        try (Stream<NameBackfill> entries = mongoTemplate.stream(queued, NameBackfill.class)) {
+            Iterator<NameBackfill> iterator = entries.iterator();
+            List<NameBackfill> batch = new ArrayList<>(batchSize);
+            while (iterator.hasNext()) {
+                batch.add(iterator.next());
+                if (batch.size() == batchSize || !iterator.hasNext()) {
+                    processed += copy(batch, start, settled);
+                    batch.clear();
+                }
+            }
+        }
+        refreshStatus();
+        return processed;
+    }
+
+    /**
+     * Pending renames and the age of the oldest one.
+     */
+    public NameBackfillStatus getStatus() {
+        refreshStatus();
+        return new NameBackfillStatus(pending.get(), oldestRequestedAt, lagSeconds());
+    }
+
+    /**
+     * Compare the names stored on expenses with the current person names,
+     * one indexed count per person. With {@code repair}, stale names are
+     * rewritten right away, in the backfill's batches.
+     */
+    public NameConsistencyReport checkNames(boolean repair) {
+        Map<String, Long> stale = new LinkedHashMap<>();
+        Map<String, String> repairs = new HashMap<>();
+        int personsChecked = 0;
+        try (Stream<Person> persons = personRepository.streamAll(batchSize)) {
+            Iterator<Person> iterator = persons.iterator();
+            while (iterator.hasNext()) {
+                Person person = iterator.next();
+                personsChecked++;
+                long count = expenseRepository.countStalePersonNames(person.getId(), person.getName());
+                if (count == 0) {
+                    continue;
+                }
+                stale.put(person.getId(), count);
+                if (repair) {
+                    repairs.put(person.getId(), person.getName());
+                    if (repairs.size() == batchSize) {
+                        expenseRepository.updatePersonNames(repairs);
+                        repairs.clear();
+                    }
+                }
+            }
+        }
+        if (repair) {
+            expenseRepository.updatePersonNames(repairs);
+        }
+        return new NameConsistencyReport(LocalDateTime.now(), personsChecked, stale, repair);
+    }
+
+    /**
+     * Copy one batch of names, then dequeue the settled entries and stamp
+     * the others as copied. Both only apply if the entry was not renamed
+     * again meanwhile. Returns the number of entries copied for the first time.
+     */
+    private int copy(List<NameBackfill> batch, LocalDateTime now, LocalDateTime settled) {
+        Map<String, String> names = new HashMap<>(batch.size() * 2);
+        batch.forEach(entry -> names.put(entry.getPersonId(), entry.getName()));
+        expenseRepository.updatePersonNames(names);
+
+        BulkOperations done = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, NameBackfill.class);
+        int copied = 0;
+        for (NameBackfill entry : batch) {
+            Query unchanged = Query.query(Criteria.where("_id").is(entry.getPersonId())
+                    .and("requestedAt").is(entry.getRequestedAt()));
+            if (entry.getRequestedAt().isAfter(settled)) {
+                done.updateOne(unchanged, new Update().set("copiedAt", now));
+            } else {
+                done.remove(unchanged);
+            }
+            if (entry.getCopiedAt() == null) {
+                copied++;
+            }
+        }
+        done.execute();
+        return copied;
+    }
+
+    private void refreshStatus() {
+        Query notCopied = Query.query(Criteria.where("copiedAt").exists(false));
+        pending.set(mongoTemplate.count(notCopied, NameBackfill.class));
+        NameBackfill oldest = mongoTemplate.findOne(Query.of(notCopied).with(Sort.by("requestedAt")), NameBackfill.class);
+        oldestRequestedAt = oldest != null ? oldest.getRequestedAt() : null;
+    }
+
+    private double lagSeconds() {
+        LocalDateTime oldest = oldestRequestedAt;
+        return oldest != null ? Duration.between(oldest, LocalDateTime.now()).toMillis() / 1000.0 : 0.0;
+    }
+}
@@ -0,0 +1,27 @@
+package com.expense.splitter.service;
+
+import com.expense.splitter.dto.SplitRequest;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+/**
+ * Split by a percentage per participant; the percentages must sum to exactly 100.
+ */
+public class PercentageSplitStrategy implements SplitStrategy {
+
+    private static final BigDecimal HUNDRED = BigDecimal.valueOf(100);
+
+    @Override
+    public long[] split(long amountMinor, List<String> splitBetween, SplitRequest split) {
+        BigDecimal[] percentages = WeightedSplitStrategy.values(splitBetween, split);
+        BigDecimal total = BigDecimal.ZERO;
+        for (BigDecimal percentage : percentages) {
+            total = total.add(percentage);
+        }
+        if (total.compareTo(HUNDRED) != 0) {
+            throw new IllegalArgumentException("Split percentages must sum to 100, not " + total.toPlainString());
+        }
+        return WeightedSplitStrategy.proportional(amountMinor, percentages);
+    }
+}
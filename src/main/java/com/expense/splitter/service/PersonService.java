@@ -1,15 +1,31 @@
 package com.expense.splitter.service;
 
+import com.expense.splitter.cache.PersonCache;
+import com.expense.splitter.dto.CacheStatsResponse;
+import com.expense.splitter.dto.CursorPage;
 import com.expense.splitter.dto.PersonRequest;
 import com.expense.splitter.dto.PersonResponse;
 import com.expense.splitter.exception.ResourceNotFoundException;
 import com.expense.splitter.model.Person;
+import com.expense.splitter.repository.ExpenseRepository;
+import com.expense.splitter.repository.ExpenseRepositoryCustom;
+import com.expense.splitter.repository.KeysetCursor;
 import com.expense.splitter.repository.PersonRepository;
+import org.springframework.data.mongodb.core.query.Criteria;
 import org.springframework.stereotype.Service;
+import org.springframework.util.StringUtils;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 /**
  * Service layer for Person operations.
@@ -19,12 +35,24 @@ import java.util.stream.Collectors;
 public class PersonService {
 
     private final PersonRepository personRepository;
+    private final PersonCache personCache;
+    private final ExpenseRepository expenseRepository;
+    private final BalanceLedgerService balanceLedgerService;
+    private final BalanceSnapshotService snapshotService;
+    private final NameBackfillService nameBackfillService;
 
     /**
      * Manual constructor injection so this class works without Lombok.
      */
-    public PersonService(PersonRepository personRepository) {
+    public PersonService(PersonRepository personRepository, PersonCache personCache,
+                         ExpenseRepository expenseRepository, BalanceLedgerService balanceLedgerService,
+                         BalanceSnapshotService snapshotService, NameBackfillService nameBackfillService) {
         this.personRepository = personRepository;
+        this.personCache = personCache;
+        this.expenseRepository = expenseRepository;
+        this.balanceLedgerService = balanceLedgerService;
+        this.snapshotService = snapshotService;
+        this.nameBackfillService = nameBackfillService;
     }
 
     /**
@@ -35,6 +63,7 @@ public class PersonService {
             throw new IllegalArgumentException("PersonRequest must not be null");
         }
 
+        // Checked against the database: a cached answer may be stale on this node
         if (personRepository.existsByEmail(request.getEmail())) {
             throw new IllegalArgumentException("Email already exists");
         }
@@ -46,6 +75,7 @@ public class PersonService {
         person.setUpdatedAt(LocalDateTime.now());
 
         Person saved = personRepository.save(person);
+        personCache.put(saved);
         return mapToResponse(saved);
     }
 
@@ -54,21 +84,67 @@ public class PersonService {
      */
     public List<PersonResponse> getAllPersons() {
         return personRepository.findAll().stream()
-                .map(this::mapToResponse)
+                .map(PersonService::mapToResponse)
                 .collect(Collectors.toList());
     }
 
+    /**
+     * Return the members of a group.
+     */
+    public List<PersonResponse> getPersonsInGroup(String groupId) {
+        return personRepository.findByGroupIdsContaining(groupId).stream()
+                .map(PersonService::mapToResponse)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Keyset-paginated listing in (createdAt, id) order.
+     */
+    public CursorPage<PersonResponse> getPersonsPage(String cursor, int size) {
+        KeysetCursor after = StringUtils.hasText(cursor) ? KeysetCursor.decode(cursor) : null;
+        List<Person> persons = personRepository.findPage(after, size + 1);
+
+        String nextCursor = null;
+        if (persons.size() > size) {
+            persons = persons.subList(0, size);
+            Person last = persons.get(size - 1);
+            nextCursor = new KeysetCursor(last.getCreatedAt(), last.getId()).encode();
+        }
+        return new CursorPage<>(persons.stream().map(PersonService::mapToResponse).collect(Collectors.toList()), nextCursor);
+    }
+
+    /**
+     * Stream every person off a Mongo cursor, one batch at a time.
+     */
+    public void streamPersons(int batchSize, Consumer<List<PersonResponse>> sink) {
+        try (Stream<Person> stream = personRepository.streamAll(batchSize)) {
+            Iterator<Person> iterator = stream.iterator();
+            List<PersonResponse> batch = new ArrayList<>(batchSize);
+            while (iterator.hasNext()) {
+                batch.add(mapToResponse(iterator.next()));
+                if (batch.size() == batchSize) {
+                    sink.accept(batch);
+                    batch = new ArrayList<>(batchSize);
+                }
+            }
+            if (!batch.isEmpty()) {
+                sink.accept(batch);
+            }
+        }
+    }
+
     /**
      * Get a person by id.
      */
     public PersonResponse getPersonById(String id) {
-        Person person = personRepository.findById(id)
+        Person person = personCache.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Person not found with id: " + id));
         return mapToResponse(person);
     }
 
     /**
-     * Update an existing person.
+     * Update an existing person. A new name is copied onto the person's
+     * expenses in the background (see {@link NameBackfillService}).
      */
     public PersonResponse updatePerson(String id, PersonRequest request) {
         if (request == null) {
@@ -84,28 +160,140 @@ public class PersonService {
             throw new IllegalArgumentException("Email already exists");
         }
 
+        personCache.evict(person);
+
+        String oldName = person.getName();
         person.setName(request.getName());
         person.setEmail(newEmail);
         person.setUpdatedAt(LocalDateTime.now());
 
         Person updated = personRepository.save(person);
+        personCache.put(updated);
+        if (!Objects.equals(oldName, updated.getName())) {
+            nameBackfillService.enqueue(id, updated.getName());
+        }
         return mapToResponse(updated);
     }
 
     /**
-     * Delete a person by id.
+     * Delete a person by id. What happens to the expenses that reference them
+     * depends on {@code mode}:
+     * "block" (default) refuses while any of their balances is non-zero;
+     * "reassign" hands their place as payer and participant (and their
+     * balances) over to {@code reassignTo}, who must share all their groups;
+     * where both share in an expense, the shares are merged;
+     * "remove" drops them from the expenses they share in, writing their
+     * share off against the payer (the amount shrinks, every other
+     * participant keeps their share), and applies the difference to the
+     * ledger. It is refused while they paid any expense: reassign those.
+     * Expenses are rewritten server-side in bulk, never loaded one by one.
      */
-    public void deletePerson(String id) {
-        if (!personRepository.existsById(id)) {
-            throw new ResourceNotFoundException("Person not found with id: " + id);
+    public void deletePerson(String id, String mode, String reassignTo) {
+        Person person = personRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Person not found with id: " + id));
+
+        String by = StringUtils.hasText(mode) ? mode.trim().toLowerCase() : "block";
+        switch (by) {
+            case "block":
+                requireSettled(id);
+                break;
+            case "reassign":
+                reassignExpenses(person, reassignTo);
+                break;
+            case "remove":
+                removeFromExpenses(id);
+                break;
+            default:
+                throw new IllegalArgumentException("Unsupported mode: " + mode + " (use block, reassign or remove)");
         }
+
+        // All entries of the person are zero (or gone) by now; drop them so no phantom balance remains
+        balanceLedgerService.removeBalances(id);
         personRepository.deleteById(id);
+        personCache.evict(person);
+        if (person.getGroupIds() != null) {
+            person.getGroupIds().forEach(balanceLedgerService::invalidateGroupBalances);
+        }
+    }
+
+    /**
+     * Hit/miss/eviction statistics of the person cache.
+     */
+    public List<CacheStatsResponse> getCacheStats() {
+        return personCache.stats();
+    }
+
+    private void requireSettled(String id) {
+        boolean settled = balanceLedgerService.getLedgerEntries(id).stream()
+                .allMatch(balance -> balance.getAmountMinor() == 0);
+        if (!settled) {
+            throw new IllegalArgumentException("Person " + id + " has outstanding balances;"
+                    + " settle them first or delete with mode=reassign or mode=remove");
+        }
+    }
+
+    private void reassignExpenses(Person person, String reassignTo) {
+        String id = person.getId();
+        if (!StringUtils.hasText(reassignTo)) {
+            throw new IllegalArgumentException("Deleting with mode=reassign needs the person to reassign to (to)");
+        }
+        if (reassignTo.equals(id)) {
+            throw new IllegalArgumentException("Cannot reassign a person's expenses to themselves");
+        }
+        Person target = personRepository.findById(reassignTo)
+                .orElseThrow(() -> new ResourceNotFoundException("Person not found with id: " + reassignTo));
+
+        Set<String> groupIds = new HashSet<>(expenseRepository.findGroupIdsOfPerson(id));
+        if (person.getGroupIds() != null) {
+            groupIds.addAll(person.getGroupIds());
+        }
+        groupIds.remove(null);
+        Set<String> targetGroups = target.getGroupIds() != null ? new HashSet<>(target.getGroupIds()) : Set.of();
+        groupIds.removeAll(targetGroups);
+        if (!groupIds.isEmpty()) {
+            throw new IllegalArgumentException("Person " + reassignTo + " is not a member of groups " + groupIds);
+        }
+
+        // Merged expenses may book differently in another currency (each share
+        // is converted on its own), so apply their difference like a removal
+        boolean merged = expenseRepository.markShared(id, reassignTo) > 0;
+        Criteria marked = ExpenseRepositoryCustom.removalMarked(id);
+        Map<String, Map<String, Long>> before = merged ? balanceLedgerService.computeBalancesByGroup(marked) : null;
+        expenseRepository.reassignPerson(id, reassignTo, target.getName());
+        if (merged) {
+            balanceLedgerService.applyChanges(before, balanceLedgerService.computeBalancesByGroup(marked));
+            expenseRepository.clearRemovalMark(id);
+        }
+        balanceLedgerService.transferBalances(id, reassignTo);
+        snapshotService.invalidateInvolving(id);
+    }
+
+    /**
+     * Remove the person from their expenses. The affected expenses are marked
+     * first, so their balances can be aggregated before and after the rewrite
+     * and only the difference applied to the ledger.
+     */
+    private void removeFromExpenses(String id) {
+        if (expenseRepository.existsByPaidBy(id)) {
+            throw new IllegalArgumentException("Person " + id + " paid expenses;"
+                    + " delete with mode=reassign or delete those expenses first");
+        }
+        if (expenseRepository.markForRemoval(id) == 0) {
+            return;
+        }
+        Criteria marked = ExpenseRepositoryCustom.removalMarked(id);
+        Map<String, Map<String, Long>> before = balanceLedgerService.computeBalancesByGroup(marked);
+        expenseRepository.removePerson(id);
+        Map<String, Map<String, Long>> after = balanceLedgerService.computeBalancesByGroup(marked);
+        balanceLedgerService.applyChanges(before, after);
+        expenseRepository.clearRemovalMark(id);
+        snapshotService.invalidateInvolving(id);
     }
 
     /**
      * Map Person entity to PersonResponse DTO.
      */
-    private PersonResponse mapToResponse(Person person) {
+    static PersonResponse mapToResponse(Person person) {
         if (person == null) return null;
 
         return new PersonResponse(
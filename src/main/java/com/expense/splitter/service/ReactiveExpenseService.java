@@ -0,0 +1,273 @@
+package com.expense.splitter.service;
+
+import com.expense.splitter.dto.BulkImportResponse;
+import com.expense.splitter.dto.CurrencyBalanceReport;
+import com.expense.splitter.dto.CursorPage;
+import com.expense.splitter.dto.ExpensePatchRequest;
+import com.expense.splitter.dto.ExpenseRequest;
+import com.expense.splitter.dto.ExpenseResponse;
+import com.expense.splitter.dto.NameBackfillStatus;
+import com.expense.splitter.dto.NameConsistencyReport;
+import com.expense.splitter.dto.ReconciliationReport;
+import com.expense.splitter.dto.SettlementResponse;
+import com.expense.splitter.dto.SummaryResponse;
+import com.expense.splitter.exception.ResourceNotFoundException;
+import com.expense.splitter.model.Expense;
+import com.expense.splitter.model.Money;
+import com.expense.splitter.model.Person;
+import com.expense.splitter.model.SplitType;
+import com.expense.splitter.repository.KeysetCursor;
+import com.expense.splitter.repository.PersonSummary;
+import com.expense.splitter.repository.ReactiveExpenseRepository;
+import com.expense.splitter.repository.ReactivePersonRepository;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.stereotype.Service;
+import org.springframework.util.StringUtils;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Callable;
+
+/**
+ * Non-blocking counterpart of {@link ExpenseService} for the "reactive" profile.
+ * Expenses and persons are read and written through reactive repositories.
+ * The balance ledger (bulk $inc upserts, snapshot invalidation, cached group
+ * balances) and the operations built on it stay on the blocking services;
+ * those calls run on the boundedElastic scheduler, never on the event loop.
+ */
+@Service
+@Profile("reactive")
+public class ReactiveExpenseService {
+
+    private final ReactiveExpenseRepository expenseRepository;
+    private final ReactivePersonRepository personRepository;
+    private final BalanceLedgerService balanceLedgerService;
+    private final ExpenseService expenseService;
+    private final ExpenseImportService expenseImportService;
+    private final SettlementService settlementService;
+    private final CurrencyBalanceService currencyBalanceService;
+    private final FxRateService fxRateService;
+
+    public ReactiveExpenseService(ReactiveExpenseRepository expenseRepository,
+                                  ReactivePersonRepository personRepository,
+                                  BalanceLedgerService balanceLedgerService,
+                                  ExpenseService expenseService,
+                                  ExpenseImportService expenseImportService,
+                                  SettlementService settlementService,
+                                  CurrencyBalanceService currencyBalanceService,
+                                  FxRateService fxRateService) {
+        this.expenseRepository = expenseRepository;
+        this.personRepository = personRepository;
+        this.balanceLedgerService = balanceLedgerService;
+        this.expenseService = expenseService;
+        this.expenseImportService = expenseImportService;
+        this.settlementService = settlementService;
+        this.currencyBalanceService = currencyBalanceService;
+        this.fxRateService = fxRateService;
+    }
+
+    public Mono<ExpenseResponse> createExpense(ExpenseRequest request) {
+        Set<String> personIds = ExpenseService.personIdsOf(request);
+        return findPersons(personIds).flatMap(persons -> {
+            ExpenseService.requirePersonsExist(null, personIds, persons);
+
+            Expense expense = new Expense();
+            expense.setDescription(request.getDescription());
+            expense.setAmountMinor(Money.toMinor(request.getAmount()));
+            expense.setPaidBy(request.getPaidBy());
+            expense.setSplitBetween(request.getSplitBetween());
+            SplitEngine.apply(expense, request.getSplit());
+            fxRateService.getRates().apply(expense, request.getCurrency());
+            expense.setPersonNames(ExpenseService.namesOf(personIds, persons));
+            expense.setCreatedAt(LocalDateTime.now());
+            expense.setUpdatedAt(LocalDateTime.now());
+
+            return expenseRepository.save(expense)
+                    .flatMap(saved -> blocking(() -> {
+                        balanceLedgerService.applyExpense(saved);
+                        return saved;
+                    }))
+                    .map(saved -> ExpenseService.mapToResponse(saved, Map.of()));
+        });
+    }
+
+    /**
+     * Import expenses as they are decoded from the request body. The import
+     * pulls rows chunk by chunk, so the body is read no faster than it is stored.
+     */
+    public Mono<BulkImportResponse> importExpenses(Flux<ExpenseRequest> rows) {
+        return blocking(() -> expenseImportService.importExpenses(null, rows.toIterable().iterator()));
+    }
+
+    /**
+     * Every expense off a Mongo cursor, fetched in batches as the subscriber
+     * requests them. Each batch resolves its person names with one $in query.
+     */
+    public Flux<ExpenseResponse> streamExpenses(int batchSize) {
+        return expenseRepository.streamAll(batchSize)
+                .buffer(batchSize)
+                .concatMap(this::mapToResponses);
+    }
+
+    /**
+     * Keyset-paginated listing in (createdAt, id) order.
+     * Fetches one extra row to decide whether a next cursor is needed.
+     */
+    public Mono<CursorPage<ExpenseResponse>> getExpensesPage(String cursor, int size) {
+        KeysetCursor after = StringUtils.hasText(cursor) ? KeysetCursor.decode(cursor) : null;
+        return expenseRepository.findPage(after, size + 1).collectList().flatMap(expenses -> {
+            String nextCursor = null;
+            if (expenses.size() > size) {
+                expenses = expenses.subList(0, size);
+                Expense last = expenses.get(size - 1);
+                nextCursor = new KeysetCursor(last.getCreatedAt(), last.getId()).encode();
+            }
+            String next = nextCursor;
+            return mapToResponses(expenses).collectList().map(responses -> new CursorPage<>(responses, next));
+        });
+    }
+
+    /**
+     * One page of a person's expenses (see {@link ExpenseService#getExpensesOfPerson});
+     * runs on the boundedElastic scheduler.
+     */
+    public Mono<CursorPage<ExpenseResponse>> getExpensesOfPerson(String personId, String role,
+                                                                 String cursor, int size) {
+        return blocking(() -> expenseService.getExpensesOfPerson(personId, role, cursor, size));
+    }
+
+    public Mono<ExpenseResponse> getExpenseById(String id) {
+        return findExpense(id).flatMap(expense -> mapToResponses(List.of(expense)).next());
+    }
+
+    /**
+     * Update an expense. The expense and its participants are loaded concurrently;
+     * the write only applies if the expense is still at the version that was read.
+     */
+    public Mono<ExpenseResponse> updateExpense(String id, ExpenseRequest request) {
+        long amountMinor = Money.toMinor(request.getAmount());
+        SplitType splitType = SplitEngine.typeOf(request.getSplit());
+        long[] shares = SplitEngine.shares(amountMinor, request.getSplitBetween(), request.getSplit());
+        FxRateTable rates = fxRateService.getRates();
+        String currency = rates.currencyOf(request.getCurrency());
+        Double fxRate = rates.fxRateOf(currency);
+        Set<String> personIds = ExpenseService.personIdsOf(request);
+        return Mono.zip(findExpense(id), findPersons(personIds)).flatMap(loaded -> {
+            Expense expense = loaded.getT1();
+            Map<String, Person> persons = loaded.getT2();
+
+            // Participants are validated against the group the expense belongs to
+            ExpenseService.requirePersonsExist(expense.getGroupId(), personIds, persons);
+            ExpenseService.requireVersion(id, request.getVersion(), expense.getVersion());
+            Map<String, String> names = ExpenseService.namesOf(personIds, persons);
+
+            return expenseRepository.findAndUpdate(
+                            Criteria.where("_id").is(id).and("version").is(expense.getVersion()),
+                            ExpenseService.replacementOf(request, splitType, shares, names, currency, fxRate))
+                    .switchIfEmpty(Mono.error(() -> ExpenseService.conflict(id)))
+                    .flatMap(before -> blocking(() -> {
+                        Expense updated = ExpenseService.withChanges(before, request.getDescription(),
+                                amountMinor, request.getPaidBy(), request.getSplitBetween());
+                        updated.setSplitType(splitType);
+                        updated.setShares(shares);
+                        updated.setPersonNames(names);
+                        updated.setCurrency(currency);
+                        updated.setFxRate(fxRate);
+                        balanceLedgerService.replaceExpense(before, updated);
+                        return updated;
+                    }))
+                    .map(updated -> ExpenseService.mapToResponse(updated, Map.of()));
+        });
+    }
+
+    /**
+     * Change only the fields set in the patch (single conditional $set, see
+     * {@link ExpenseService#patchExpense}); runs on the boundedElastic scheduler.
+     */
+    public Mono<ExpenseResponse> patchExpense(String id, ExpensePatchRequest patch) {
+        return blocking(() -> expenseService.patchExpense(null, id, patch));
+    }
+
+    public Mono<Void> deleteExpense(String id) {
+        // Only the request that actually deleted the document reverts it
+        return expenseRepository.findAndDelete(Criteria.where("_id").is(id))
+                .switchIfEmpty(Mono.error(() -> new ResourceNotFoundException("Expense not found with id: " + id)))
+                .flatMap(expense -> blocking(() -> {
+                    balanceLedgerService.revertExpense(expense);
+                    return expense;
+                }))
+                .then();
+    }
+
+    public Mono<List<SummaryResponse>> getSummary(Collection<String> personIds, String sort) {
+        return blocking(() -> expenseService.getSummary(null, personIds, sort));
+    }
+
+    public Mono<Map<String, Double>> calculateBalances(LocalDateTime asOf, LocalDateTime from, LocalDateTime to) {
+        return blocking(() -> expenseService.calculateBalances(null, asOf, from, to));
+    }
+
+    public Mono<List<SettlementResponse>> getSettlements() {
+        return blocking(settlementService::getSettlements);
+    }
+
+    public Mono<ReconciliationReport> reconcileBalances() {
+        return blocking(balanceLedgerService::reconcile);
+    }
+
+    public Mono<CurrencyBalanceReport> getCurrencyBalances() {
+        return blocking(() -> currencyBalanceService.getBalances(null));
+    }
+
+    public Mono<NameBackfillStatus> getNameBackfillStatus() {
+        return blocking(expenseService::getNameBackfillStatus);
+    }
+
+    public Mono<NameConsistencyReport> checkPersonNames(boolean repair) {
+        return blocking(() -> expenseService.checkPersonNames(repair));
+    }
+
+    private Mono<Expense> findExpense(String id) {
+        return expenseRepository.findById(id)
+                .switchIfEmpty(Mono.error(() -> new ResourceNotFoundException("Expense not found with id: " + id)));
+    }
+
+    private Mono<Map<String, Person>> findPersons(Set<String> personIds) {
+        return personRepository.findAllById(personIds).collectMap(Person::getId);
+    }
+
+    /**
+     * Build responses for a batch of expenses from their stored names; names
+     * they lack are resolved with a single projection ($in) query.
+     */
+    private Flux<ExpenseResponse> mapToResponses(List<Expense> expenses) {
+        Set<String> personIds = ExpenseService.unnamedPersonIds(expenses);
+        if (personIds.isEmpty()) {
+            return Flux.fromIterable(expenses).map(expense -> ExpenseService.mapToResponse(expense, Map.of()));
+        }
+        return personRepository.findProjectedByIdIn(personIds)
+                .collectMap(PersonSummary::getId, PersonSummary::getName)
+                .flatMapIterable(names -> {
+                    List<ExpenseResponse> responses = new ArrayList<>(expenses.size());
+                    for (Expense expense : expenses) {
+                        responses.add(ExpenseService.mapToResponse(expense, names));
+                    }
+                    return responses;
+                });
+    }
+
+    /**
+     * Run a call into the blocking services on the boundedElastic scheduler.
+     */
+    private static <T> Mono<T> blocking(Callable<T> call) {
+        return Mono.fromCallable(call).subscribeOn(Schedulers.boundedElastic());
+    }
+}
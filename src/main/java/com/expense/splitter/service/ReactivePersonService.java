@@ -0,0 +1,153 @@
+package com.expense.splitter.service;
+
+import com.expense.splitter.cache.PersonCache;
+import com.expense.splitter.dto.CacheStatsResponse;
+import com.expense.splitter.dto.CursorPage;
+import com.expense.splitter.dto.PersonRequest;
+import com.expense.splitter.dto.PersonResponse;
+import com.expense.splitter.exception.ResourceNotFoundException;
+import com.expense.splitter.model.Person;
+import com.expense.splitter.repository.KeysetCursor;
+import com.expense.splitter.repository.ReactivePersonRepository;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Service;
+import org.springframework.util.StringUtils;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Objects;
+import java.util.stream.Collectors;
+
+/**
+ * Non-blocking counterpart of {@link PersonService} for the "reactive" profile.
+ * Reads go straight to the reactive repository; writes still put/evict the
+ * shared person cache so the blocking services that use it stay coherent.
+ */
+@Service
+@Profile("reactive")
+public class ReactivePersonService {
+
+    private final ReactivePersonRepository personRepository;
+    private final PersonCache personCache;
+    private final PersonService personService;
+    private final NameBackfillService nameBackfillService;
+
+    public ReactivePersonService(ReactivePersonRepository personRepository, PersonCache personCache,
+                                 PersonService personService, NameBackfillService nameBackfillService) {
+        this.personRepository = personRepository;
+        this.personCache = personCache;
+        this.personService = personService;
+        this.nameBackfillService = nameBackfillService;
+    }
+
+    /**
+     * Create a new person. Validates email uniqueness.
+     */
+    public Mono<PersonResponse> createPerson(PersonRequest request) {
+        return personRepository.existsByEmail(request.getEmail())
+                .flatMap(exists -> {
+                    if (exists) {
+                        return Mono.error(new IllegalArgumentException("Email already exists"));
+                    }
+                    Person person = new Person();
+                    person.setName(request.getName());
+                    person.setEmail(request.getEmail());
+                    person.setCreatedAt(LocalDateTime.now());
+                    person.setUpdatedAt(LocalDateTime.now());
+                    return personRepository.save(person);
+                })
+                .doOnNext(personCache::put)
+                .map(PersonService::mapToResponse);
+    }
+
+    /**
+     * Every person off a Mongo cursor, fetched in batches as the subscriber requests them.
+     */
+    public Flux<PersonResponse> streamPersons(int batchSize) {
+        return personRepository.streamAll(batchSize).map(PersonService::mapToResponse);
+    }
+
+    /**
+     * Keyset-paginated listing in (createdAt, id) order.
+     */
+    public Mono<CursorPage<PersonResponse>> getPersonsPage(String cursor, int size) {
+        KeysetCursor after = StringUtils.hasText(cursor) ? KeysetCursor.decode(cursor) : null;
+        return personRepository.findPage(after, size + 1).collectList().map(persons -> {
+            String nextCursor = null;
+            if (persons.size() > size) {
+                persons = persons.subList(0, size);
+                Person last = persons.get(size - 1);
+                nextCursor = new KeysetCursor(last.getCreatedAt(), last.getId()).encode();
+            }
+            return new CursorPage<>(persons.stream().map(PersonService::mapToResponse).collect(Collectors.toList()),
+                    nextCursor);
+        });
+    }
+
+    /**
+     * Get a person by id.
+     */
+    public Mono<PersonResponse> getPersonById(String id) {
+        return findPerson(id).map(PersonService::mapToResponse);
+    }
+
+    /**
+     * Update an existing person.
+     */
+    public Mono<PersonResponse> updatePerson(String id, PersonRequest request) {
+        return findPerson(id)
+                .flatMap(person -> {
+                    // If email changed, ensure uniqueness
+                    String newEmail = request.getEmail();
+                    Mono<Boolean> taken = newEmail != null && !newEmail.equals(person.getEmail())
+                            ? personRepository.existsByEmail(newEmail)
+                            : Mono.just(false);
+                    return taken.flatMap(exists -> {
+                        if (exists) {
+                            return Mono.error(new IllegalArgumentException("Email already exists"));
+                        }
+                        // Drop the old entry first so a changed email is no longer reported as taken
+                        personCache.evict(person);
+
+                        String oldName = person.getName();
+                        person.setName(request.getName());
+                        person.setEmail(newEmail);
+                        person.setUpdatedAt(LocalDateTime.now());
+                        return personRepository.save(person)
+                                .doOnNext(personCache::put)
+                                .flatMap(updated -> Objects.equals(oldName, updated.getName())
+                                        ? Mono.just(updated)
+                                        : Mono.fromRunnable(() -> nameBackfillService.enqueue(id, updated.getName()))
+                                                .subscribeOn(Schedulers.boundedElastic())
+                                                .thenReturn(updated));
+                    });
+                })
+                .map(PersonService::mapToResponse);
+    }
+
+    /**
+     * Delete a person by id (see {@link PersonService#deletePerson(String, String, String)}).
+     * The bulk expense and ledger rewrites stay on the blocking service and
+     * run on the boundedElastic scheduler.
+     */
+    public Mono<Void> deletePerson(String id, String mode, String reassignTo) {
+        return Mono.fromRunnable(() -> personService.deletePerson(id, mode, reassignTo))
+                .subscribeOn(Schedulers.boundedElastic())
+                .then();
+    }
+
+    /**
+     * Hit/miss/eviction statistics of the person cache.
+     */
+    public List<CacheStatsResponse> getCacheStats() {
+        return personCache.stats();
+    }
+
+    private Mono<Person> findPerson(String id) {
+        return personRepository.findById(id)
+                .switchIfEmpty(Mono.error(() -> new ResourceNotFoundException("Person not found with id: " + id)));
+    }
+}
@@ -0,0 +1,100 @@
+package com.expense.splitter.service;
+
+import com.expense.splitter.cache.PersonCache;
+import com.expense.splitter.dto.SettlementResponse;
+import com.expense.splitter.model.Money;
+import com.expense.splitter.model.Person;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Computes who-pays-whom from the current net balances.
+ * Small groups get the exact minimal set of transfers; larger ones fall
+ * back to the heap-based greedy strategy.
+ */
+@Service
+public class SettlementService {
+
+    private final BalanceLedgerService balanceLedgerService;
+    private final PersonCache personCache;
+    private final int exactMaxParticipants;
+    private final SettlementStrategy greedyStrategy = new GreedySettlementStrategy();
+    private final SettlementStrategy exactStrategy = new ExactSettlementStrategy();
+
+    public SettlementService(BalanceLedgerService balanceLedgerService,
+                             PersonCache personCache,
+                             @Value("${app.settlements.exact-max-participants}") int exactMaxParticipants) {
+        this.balanceLedgerService = balanceLedgerService;
+        this.personCache = personCache;
+        this.exactMaxParticipants = Math.min(exactMaxParticipants, ExactSettlementStrategy.MAX_PARTICIPANTS);
+    }
+
+    /**
+     * Transfers that settle every outstanding balance.
+     */
+    public List<SettlementResponse> getSettlements() {
+        return toResponses(settle(balanceLedgerService.getBalances()));
+    }
+
+    /**
+     * Transfers that settle the outstanding balances of one group.
+     */
+    public List<SettlementResponse> getSettlements(String groupId) {
+        return toResponses(settle(balanceLedgerService.getBalances(groupId)));
+    }
+
+    /**
+     * Settle the given balances (minor units) with the strategy suited to their size.
+     */
+    List<Transfer> settle(Map<String, Long> balances) {
+        String[] personIds = new String[balances.size()];
+        long[] amounts = new long[balances.size()];
+        int count = 0;
+        for (Map.Entry<String, Long> entry : balances.entrySet()) {
+            if (entry.getValue() != 0) {
+                personIds[count] = entry.getKey();
+                amounts[count] = entry.getValue();
+                count++;
+            }
+        }
+        if (count < personIds.length) {
+            personIds = Arrays.copyOf(personIds, count);
+            amounts = Arrays.copyOf(amounts, count);
+        }
+
+        SettlementStrategy strategy = count <= exactMaxParticipants ? exactStrategy : greedyStrategy;
+        return strategy.settle(personIds, amounts);
+    }
+
+    private List<SettlementResponse> toResponses(List<Transfer> transfers) {
+        Set<String> personIds = new HashSet<>();
+        for (Transfer transfer : transfers) {
+            personIds.add(transfer.getFrom());
+            personIds.add(transfer.getTo());
+        }
+        Map<String, Person> persons = personCache.findAllById(personIds);
+
+        List<SettlementResponse> responses = new ArrayList<>(transfers.size());
+        for (Transfer transfer : transfers) {
+            responses.add(new SettlementResponse(
+                    transfer.getFrom(),
+                    nameOf(persons, transfer.getFrom()),
+                    transfer.getTo(),
+                    nameOf(persons, transfer.getTo()),
+                    Money.toMajor(transfer.getAmountMinor())));
+        }
+        return responses;
+    }
+
+    private static String nameOf(Map<String, Person> persons, String personId) {
+        Person person = persons.get(personId);
+        return person != null ? person.getName() : "Unknown";
+    }
+}
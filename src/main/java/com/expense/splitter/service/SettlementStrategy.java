@@ -0,0 +1,18 @@
+package com.expense.splitter.service;
+
+import java.util.List;
+
+/**
+ * Turns net balances into a list of transfers that settles them.
+ */
+public interface SettlementStrategy {
+
+    /**
+     * @param personIds person IDs, aligned with {@code balances}
+     * @param balances  net balance per person in minor units
+     *                  (positive = is owed money, negative = owes money);
+     *                  the array may be modified
+     * @return transfers from debtors to creditors
+     */
+    List<Transfer> settle(String[] personIds, long[] balances);
+}
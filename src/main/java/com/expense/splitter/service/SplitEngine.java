@@ -0,0 +1,81 @@
+package com.expense.splitter.service;
+
+import com.expense.splitter.dto.SplitRequest;
+import com.expense.splitter.model.Expense;
+import com.expense.splitter.model.Money;
+import com.expense.splitter.model.SplitType;
+
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Turns the split of an expense request into the per-participant shares
+ * stored on the expense, with the {@link SplitStrategy} of its type.
+ * Splits are validated here, once, when an expense is written; balance
+ * computations read the stored shares as they are.
+ */
+public final class SplitEngine {
+
+    private static final Map<SplitType, SplitStrategy> STRATEGIES = new EnumMap<>(SplitType.class);
+
+    static {
+        STRATEGIES.put(SplitType.EQUAL, new EqualSplitStrategy());
+        STRATEGIES.put(SplitType.SHARES, new WeightedSplitStrategy());
+        STRATEGIES.put(SplitType.PERCENTAGE, new PercentageSplitStrategy());
+        STRATEGIES.put(SplitType.EXACT, new ExactSplitStrategy());
+        STRATEGIES.put(SplitType.ITEMIZED, new ItemizedSplitStrategy());
+    }
+
+    private SplitEngine() {}
+
+    /**
+     * Split type of a request; equal when no split is given.
+     */
+    public static SplitType typeOf(SplitRequest split) {
+        if (split == null) {
+            return SplitType.EQUAL;
+        }
+        if (split.getType() != null) {
+            for (SplitType type : SplitType.values()) {
+                if (type.name().equalsIgnoreCase(split.getType().trim())) {
+                    return type;
+                }
+            }
+        }
+        throw new IllegalArgumentException("Unsupported split type: " + split.getType()
+                + " (use equal, shares, percentage, exact or itemized)");
+    }
+
+    /**
+     * Validated shares of {@code amountMinor} among {@code splitBetween};
+     * null for equal splits.
+     */
+    public static long[] shares(long amountMinor, List<String> splitBetween, SplitRequest split) {
+        return STRATEGIES.get(typeOf(split)).split(amountMinor, splitBetween, split);
+    }
+
+    /**
+     * Set the split type and validated shares of an expense from its
+     * amount, participants and the requested split.
+     */
+    public static void apply(Expense expense, SplitRequest split) {
+        expense.setSplitType(typeOf(split));
+        expense.setShares(shares(expense.getAmountMinor(), expense.getSplitBetween(), split));
+    }
+
+    /**
+     * Every participant's share in minor units, aligned with splitBetween.
+     */
+    public static long[] sharesOf(Expense expense) {
+        long[] shares = expense.getShares();
+        if (shares != null) {
+            return shares;
+        }
+        long[] equal = new long[expense.getSplitBetween().size()];
+        for (int i = 0; i < equal.length; i++) {
+            equal[i] = Money.shareOf(expense.getAmountMinor(), equal.length, i);
+        }
+        return equal;
+    }
+}
@@ -0,0 +1,22 @@
+package com.expense.splitter.service;
+
+import com.expense.splitter.dto.SplitRequest;
+
+import java.util.List;
+
+/**
+ * Divides an expense amount among its participants.
+ */
+public interface SplitStrategy {
+
+    /**
+     * @param amountMinor  expense amount in minor units
+     * @param splitBetween participant IDs
+     * @param split        type-specific input: values aligned with {@code splitBetween}, or items
+     * @return each participant's share in minor units, aligned with {@code splitBetween}
+     *         and summing to {@code amountMinor}; null if the shares follow
+     *         {@link com.expense.splitter.model.Money#shareOf} (equal split)
+     * @throws IllegalArgumentException if the input does not describe a split of the amount
+     */
+    long[] split(long amountMinor, List<String> splitBetween, SplitRequest split);
+}
@@ -0,0 +1,21 @@
+package com.expense.splitter.service;
+
+/**
+ * A single payment that settles part of the outstanding balances.
+ */
+public final class Transfer {
+
+    private final String from;
+    private final String to;
+    private final long amountMinor;
+
+    public Transfer(String from, String to, long amountMinor) {
+        this.from = from;
+        this.to = to;
+        this.amountMinor = amountMinor;
+    }
+
+    public String getFrom() { return from; }
+    public String getTo() { return to; }
+    public long getAmountMinor() { return amountMinor; }
+}
@@ -0,0 +1,63 @@
+package com.expense.splitter.service;
+
+import com.expense.splitter.dto.SplitRequest;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.List;
+
+/**
+ * Split proportional to a weight per participant ("shares").
+ * Each participant gets the floor of their exact part; the minor units left
+ * over go one at a time to the first participants with a non-zero weight,
+ * as in {@link com.expense.splitter.model.Money#shareOf}.
+ */
+public class WeightedSplitStrategy implements SplitStrategy {
+
+    @Override
+    public long[] split(long amountMinor, List<String> splitBetween, SplitRequest split) {
+        return proportional(amountMinor, values(splitBetween, split));
+    }
+
+    /**
+     * Split values as exact decimals, one per participant.
+     */
+    static BigDecimal[] values(List<String> splitBetween, SplitRequest split) {
+        List<Double> values = split.getValues();
+        if (values == null || values.size() != splitBetween.size()) {
+            throw new IllegalArgumentException("A " + split.getType() + " split needs one value per participant ("
+                    + splitBetween.size() + ")");
+        }
+        BigDecimal[] decimals = new BigDecimal[values.size()];
+        for (int i = 0; i < decimals.length; i++) {
+            decimals[i] = BigDecimal.valueOf(values.get(i));
+        }
+        return decimals;
+    }
+
+    static long[] proportional(long amountMinor, BigDecimal[] weights) {
+        BigDecimal total = BigDecimal.ZERO;
+        for (BigDecimal weight : weights) {
+            total = total.add(weight);
+        }
+        if (total.signum() <= 0) {
+            throw new IllegalArgumentException("Split weights must not all be zero");
+        }
+
+        BigDecimal amount = BigDecimal.valueOf(amountMinor);
+        long[] shares = new long[weights.length];
+        long remainder = amountMinor;
+        for (int i = 0; i < weights.length; i++) {
+            shares[i] = amount.multiply(weights[i]).divide(total, 0, RoundingMode.FLOOR).longValueExact();
+            remainder -= shares[i];
+        }
+        // Less than one unit per non-zero weight is left over
+        for (int i = 0; remainder > 0; i++) {
+            if (weights[i].signum() > 0) {
+                shares[i]++;
+                remainder--;
+            }
+        }
+        return shares;
+    }
+}
@@ -0,0 +1,95 @@
+package com.expense.splitter.cache;
+
+import com.expense.splitter.model.Person;
+import com.expense.splitter.repository.PersonRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Tests for CaffeinePersonCache
+ * Tests read-through hits, eviction on writes and that missing IDs are not cached
+ */
+@ExtendWith(MockitoExtension.class)
+public class CaffeinePersonCacheTest {
+
+    @Mock
+    private PersonRepository personRepository;
+
+    private CaffeinePersonCache personCache;
+    private Person person1;
+    private Person person2;
+
+    @BeforeEach
+    public void setUp() {
+        personCache = new CaffeinePersonCache(personRepository, 100, Duration.ofMinutes(10));
+        person1 = new Person("p1", "John", "john@email.com", LocalDateTime.now(), LocalDateTime.now());
+        person2 = new Person("p2", "Jane", "jane@email.com", LocalDateTime.now(), LocalDateTime.now());
+    }
+
+    @Test
+    public void testFindById_LoadsOnceThenHits() {
+        when(personRepository.findById("p1")).thenReturn(Optional.of(person1));
+
+        assertEquals(Optional.of(person1), personCache.findById("p1"));
+        assertEquals(Optional.of(person1), personCache.findById("p1"));
+
+        verify(personRepository, times(1)).findById("p1");
+        assertEquals(1L, personCache.stats().get(0).getHits());
+    }
+
+    @Test
+    public void testFindAllById_LoadsOnlyMisses() {
+        personCache.put(person1);
+        when(personRepository.findAllById(List.of("p2"))).thenReturn(List.of(person2));
+
+        Map<String, Person> found = personCache.findAllById(List.of("p1", "p2"));
+
+        assertEquals(Map.of("p1", person1, "p2", person2), found);
+        verify(personRepository, times(1)).findAllById(List.of("p2"));
+    }
+
+    @Test
+    public void testMissingIdsAreNotCached() {
+        when(personRepository.findById("p3")).thenReturn(Optional.empty());
+        when(personRepository.findAllById(List.of("p3"))).thenReturn(List.of());
+
+        assertTrue(personCache.findById("p3").isEmpty());
+        assertTrue(personCache.findById("p3").isEmpty());
+        assertTrue(personCache.findAllById(List.of("p3")).isEmpty());
+
+        // Every lookup of an unknown ID goes to the repository
+        verify(personRepository, times(2)).findById("p3");
+        verify(personRepository, times(1)).findAllById(List.of("p3"));
+    }
+
+    @Test
+    public void testEvictOnUpdateAndDelete() {
+        Person renamed = new Person("p1", "Johnny", "john@email.com", LocalDateTime.now(), LocalDateTime.now());
+        when(personRepository.findById("p1")).thenReturn(Optional.of(person1)).thenReturn(Optional.of(renamed));
+        when(personRepository.findById("p2")).thenReturn(Optional.of(person2)).thenReturn(Optional.empty());
+
+        personCache.findById("p1");
+        personCache.evict(person1);
+        assertEquals("Johnny", personCache.findById("p1").orElseThrow().getName());
+
+        // Deleted by another node
+        personCache.findById("p2");
+        personCache.evictById("p2");
+        assertTrue(personCache.findById("p2").isEmpty());
+
+        verify(personRepository, times(2)).findById("p1");
+        verify(personRepository, times(2)).findById("p2");
+    }
+}
@@ -0,0 +1,115 @@
+package com.expense.splitter.cache;
+
+import com.expense.splitter.model.Balance;
+import com.expense.splitter.model.Person;
+import com.expense.splitter.service.BalanceLedgerService;
+import com.mongodb.client.model.changestream.ChangeStreamDocument;
+import com.mongodb.client.model.changestream.UpdateDescription;
+import org.bson.BsonDateTime;
+import org.bson.BsonDocument;
+import org.bson.BsonInt64;
+import org.bson.BsonString;
+import org.bson.Document;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.mongodb.core.MongoTemplate;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for ChangeStreamCacheSync.apply with constructed change events
+ * Runs without MongoDB; ChangeStreamCacheSyncTest covers the stream itself
+ */
+@ExtendWith(MockitoExtension.class)
+public class ChangeStreamCacheSyncApplyTest {
+
+    @Mock
+    private MongoTemplate mongoTemplate;
+
+    @Mock
+    private PersonCache personCache;
+
+    @Mock
+    private BalanceLedgerService balanceLedgerService;
+
+    private ChangeStreamCacheSync sync;
+
+    @BeforeEach
+    public void setUp() {
+        when(mongoTemplate.getCollectionName(Person.class)).thenReturn("persons");
+        when(mongoTemplate.getCollectionName(Balance.class)).thenReturn("balances");
+        sync = new ChangeStreamCacheSync(mongoTemplate, personCache, balanceLedgerService,
+                "node-1", Duration.ofSeconds(1));
+    }
+
+    @Test
+    public void testApply_LedgerIncrementCarriesNewAmount() {
+        BsonDocument updated = new BsonDocument("amountMinor", new BsonInt64(1500L))
+                .append("updatedAt", new BsonDateTime(0L));
+
+        sync.apply(change("update", "balances", "g1:p1", null, new UpdateDescription(List.of(), updated)));
+
+        verify(balanceLedgerService).applyLedgerChange("g1:p1", 1500L);
+        verifyNoInteractions(personCache);
+    }
+
+    @Test
+    public void testApply_LedgerUpdateWithoutAmountIsIgnored() {
+        BsonDocument updated = new BsonDocument("updatedAt", new BsonDateTime(0L));
+
+        sync.apply(change("update", "balances", "g1:p1", null, new UpdateDescription(List.of(), updated)));
+
+        verify(balanceLedgerService, never()).applyLedgerChange(anyString(), anyLong());
+    }
+
+    @Test
+    public void testApply_LedgerInsertAndDelete() {
+        sync.apply(change("insert", "balances", "p1", new Document("_id", "p1").append("amountMinor", -700L), null));
+        sync.apply(change("delete", "balances", "p1", null, null));
+
+        verify(balanceLedgerService).applyLedgerChange("p1", -700L);
+        verify(balanceLedgerService).applyLedgerChange("p1", null);
+    }
+
+    @Test
+    public void testApply_PersonUpdateTouchingGroupsInvalidatesGroupBalances() {
+        BsonDocument joined = new BsonDocument("groupIds.1", new BsonString("g2"));
+        BsonDocument renamed = new BsonDocument("name", new BsonString("Johnny"));
+
+        sync.apply(change("update", "persons", "p1", null, new UpdateDescription(List.of(), joined)));
+        sync.apply(change("update", "persons", "p2", null, new UpdateDescription(List.of(), renamed)));
+
+        verify(personCache).evictById("p1");
+        verify(personCache).evictById("p2");
+        // Only the membership change drops the group balances
+        verify(balanceLedgerService, times(1)).invalidateGroupBalances();
+    }
+
+    @Test
+    public void testApply_DropAndInvalidateClearCaches() {
+        sync.apply(change("drop", "persons", null, null, null));
+        sync.apply(change("invalidate", null, null, null, null));
+
+        verify(personCache, times(2)).clear();
+        verify(balanceLedgerService, times(2)).invalidateGroupBalances();
+        verify(personCache, never()).evictById(anyString());
+    }
+
+    private static ChangeStreamDocument<Document> change(String operationType, String collection, String id,
+                                                         Document fullDocument, UpdateDescription updateDescription) {
+        BsonDocument namespace = collection != null
+                ? new BsonDocument("db", new BsonString("expense_splitter")).append("coll", new BsonString(collection))
+                : null;
+        BsonDocument documentKey = id != null ? new BsonDocument("_id", new BsonString(id)) : null;
+        return new ChangeStreamDocument<>(operationType, new BsonDocument(), namespace, null, fullDocument, null,
+                documentKey, null, updateDescription, null, null, null, null, null);
+    }
+}
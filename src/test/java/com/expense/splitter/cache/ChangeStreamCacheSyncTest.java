@@ -0,0 +1,130 @@
+package com.expense.splitter.cache;
+
+import com.expense.splitter.model.Balance;
+import com.expense.splitter.model.Person;
+import com.expense.splitter.service.BalanceLedgerService;
+import com.mongodb.client.MongoClient;
+import com.mongodb.client.MongoClients;
+import com.mongodb.client.model.Filters;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.testcontainers.containers.MongoDBContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.*;
+
+/**
+ * Writes made directly in MongoDB (standing in for another node) must reach
+ * this node's caches, including writes made while the listener was stopped.
+ * MongoDBContainer runs a single-node replica set, which change streams need.
+ * Needs Docker for MongoDB; skipped when Docker is unavailable.
+ */
+@Testcontainers(disabledWithoutDocker = true)
+class ChangeStreamCacheSyncTest {
+
+    @Container
+    static final MongoDBContainer mongo = new MongoDBContainer("mongo:7.0");
+
+    private static MongoClient client;
+    private static MongoTemplate mongoTemplate;
+
+    private PersonCache personCache;
+    private BalanceLedgerService balanceLedgerService;
+    private String nodeId;
+    private ChangeStreamCacheSync sync;
+
+    @BeforeAll
+    static void setUp() {
+        client = MongoClients.create(mongo.getConnectionString());
+        mongoTemplate = new MongoTemplate(client, "change_streams");
+    }
+
+    @AfterAll
+    static void tearDown() {
+        client.close();
+    }
+
+    @BeforeEach
+    void startSync() throws InterruptedException {
+        personCache = mock(PersonCache.class);
+        balanceLedgerService = mock(BalanceLedgerService.class);
+        nodeId = UUID.randomUUID().toString();
+        sync = startedSync();
+    }
+
+    @AfterEach
+    void stopSync() throws InterruptedException {
+        sync.stop();
+    }
+
+    @Test
+    void personWritesEvictCachedPerson() {
+        Person person = mongoTemplate.insert(new Person(null, "John", "john@email.com",
+                LocalDateTime.now(), LocalDateTime.now()));
+        mongoTemplate.updateFirst(Query.query(Criteria.where("_id").is(person.getId())),
+                new Update().set("name", "Johnny"), Person.class);
+
+        verify(personCache, timeout(5000).times(2)).evictById(person.getId());
+        verify(balanceLedgerService, never()).invalidateGroupBalances();
+
+        mongoTemplate.updateFirst(Query.query(Criteria.where("_id").is(person.getId())),
+                new Update().addToSet("groupIds", "g1"), Person.class);
+
+        verify(balanceLedgerService, timeout(5000)).invalidateGroupBalances();
+    }
+
+    @Test
+    void ledgerWritesApplyNewGroupAmounts() {
+        Query entry = Query.query(Criteria.where("_id").is("g1:p1"));
+        mongoTemplate.upsert(entry, new Update().inc("amountMinor", 500L).set("groupId", "g1").set("personId", "p1"),
+                Balance.class);
+        mongoTemplate.upsert(entry, new Update().inc("amountMinor", 250L), Balance.class);
+        mongoTemplate.remove(entry, Balance.class);
+
+        verify(balanceLedgerService, timeout(5000)).applyLedgerChange("g1:p1", 500L);
+        verify(balanceLedgerService, timeout(5000)).applyLedgerChange("g1:p1", 750L);
+        verify(balanceLedgerService, timeout(5000)).applyLedgerChange("g1:p1", null);
+    }
+
+    @Test
+    void restartedNodeCatchesUpFromStoredToken() throws InterruptedException {
+        sync.stop();
+        Person person = mongoTemplate.insert(new Person(null, "Jane", "jane@email.com",
+                LocalDateTime.now(), LocalDateTime.now()));
+
+        sync = startedSync();
+
+        verify(personCache, timeout(5000)).evictById(person.getId());
+        verify(personCache, never()).clear();
+    }
+
+    /**
+     * Start a listener for this node and wait until it has stored its first
+     * resume token, i.e. until later writes are guaranteed to be seen.
+     */
+    private ChangeStreamCacheSync startedSync() throws InterruptedException {
+        ChangeStreamCacheSync started = new ChangeStreamCacheSync(mongoTemplate, personCache, balanceLedgerService,
+                nodeId, Duration.ofMillis(100));
+        started.start();
+        long deadline = System.nanoTime() + Duration.ofSeconds(10).toNanos();
+        while (mongoTemplate.getCollection(ChangeStreamCacheSync.OFFSETS_COLLECTION)
+                .countDocuments(Filters.eq("_id", nodeId)) == 0) {
+            assertTrue(System.nanoTime() < deadline, "No resume token stored for node " + nodeId);
+            Thread.sleep(50);
+        }
+        return started;
+    }
+}
@@ -1,5 +1,7 @@
 package com.expense.splitter.controller;
 
+import com.expense.splitter.dto.CursorPage;
+import com.expense.splitter.dto.ExpensePatchRequest;
 import com.expense.splitter.dto.ExpenseRequest;
 import com.expense.splitter.dto.ExpenseResponse;
 import com.expense.splitter.service.ExpenseService;
@@ -9,15 +11,22 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.http.MediaType;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 
 import java.time.LocalDateTime;
 import java.util.Arrays;
 import java.util.List;
+import java.util.function.Consumer;
 
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -105,4 +114,100 @@ public class ExpenseControllerTest {
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$[0].description").value("Dinner"));
     }
+
+    @Test
+    @WithMockUser
+    public void testGetExpensesPage() throws Exception {
+        CursorPage<ExpenseResponse> page = new CursorPage<>(Arrays.asList(
+                new ExpenseResponse(
+                        "exp1",
+                        "Dinner",
+                        100.0,
+                        "p1",
+                        "John",
+                        Arrays.asList("p1", "p2"),
+                        Arrays.asList("John", "Jane"),
+                        50.0,
+                        LocalDateTime.now(),
+                        LocalDateTime.now()
+                )
+        ), "next-token");
+
+        when(expenseService.getExpensesPage(null, 10)).thenReturn(page);
+
+        mockMvc.perform(get("/api/expenses/page").param("size", "10"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items[0].description").value("Dinner"))
+                .andExpect(jsonPath("$.nextCursor").value("next-token"));
+    }
+
+    @Test
+    @WithMockUser
+    public void testExportExpenses_Csv() throws Exception {
+        ExpenseResponse expense = new ExpenseResponse(
+                "exp1",
+                "Dinner, drinks",
+                100.0,
+                "p1",
+                "John",
+                Arrays.asList("p1", "p2"),
+                Arrays.asList("John", "Jane"),
+                50.0,
+                LocalDateTime.of(2024, 1, 1, 12, 0),
+                LocalDateTime.of(2024, 1, 1, 12, 0)
+        );
+        expense.setSplitType("equal");
+        expense.setShares(List.of(50.0, 50.0));
+        ExpenseResponse museum = new ExpenseResponse(
+                "exp2",
+                "=HYPERLINK(\"http://evil\")",
+                30.0,
+                "p2",
+                "Jane",
+                Arrays.asList("p1", "p2"),
+                Arrays.asList("John", "Jane"),
+                null,
+                LocalDateTime.of(2024, 1, 2, 12, 0),
+                LocalDateTime.of(2024, 1, 2, 12, 0)
+        );
+        museum.setSplitType("exact");
+        museum.setShares(List.of(20.0, 10.0));
+        museum.setCurrency("EUR");
+        museum.setFxRate(1.1);
+
+        doAnswer(invocation -> {
+            Consumer<List<ExpenseResponse>> sink = invocation.getArgument(2);
+            sink.accept(List.of(expense, museum));
+            return null;
+        }).when(expenseService).streamExpenses(isNull(), anyInt(), any());
+
+        MvcResult result = mockMvc.perform(get("/api/expenses/export").param("format", "csv"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Content-Disposition", "attachment; filename=\"expenses.csv\""))
+                .andExpect(content().string(
+                        "id,createdAt,description,amount,currency,fxRate,paidBy,paidByName,"
+                                + "splitBetween,splitBetweenNames,splitType,shares,perPersonAmount\r\n"
+                                + "exp1,2024-01-01T12:00,\"Dinner, drinks\",100.0,USD,1.0,p1,John,"
+                                + "p1;p2,John;Jane,equal,50.0;50.0,50.0\r\n"
+                                // Formula-like text is neutralized before quoting
+                                + "exp2,2024-01-02T12:00,\"'=HYPERLINK(\"\"http://evil\"\")\",30.0,EUR,1.1,p2,Jane,"
+                                + "p1;p2,John;Jane,exact,20.0;10.0,\r\n"));
+    }
+
+    @Test
+    @WithMockUser
+    public void testPatchExpense_StaleVersion() throws Exception {
+        when(expenseService.patchExpense(eq("exp1"), any(ExpensePatchRequest.class)))
+                .thenThrow(new OptimisticLockingFailureException("Expense exp1 was changed by another request"));
+
+        mockMvc.perform(patch("/api/expenses/exp1")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"amount\": 120.0, \"version\": 2}"))
+                .andExpect(status().isConflict())
+                .andExpect(jsonPath("$.status").value(409));
+    }
 }
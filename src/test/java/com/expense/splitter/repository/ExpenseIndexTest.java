@@ -0,0 +1,118 @@
+package com.expense.splitter.repository;
+
+import com.expense.splitter.model.Expense;
+import com.mongodb.client.MongoClient;
+import com.mongodb.client.MongoClients;
+import org.bson.Document;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.convert.QueryMapper;
+import org.springframework.data.mongodb.core.index.IndexOperations;
+import org.springframework.data.mongodb.core.index.MongoPersistentEntityIndexResolver;
+import org.springframework.data.mongodb.core.mapping.MongoMappingContext;
+import org.springframework.data.mongodb.core.mapping.MongoPersistentEntity;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.testcontainers.containers.MongoDBContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * The per-person expense queries must be served by their indexes:
+ * the winning plan of every page query is an index scan, never a COLLSCAN.
+ * Needs Docker for MongoDB; skipped when Docker is unavailable.
+ */
+@Testcontainers(disabledWithoutDocker = true)
+class ExpenseIndexTest {
+
+    @Container
+    static final MongoDBContainer mongo = new MongoDBContainer("mongo:7.0");
+
+    private static final KeysetCursor CURSOR = new KeysetCursor(LocalDateTime.of(2024, 1, 15, 0, 0), "m");
+
+    private static MongoClient client;
+    private static MongoTemplate mongoTemplate;
+
+    @BeforeAll
+    static void setUp() {
+        client = MongoClients.create(mongo.getConnectionString());
+        mongoTemplate = new MongoTemplate(client, "expense_indexes");
+
+        MongoMappingContext mappingContext = (MongoMappingContext) mongoTemplate.getConverter().getMappingContext();
+        IndexOperations indexOps = mongoTemplate.indexOps(Expense.class);
+        new MongoPersistentEntityIndexResolver(mappingContext).resolveIndexFor(Expense.class)
+                .forEach(indexOps::ensureIndex);
+
+        List<Expense> expenses = new ArrayList<>();
+        for (int i = 0; i < 500; i++) {
+            LocalDateTime createdAt = LocalDateTime.of(2024, 1, 1, 0, 0).plusHours(i);
+            expenses.add(new Expense(null, "expense " + i, 100 + i, "p" + (i % 20),
+                    List.of("p" + (i % 20), "p" + ((i + 1) % 20), "p" + ((i + 7) % 20)), createdAt, createdAt));
+        }
+        mongoTemplate.insertAll(expenses);
+    }
+
+    @AfterAll
+    static void tearDown() {
+        client.close();
+    }
+
+    @Test
+    void findByPaidByUsesPayerIndex() {
+        Criteria payer = Criteria.where("paidBy").is("p3");
+        assertIndexScan(KeysetCursor.pageQuery(payer, null, 21), "paidBy_createdAt");
+        assertIndexScan(KeysetCursor.pageQuery(payer, CURSOR, 21), "paidBy_createdAt");
+    }
+
+    @Test
+    void findBySplitBetweenContainingUsesMultikeyIndex() {
+        Criteria participant = Criteria.where("splitBetween").is("p3");
+        assertIndexScan(KeysetCursor.pageQuery(participant, null, 21), "splitBetween_createdAt");
+        assertIndexScan(KeysetCursor.pageQuery(participant, CURSOR, 21), "splitBetween_createdAt");
+    }
+
+    private static void assertIndexScan(Query query, String indexName) {
+        QueryMapper mapper = new QueryMapper(mongoTemplate.getConverter());
+        MongoPersistentEntity<?> entity = mongoTemplate.getConverter().getMappingContext()
+                .getRequiredPersistentEntity(Expense.class);
+        Document explain = mongoTemplate.getCollection(mongoTemplate.getCollectionName(Expense.class))
+                .find(mapper.getMappedObject(query.getQueryObject(), entity))
+                .sort(mapper.getMappedSort(query.getSortObject(), entity))
+                .limit(query.getLimit())
+                .explain();
+        Object winningPlan = explain.get("queryPlanner", Document.class).get("winningPlan");
+
+        List<String> stages = new ArrayList<>();
+        List<String> indexes = new ArrayList<>();
+        collectStages(winningPlan, stages, indexes);
+        assertFalse(stages.contains("COLLSCAN"), () -> "Collection scan in " + winningPlan);
+        assertTrue(stages.contains("IXSCAN"), () -> "No index scan in " + winningPlan);
+        assertTrue(indexes.stream().allMatch(indexName::equals), () -> "Expected " + indexName + " in " + winningPlan);
+    }
+
+    /**
+     * Walk a plan tree (classic or slot-based explain output) for its stage and index names.
+     */
+    private static void collectStages(Object node, List<String> stages, List<String> indexes) {
+        if (node instanceof Document document) {
+            if (document.get("stage") instanceof String stage) {
+                stages.add(stage);
+            }
+            if (document.get("indexName") instanceof String index) {
+                indexes.add(index);
+            }
+            document.values().forEach(value -> collectStages(value, stages, indexes));
+        } else if (node instanceof List<?> list) {
+            list.forEach(value -> collectStages(value, stages, indexes));
+        }
+    }
+}
@@ -0,0 +1,84 @@
+package com.expense.splitter.repository;
+
+import com.expense.splitter.model.Expense;
+import com.mongodb.client.MongoClient;
+import com.mongodb.client.MongoClients;
+import org.bson.Document;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.testcontainers.containers.MongoDBContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+/**
+ * Two persons sharing expenses are removed at the same time: each removal
+ * must keep its own marks and rewrite every expense it marked.
+ * Needs Docker for MongoDB; skipped when Docker is unavailable.
+ */
+@Testcontainers(disabledWithoutDocker = true)
+class ExpenseRemovalMarkTest {
+
+    @Container
+    static final MongoDBContainer mongo = new MongoDBContainer("mongo:7.0");
+
+    private static MongoClient client;
+    private static MongoTemplate mongoTemplate;
+    private static ExpenseRepositoryImpl expenseRepository;
+
+    @BeforeAll
+    static void setUp() {
+        client = MongoClients.create(mongo.getConnectionString());
+        mongoTemplate = new MongoTemplate(client, "expense_removal");
+        expenseRepository = new ExpenseRepositoryImpl(mongoTemplate);
+    }
+
+    @AfterAll
+    static void tearDown() {
+        client.close();
+    }
+
+    @Test
+    void overlappingRemovalsKeepEachOthersMarks() {
+        LocalDateTime now = LocalDateTime.now();
+        mongoTemplate.insertAll(List.of(
+                new Expense("e1", "Dinner", 900L, "p1", List.of("p1", "p2", "p3"), now, now),
+                new Expense("e2", "Taxi", 1000L, "p1", List.of("p1", "p2"), now, now)));
+
+        assertEquals(2, expenseRepository.markForRemoval("p2"));
+        // p3 is marked before p2's removal has finished
+        assertEquals(1, expenseRepository.markForRemoval("p3"));
+
+        expenseRepository.removePerson("p2");
+        expenseRepository.clearRemovalMark("p2");
+
+        Document dinner = raw("e1");
+        assertEquals(List.of("p1", "p3"), dinner.getList("splitBetween", String.class));
+        assertEquals(600L, dinner.getLong("amountMinor"));
+        assertEquals(List.of("p3"), dinner.getList("removingPersons", String.class));
+        assertFalse(raw("e2").containsKey("removingPersons"));
+        assertEquals(List.of("e1"), mongoTemplate.find(Query.query(ExpenseRepositoryCustom.removalMarked("p3")),
+                Expense.class).stream().map(Expense::getId).toList());
+
+        expenseRepository.removePerson("p3");
+        expenseRepository.clearRemovalMark("p3");
+
+        dinner = raw("e1");
+        assertEquals(List.of("p1"), dinner.getList("splitBetween", String.class));
+        assertEquals(300L, dinner.getLong("amountMinor"));
+        assertFalse(dinner.containsKey("removingPersons"));
+        assertEquals(List.of("p1"), raw("e2").getList("splitBetween", String.class));
+    }
+
+    private static Document raw(String id) {
+        return mongoTemplate.getCollection("expenses").find(new Document("_id", id)).first();
+    }
+}
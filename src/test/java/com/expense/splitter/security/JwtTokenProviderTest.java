@@ -0,0 +1,104 @@
+package com.expense.splitter.security;
+
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for JwtTokenProvider
+ * Tests token validation and the cache of verified tokens
+ */
+public class JwtTokenProviderTest {
+
+    private static final String SECRET =
+            "/W514bCBico9+kf0ifFet8WSkp/++lGG+bUEaAxu9U58jt7Ps0gEjgDlCzUxHL+lrutH7PtotxYu3+ezmZB5Hw==";
+    private static final String OTHER_SECRET =
+            "kQ3n8Zp1v7Yc2Lx9Rw4Tb6Hs0Mf5Ud8Ge3Ja1Nq7Vk2Po9Xi4Cl6Sy0Bt5Dh8Fm3Wr1Ez7Ug2Ka6Ov9Ij4Ln0Qs5Yp8Tc1Mx3Hb7Rf2Nd==";
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+    @Test
+    public void testAuthenticate_ValidTokenIsCachedAfterFirstCall() {
+        JwtTokenProvider provider = provider(86400000L, 100);
+        String token = provider.generateToken("alice");
+
+        assertEquals(Optional.of("alice"), provider.authenticate(token));
+        assertEquals(Optional.of("alice"), provider.authenticate(token));
+
+        assertEquals(1.0, gets("hit").count());
+        assertEquals(1.0, gets("miss").count());
+    }
+
+    @Test
+    public void testAuthenticate_ExpiredTokenRejectedAlthoughCached() throws InterruptedException {
+        JwtTokenProvider provider = provider(1000L, 100);
+        String token = provider.generateToken("alice");
+        assertEquals(Optional.of("alice"), provider.authenticate(token));
+
+        // exp has second precision, so the token expires within a second
+        long expiresAt = provider.parseClaims(token).getExpiration().getTime();
+        Thread.sleep(Math.max(0, expiresAt - System.currentTimeMillis()) + 50);
+
+        assertEquals(Optional.empty(), provider.authenticate(token));
+        assertFalse(provider.validateToken(token));
+    }
+
+    @Test
+    public void testAuthenticate_ForgedOrTamperedTokenRejected() {
+        JwtTokenProvider provider = provider(86400000L, 100);
+        String token = provider.generateToken("alice");
+        String forged = new JwtTokenProvider(OTHER_SECRET, 86400000L, 0).generateToken("alice");
+        String[] parts = token.split("\\.");
+        String tampered = parts[0] + "." + Jwts.builder().setSubject("mallory").compact().split("\\.")[1]
+                + "." + parts[2];
+
+        // A cached genuine token must not make a tampered one pass
+        assertEquals(Optional.of("alice"), provider.authenticate(token));
+        assertEquals(Optional.empty(), provider.authenticate(forged));
+        assertEquals(Optional.empty(), provider.authenticate(tampered));
+        assertEquals(Optional.empty(), provider.authenticate("not-a-token"));
+    }
+
+    @Test
+    public void testAuthenticate_TokenWithoutExpiryNotCached() {
+        JwtTokenProvider provider = provider(86400000L, 100);
+        String token = Jwts.builder()
+                .setSubject("alice")
+                .signWith(Keys.hmacShaKeyFor(SECRET.getBytes()), SignatureAlgorithm.HS512)
+                .compact();
+
+        assertEquals(Optional.of("alice"), provider.authenticate(token));
+        assertEquals(Optional.of("alice"), provider.authenticate(token));
+
+        assertEquals(0.0, gets("hit").count());
+        assertEquals(2.0, gets("miss").count());
+    }
+
+    @Test
+    public void testAuthenticate_ZeroCacheSizeDisablesCache() {
+        JwtTokenProvider provider = provider(86400000L, 0);
+        String token = provider.generateToken("alice");
+
+        assertEquals(Optional.of("alice"), provider.authenticate(token));
+        assertEquals(Optional.of("alice"), provider.authenticate(token));
+
+        assertNull(registry.find("cache.gets").functionCounter());
+    }
+
+    private JwtTokenProvider provider(long expirationMs, long cacheSize) {
+        JwtTokenProvider provider = new JwtTokenProvider(SECRET, expirationMs, cacheSize);
+        provider.bindTo(registry);
+        return provider;
+    }
+
+    private FunctionCounter gets(String result) {
+        return registry.get("cache.gets").tag("cache", "jwt.verifiedTokens").tag("result", result).functionCounter();
+    }
+}
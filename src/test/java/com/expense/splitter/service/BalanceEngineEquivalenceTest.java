@@ -0,0 +1,101 @@
+package com.expense.splitter.service;
+
+import com.expense.splitter.dto.SplitRequest;
+import com.expense.splitter.model.Expense;
+import com.expense.splitter.model.SplitType;
+import com.expense.splitter.repository.ExpenseRepository;
+import com.expense.splitter.repository.ExpenseRepositoryImpl;
+import com.mongodb.client.MongoClient;
+import com.mongodb.client.MongoClients;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.repository.support.MongoRepositoryFactory;
+import org.springframework.data.repository.core.support.RepositoryComposition.RepositoryFragments;
+import org.testcontainers.containers.MongoDBContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Both balance engines must agree on generated datasets of equal and weighted
+ * splits, in the base currency and booked from another one.
+ * Needs Docker for MongoDB; skipped when Docker is unavailable.
+ */
+@Testcontainers(disabledWithoutDocker = true)
+class BalanceEngineEquivalenceTest {
+
+    @Container
+    static final MongoDBContainer mongo = new MongoDBContainer("mongo:7.0");
+
+    private static MongoClient client;
+    private static MongoTemplate mongoTemplate;
+    private static InMemoryBalanceEngine inMemoryEngine;
+    private static AggregationBalanceEngine aggregationEngine;
+
+    @BeforeAll
+    static void setUp() {
+        client = MongoClients.create(mongo.getConnectionString());
+        mongoTemplate = new MongoTemplate(client, "balance_engines");
+        ExpenseRepository expenseRepository = new MongoRepositoryFactory(mongoTemplate).getRepository(
+                ExpenseRepository.class, RepositoryFragments.just(new ExpenseRepositoryImpl(mongoTemplate)));
+        inMemoryEngine = new InMemoryBalanceEngine(expenseRepository);
+        aggregationEngine = new AggregationBalanceEngine(mongoTemplate);
+    }
+
+    @AfterAll
+    static void tearDown() {
+        client.close();
+    }
+
+    @BeforeEach
+    void clear() {
+        mongoTemplate.dropCollection(Expense.class);
+    }
+
+    @ParameterizedTest
+    @ValueSource(longs = {1L, 42L, 2024L})
+    void enginesProduceIdenticalBalances(long seed) {
+        Random random = new Random(seed);
+        List<String> persons = new ArrayList<>();
+        for (int i = 0; i < 25; i++) {
+            persons.add("p" + i);
+        }
+        List<Expense> expenses = new ArrayList<>();
+        for (int i = 0; i < 2000; i++) {
+            List<String> shuffled = new ArrayList<>(persons);
+            Collections.shuffle(shuffled, random);
+            Expense expense = new Expense(null, "expense " + i, 1 + random.nextInt(100_000),
+                    shuffled.get(0), new ArrayList<>(shuffled.subList(1, 2 + random.nextInt(8))),
+                    LocalDateTime.now(), LocalDateTime.now());
+            int group = random.nextInt(4);
+            expense.setGroupId(group == 0 ? null : "g" + group);
+            if (random.nextBoolean()) {
+                // Stored shares: weighted split of the same amount
+                List<Double> weights = new ArrayList<>();
+                expense.getSplitBetween().forEach(person -> weights.add((double) (1 + random.nextInt(5))));
+                expense.setSplitType(SplitType.SHARES);
+                expense.setShares(SplitEngine.shares(expense.getAmountMinor(), expense.getSplitBetween(),
+                        new SplitRequest("shares", weights)));
+            }
+            if (random.nextInt(3) == 0) {
+                expense.setCurrency("EUR");
+                expense.setFxRate(0.5 + random.nextDouble());
+            }
+            expenses.add(expense);
+        }
+        mongoTemplate.insertAll(expenses);
+
+        assertEquals(inMemoryEngine.computeBalancesByGroup(), aggregationEngine.computeBalancesByGroup());
+    }
+}
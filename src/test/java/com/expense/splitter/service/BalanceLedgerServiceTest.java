@@ -0,0 +1,143 @@
+package com.expense.splitter.service;
+
+import com.expense.splitter.dto.ReconciliationReport;
+import com.expense.splitter.model.Balance;
+import com.expense.splitter.model.Expense;
+import com.expense.splitter.repository.BalanceRepository;
+import com.expense.splitter.repository.ExpenseRepository;
+import com.expense.splitter.repository.PersonRepository;
+import com.mongodb.bulk.BulkWriteError;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.bson.BsonDocument;
+import org.bson.Document;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * Service tests for BalanceLedgerService
+ * Tests that reconciliation never overwrites concurrent ledger writes
+ */
+@ExtendWith(MockitoExtension.class)
+public class BalanceLedgerServiceTest {
+
+    @Mock
+    private MongoTemplate mongoTemplate;
+
+    @Mock
+    private BalanceRepository balanceRepository;
+
+    @Mock
+    private ExpenseRepository expenseRepository;
+
+    @Mock
+    private PersonRepository personRepository;
+
+    @Mock
+    private BalanceEngine balanceEngine;
+
+    @Mock
+    private BalanceSnapshotService snapshotService;
+
+    @Mock
+    private BulkOperations bulk;
+
+    private BalanceLedgerService balanceLedgerService;
+
+    @BeforeEach
+    public void setUp() {
+        balanceLedgerService = new BalanceLedgerService(mongoTemplate, balanceRepository, expenseRepository,
+                personRepository, balanceEngine, snapshotService, new SimpleMeterRegistry(),
+                100, Duration.ofMinutes(5));
+    }
+
+    @Test
+    public void testReconcile_CorrectsDriftByGuardedIncrementAndSkipsConcurrentWrites() {
+        when(mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Balance.class)).thenReturn(bulk);
+        Map<String, Long> expected = new HashMap<>(Map.of("p1", 5000L, "p2", -3000L, "p3", -2000L));
+        Map<String, Map<String, Long>> byGroup = new HashMap<>();
+        byGroup.put(null, expected);
+        when(balanceEngine.computeBalancesByGroup()).thenReturn(byGroup);
+        // p2 is written while the expense log is being replayed
+        when(balanceRepository.findAll())
+                .thenReturn(List.of(balance("p1", 4000L), balance("p2", -2500L), balance("p3", -2000L)))
+                .thenReturn(List.of(balance("p1", 4000L), balance("p2", -2800L), balance("p3", -2000L)));
+
+        ReconciliationReport report = balanceLedgerService.reconcile();
+
+        ArgumentCaptor<Query> query = ArgumentCaptor.forClass(Query.class);
+        ArgumentCaptor<Update> update = ArgumentCaptor.forClass(Update.class);
+        verify(bulk, times(1)).upsert(query.capture(), update.capture());
+        assertEquals(new Document("_id", "p1").append("amountMinor", 4000L), query.getValue().getQueryObject());
+        assertEquals(new Document("amountMinor", 1000L), update.getValue().getUpdateObject().get("$inc"));
+        assertEquals(Map.of("p1", -10.0), report.getDrift());
+        assertEquals(List.of("p2"), report.getSkipped());
+    }
+
+    @Test
+    public void testReconcile_SkipsEntryWrittenBeforeCorrection() {
+        when(mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Balance.class)).thenReturn(bulk);
+        Map<String, Map<String, Long>> byGroup = new HashMap<>();
+        byGroup.put(null, new HashMap<>(Map.of("p1", 5000L, "p2", -5000L)));
+        when(balanceEngine.computeBalancesByGroup()).thenReturn(byGroup);
+        when(balanceRepository.findAll()).thenReturn(List.of(balance("p1", 4000L), balance("p2", -5000L)));
+        // The guarded upsert of p1 no longer matches and collides with the existing _id
+        BulkOperationException conflict = mock(BulkOperationException.class);
+        when(conflict.getErrors()).thenReturn(List.of(new BulkWriteError(11000, "duplicate key", new BsonDocument(), 0)));
+        when(bulk.execute()).thenThrow(conflict);
+
+        ReconciliationReport report = balanceLedgerService.reconcile();
+
+        verify(bulk, times(1)).upsert(any(Query.class), any(Update.class));
+        assertTrue(report.getDrift().isEmpty());
+        assertEquals(List.of("p1"), report.getSkipped());
+    }
+
+    @Test
+    public void testReplay() {
+        Expense dinner = new Expense("e1", "Dinner", 10000L, "p1", Arrays.asList("p1", "p2"),
+                LocalDateTime.now(), LocalDateTime.now());
+
+        Map<String, Long> balances = BalanceLedgerService.replay(List.of(dinner));
+
+        assertEquals(5000L, balances.get("p1")); // Paid 100, owes 50
+        assertEquals(-5000L, balances.get("p2")); // Owes 50
+    }
+
+    @Test
+    public void testReplay_DistributesRemainderWithoutDrift() {
+        Expense uneven = new Expense("e3", "Tickets", 10000L, "p1",
+                Arrays.asList("p1", "p2", "p3"),
+                LocalDateTime.now(), LocalDateTime.now());
+
+        Map<String, Long> balances = BalanceLedgerService.replay(List.of(uneven));
+
+        assertEquals(6666L, balances.get("p1")); // Paid 100.00, owes 33.34
+        assertEquals(-3333L, balances.get("p2"));
+        assertEquals(-3333L, balances.get("p3"));
+        assertEquals(0L, balances.values().stream().mapToLong(Long::longValue).sum());
+    }
+
+    private static Balance balance(String personId, long amountMinor) {
+        return new Balance(personId, null, personId, amountMinor, null);
+    }
+}
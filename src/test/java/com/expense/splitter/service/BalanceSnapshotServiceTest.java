@@ -0,0 +1,83 @@
+package com.expense.splitter.service;
+
+import com.expense.splitter.model.BalanceSnapshot;
+import com.expense.splitter.model.Expense;
+import com.expense.splitter.repository.BalanceSnapshotRepository;
+import com.expense.splitter.repository.ExpenseRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * Service tests for BalanceSnapshotService
+ * Tests that queries start from the nearest snapshot
+ */
+@ExtendWith(MockitoExtension.class)
+public class BalanceSnapshotServiceTest {
+    
+    private static final LocalDateTime JAN_1 = LocalDateTime.of(2024, 1, 1, 0, 0);
+    private static final LocalDateTime FEB_1 = LocalDateTime.of(2024, 2, 1, 0, 0);
+    
+    @Mock
+    private BalanceSnapshotRepository snapshotRepository;
+    
+    @Mock
+    private ExpenseRepository expenseRepository;
+    
+    @Spy
+    private MeterRegistry meterRegistry = new SimpleMeterRegistry();
+    
+    @InjectMocks
+    private BalanceSnapshotService snapshotService;
+    
+    @Test
+    public void testBalancesAsOf_ReplaysOnlyExpensesAfterSnapshot() {
+        Map<String, Long> checkpoint = new HashMap<>(Map.of("p1", 5000L, "p2", -5000L));
+        LocalDateTime asOf = LocalDateTime.of(2024, 1, 15, 18, 30);
+        LocalDateTime bound = asOf.plusNanos(1_000_000);
+        Expense taxi = new Expense("e2", "Taxi", 3000L, "p2", Arrays.asList("p1", "p2"),
+                LocalDateTime.of(2024, 1, 10, 9, 0), LocalDateTime.of(2024, 1, 10, 9, 0));
+        
+        when(snapshotRepository.findFirstByGroupIdAndAsOfLessThanEqualOrderByAsOfDesc(null, bound))
+                .thenReturn(Optional.of(new BalanceSnapshot("global@" + JAN_1, null, JAN_1, checkpoint, JAN_1)));
+        when(expenseRepository.streamCreatedBetween(null, JAN_1, bound, 1000)).thenReturn(Stream.of(taxi));
+        
+        Map<String, Long> balances = snapshotService.balancesAsOf(null, asOf);
+        
+        assertEquals(3500L, balances.get("p1")); // 50.00 - 15.00
+        assertEquals(-3500L, balances.get("p2")); // -50.00 + 30.00 - 15.00
+    }
+    
+    @Test
+    public void testBalanceChanges_IsDifferenceOfBoundaries() {
+        Expense dinner = new Expense("e1", "Dinner", 10000L, "p1", Arrays.asList("p1", "p2"), JAN_1, JAN_1);
+        
+        when(snapshotRepository.findFirstByGroupIdAndAsOfLessThanEqualOrderByAsOfDesc(eq(null), any()))
+                .thenReturn(Optional.empty());
+        when(expenseRepository.streamCreatedBetween(null, null, FEB_1, 1000)).thenReturn(Stream.of(dinner));
+        when(expenseRepository.streamCreatedBetween(null, null, JAN_1, 1000)).thenReturn(Stream.empty());
+        
+        Map<String, Long> changes = snapshotService.balanceChanges(null, JAN_1, FEB_1);
+        
+        assertEquals(5000L, changes.get("p1"));
+        assertEquals(-5000L, changes.get("p2"));
+        assertThrows(IllegalArgumentException.class, () -> snapshotService.balanceChanges(null, FEB_1, JAN_1));
+    }
+}
@@ -0,0 +1,105 @@
+package com.expense.splitter.service;
+
+import com.expense.splitter.dto.CurrencyBalanceReport;
+import com.expense.splitter.model.Expense;
+import com.expense.splitter.repository.ExpenseRepository;
+import com.expense.splitter.repository.GroupRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Service tests for CurrencyBalanceService and the FX rate table
+ * Tests per-currency balances, conversion and ledger booking of foreign expenses
+ */
+@ExtendWith(MockitoExtension.class)
+public class CurrencyBalanceServiceTest {
+
+    @Mock
+    private ExpenseRepository expenseRepository;
+
+    @Mock
+    private GroupRepository groupRepository;
+
+    private FxRateService fxRateService;
+    private CurrencyBalanceService currencyBalanceService;
+
+    @BeforeEach
+    public void setUp() {
+        fxRateService = new FxRateService("USD", "");
+        fxRateService.replaceRates(Map.of("EUR", 1.1));
+        currencyBalanceService = new CurrencyBalanceService(expenseRepository, groupRepository,
+                fxRateService, new SimpleMeterRegistry());
+    }
+
+    @Test
+    public void testGetBalances_PerCurrencyAndConvertedInOnePass() {
+        Expense dinner = expense("e1", 10000L, "p1", Arrays.asList("p1", "p2"));
+        Expense museum = expense("e2", 3000L, "p2", Arrays.asList("p1", "p2", "p3"));
+        museum.setCurrency("EUR");
+        museum.setFxRate(1.2);
+        Expense taxi = expense("e3", 1000L, "p3", List.of("p1"));
+        taxi.setCurrency("GBP");
+        taxi.setFxRate(1.3);
+        when(expenseRepository.streamAll(null, 1000)).thenReturn(Stream.of(dinner, museum, taxi));
+
+        CurrencyBalanceReport report = currencyBalanceService.getBalances(null);
+
+        assertEquals("USD", report.getBaseCurrency());
+        assertEquals(Map.of("USD", 50.0, "EUR", -10.0, "GBP", -10.0), report.getBalances().get("p1"));
+        assertEquals(Map.of("USD", -50.0, "EUR", 20.0), report.getBalances().get("p2"));
+        // Converted at today's EUR rate (1.1), not the rate the expense was booked at;
+        // GBP has no rate in the table and is left out
+        assertEquals(Map.of("p1", 39.0, "p2", -28.0, "p3", -11.0), report.getConverted());
+        assertEquals(List.of("GBP"), report.getMissingRates());
+        verify(expenseRepository, times(1)).streamAll(null, 1000);
+    }
+
+    @Test
+    public void testAddExpense_BooksForeignSharesAtStoredRateZeroSum() {
+        Expense museum = expense("e2", 1001L, "p2", Arrays.asList("p1", "p2", "p3"));
+        museum.setCurrency("EUR");
+        museum.setFxRate(1.2);
+
+        BalanceAccumulator accumulator = new BalanceAccumulator();
+        accumulator.addExpense(museum, 1);
+
+        // Shares 334, 334, 333 convert to 401, 401, 400; the payer is credited their sum
+        assertEquals(Map.of("p1", -401L, "p2", 801L, "p3", -400L), accumulator.toMap());
+    }
+
+    @Test
+    public void testFxRateTable_ValidatesCurrenciesAndRates() {
+        FxRateTable rates = fxRateService.getRates();
+
+        assertEquals("USD", rates.currencyOf(null));
+        assertEquals("EUR", rates.currencyOf(" eur "));
+        assertNull(rates.fxRateOf("USD"));
+        assertEquals(1.1, rates.fxRateOf("EUR"));
+        assertThrows(IllegalArgumentException.class, () -> rates.currencyOf("JPY"));
+        assertThrows(IllegalArgumentException.class, () -> fxRateService.replaceRates(Map.of("EUR", -1.0)));
+        assertThrows(IllegalArgumentException.class, () -> fxRateService.replaceRates(Map.of("USD", 2.0)));
+        assertThrows(IllegalArgumentException.class, () -> fxRateService.replaceRates(Map.of("euro", 1.1)));
+        // Three-decimal currencies cannot be kept at the money scale
+        assertThrows(IllegalArgumentException.class, () -> fxRateService.replaceRates(Map.of("KWD", 3.25)));
+        // A rejected table leaves the current one in place
+        assertSame(rates, fxRateService.getRates());
+    }
+
+    private static Expense expense(String id, long amountMinor, String paidBy, List<String> splitBetween) {
+        return new Expense(id, "expense " + id, amountMinor, paidBy, splitBetween,
+                LocalDateTime.now(), LocalDateTime.now());
+    }
+}
@@ -0,0 +1,91 @@
+package com.expense.splitter.service;
+
+import com.expense.splitter.cache.PersonCache;
+import com.expense.splitter.dto.BulkImportResponse;
+import com.expense.splitter.dto.ExpenseRequest;
+import com.expense.splitter.model.Expense;
+import com.expense.splitter.model.Person;
+import com.expense.splitter.repository.GroupRepository;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.validation.Validation;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Service tests for ExpenseImportService
+ * Tests chunking, per-row errors and ledger batching
+ */
+@ExtendWith(MockitoExtension.class)
+public class ExpenseImportServiceTest {
+    
+    @Mock
+    private MongoTemplate mongoTemplate;
+    
+    @Mock
+    private BulkOperations bulkOperations;
+    
+    @Mock
+    private GroupRepository groupRepository;
+    
+    @Mock
+    private PersonCache personCache;
+    
+    @Mock
+    private BalanceLedgerService balanceLedgerService;
+    
+    private ExpenseImportService importService;
+    
+    @BeforeEach
+    public void setUp() {
+        importService = new ExpenseImportService(mongoTemplate, groupRepository, personCache,
+                balanceLedgerService, new FxRateService("USD", ""), Validation.buildDefaultValidatorFactory().getValidator(), 2);
+    }
+    
+    @Test
+    public void testImportExpenses_ReportsRowErrorsAndAppliesLedgerPerChunk() throws Exception {
+        Person p1 = new Person("p1", "John", "john@email.com", LocalDateTime.now(), LocalDateTime.now());
+        Person p2 = new Person("p2", "Jane", "jane@email.com", LocalDateTime.now(), LocalDateTime.now());
+        when(personCache.findAllById(anyCollection())).thenReturn(Map.of("p1", p1, "p2", p2));
+        when(mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Expense.class)).thenReturn(bulkOperations);
+        when(bulkOperations.insert(anyList())).thenReturn(bulkOperations);
+        
+        String ndjson = String.join("\n",
+                "{\"description\":\"Dinner\",\"amount\":100.0,\"paidBy\":\"p1\",\"splitBetween\":[\"p1\",\"p2\"]}",
+                "{\"description\":\"Taxi\",\"amount\":\"not a number\",\"paidBy\":\"p1\",\"splitBetween\":[\"p2\"]}",
+                "{\"description\":\"\",\"amount\":5.0,\"paidBy\":\"p1\",\"splitBetween\":[\"p2\"]}",
+                "{\"description\":\"Hotel\",\"amount\":300.0,\"paidBy\":\"p9\",\"splitBetween\":[\"p1\"]}",
+                "{\"description\":\"Lunch\",\"amount\":30.0,\"paidBy\":\"p2\",\"splitBetween\":[\"p1\"]}");
+        MappingIterator<ExpenseRequest> rows = new ObjectMapper().readerFor(ExpenseRequest.class).readValues(ndjson);
+        
+        BulkImportResponse result = importService.importExpenses(null, rows);
+        
+        assertEquals(5, result.getReceived());
+        assertEquals(2, result.getImported());
+        assertEquals(List.of(1, 2, 3), result.getErrors().stream().map(BulkImportResponse.RowError::getIndex).toList());
+        assertTrue(result.getErrors().get(2).getMessage().contains("p9"));
+        
+        // Three chunks of two rows; the middle one has nothing valid to store
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<Collection<Expense>> applied = ArgumentCaptor.forClass(Collection.class);
+        verify(balanceLedgerService, times(2)).applyExpenses(isNull(), applied.capture());
+        assertEquals(10000L, applied.getAllValues().get(0).iterator().next().getAmountMinor());
+        assertEquals("p2", applied.getAllValues().get(1).iterator().next().getPaidBy());
+        verify(personCache, times(3)).findAllById(anyCollection());
+    }
+}
@@ -1,26 +1,49 @@
 package com.expense.splitter.service;
 
+import com.expense.splitter.cache.PersonCache;
+import com.expense.splitter.dto.CursorPage;
+import com.expense.splitter.dto.ExpensePatchRequest;
 import com.expense.splitter.dto.ExpenseRequest;
 import com.expense.splitter.dto.ExpenseResponse;
+import com.expense.splitter.dto.SplitRequest;
+import com.expense.splitter.dto.SummaryResponse;
 import com.expense.splitter.exception.ResourceNotFoundException;
 import com.expense.splitter.model.Expense;
 import com.expense.splitter.model.Person;
+import com.expense.splitter.model.SplitType;
 import com.expense.splitter.repository.ExpenseRepository;
+import com.expense.splitter.repository.GroupRepository;
 import com.expense.splitter.repository.PersonRepository;
+import com.expense.splitter.repository.PersonSummary;
+import org.bson.Document;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.core.task.SyncTaskExecutor;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.data.projection.SpelAwareProxyProjectionFactory;
 
 import java.time.LocalDateTime;
 import java.util.Arrays;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.Executor;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 /**
@@ -33,9 +56,30 @@ public class ExpenseServiceTest {
     @Mock
     private ExpenseRepository expenseRepository;
     
+    @Mock
+    private GroupRepository groupRepository;
+    
     @Mock
     private PersonRepository personRepository;
     
+    @Mock
+    private PersonCache personCache;
+    
+    @Mock
+    private BalanceLedgerService balanceLedgerService;
+    
+    @Mock
+    private BalanceSnapshotService balanceSnapshotService;
+    
+    @Mock
+    private NameBackfillService nameBackfillService;
+    
+    @Spy
+    private FxRateService fxRateService = new FxRateService("USD", "");
+    
+    @Spy
+    private Executor lookupExecutor = new SyncTaskExecutor();
+    
     @InjectMocks
     private ExpenseService expenseService;
     
@@ -50,7 +94,7 @@ public class ExpenseServiceTest {
         person2 = new Person("p2", "Jane", "jane@email.com",
                 LocalDateTime.now(), LocalDateTime.now());
         
-        expense = new Expense("e1", "Dinner", 100.0, "p1",
+        expense = new Expense("e1", "Dinner", 10000L, "p1",
                 Arrays.asList("p1", "p2"),
                 LocalDateTime.now(), LocalDateTime.now());
     }
@@ -63,10 +107,8 @@ public class ExpenseServiceTest {
         request.setPaidBy("p1");
         request.setSplitBetween(Arrays.asList("p1", "p2"));
         
-        when(personRepository.findById("p1")).thenReturn(Optional.of(person1));
-        when(personRepository.existsById("p1")).thenReturn(true);
-        when(personRepository.existsById("p2")).thenReturn(true);
-        when(expenseRepository.save(any(Expense.class))).thenReturn(expense);
+        when(personCache.findAllById(anyCollection())).thenReturn(Map.of("p1", person1, "p2", person2));
+        when(expenseRepository.save(argThat(saved -> saved.getAmountMinor() == 10000L))).thenReturn(expense);
         
         ExpenseResponse response = expenseService.createExpense(request);
         
@@ -74,6 +116,90 @@ public class ExpenseServiceTest {
         assertEquals("Dinner", response.getDescription());
         assertEquals(100.0, response.getAmount());
         verify(expenseRepository, times(1)).save(any(Expense.class));
+        verify(balanceLedgerService, times(1)).applyExpense(expense);
+    }
+    
+    @Test
+    public void testCreateExpense_StoresValidatedShares() {
+        ExpenseRequest request = new ExpenseRequest();
+        request.setDescription("Dinner");
+        request.setAmount(100.0);
+        request.setPaidBy("p1");
+        request.setSplitBetween(Arrays.asList("p1", "p2"));
+        request.setSplit(new SplitRequest("percentage", Arrays.asList(70.0, 30.0)));
+        
+        when(personCache.findAllById(anyCollection())).thenReturn(Map.of("p1", person1, "p2", person2));
+        when(expenseRepository.save(any(Expense.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        
+        ExpenseResponse response = expenseService.createExpense(request);
+        
+        assertEquals("percentage", response.getSplitType());
+        assertEquals(Arrays.asList(70.0, 30.0), response.getShares());
+        assertNull(response.getPerPersonAmount());
+        verify(balanceLedgerService).applyExpense(argThat(saved ->
+                saved.getSplitType() == SplitType.PERCENTAGE && Arrays.equals(saved.getShares(), new long[]{7000, 3000})));
+        
+        request.setSplit(new SplitRequest("percentage", Arrays.asList(70.0, 20.0)));
+        assertThrows(IllegalArgumentException.class, () -> expenseService.createExpense(request));
+        verify(expenseRepository, times(1)).save(any(Expense.class));
+    }
+    
+    @Test
+    public void testCreateExpense_BooksCurrencyAtCurrentRate() {
+        fxRateService.replaceRates(Map.of("EUR", 1.1));
+        ExpenseRequest request = new ExpenseRequest();
+        request.setDescription("Dinner");
+        request.setAmount(100.0);
+        request.setPaidBy("p1");
+        request.setSplitBetween(Arrays.asList("p1", "p2"));
+        request.setCurrency("eur");
+        
+        when(personCache.findAllById(anyCollection())).thenReturn(Map.of("p1", person1, "p2", person2));
+        when(expenseRepository.save(any(Expense.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        
+        assertEquals("EUR", expenseService.createExpense(request).getCurrency());
+        verify(balanceLedgerService).applyExpense(argThat(saved ->
+                "EUR".equals(saved.getCurrency()) && saved.getFxRate() == 1.1));
+        
+        request.setCurrency("JPY");
+        assertThrows(IllegalArgumentException.class, () -> expenseService.createExpense(request));
+        verify(expenseRepository, times(1)).save(any(Expense.class));
+    }
+    
+    @Test
+    public void testGetAllExpenses_ResolvesNamesInOneQuery() {
+        Expense second = new Expense("e2", "Taxi", 3000L, "p2",
+                Arrays.asList("p1", "p2"),
+                LocalDateTime.now(), LocalDateTime.now());
+        when(expenseRepository.findAll()).thenReturn(Arrays.asList(expense, second));
+        when(personCache.findAllById(anyCollection())).thenReturn(Map.of("p1", person1, "p2", person2));
+        
+        List<ExpenseResponse> responses = expenseService.getAllExpenses();
+        
+        assertEquals(2, responses.size());
+        assertEquals("John", responses.get(0).getPaidByName());
+        assertEquals(Arrays.asList("John", "Jane"), responses.get(1).getSplitBetweenNames());
+        verify(personCache, times(1)).findAllById(anyCollection());
+        verify(personCache, never()).findById(anyString());
+    }
+    
+    @Test
+    public void testGetAllExpenses_UsesStoredNames() {
+        expense.setPersonNames(Map.of("p1", "John", "p2", "Jane"));
+        Expense legacy = new Expense("e2", "Taxi", 3000L, "p2",
+                Arrays.asList("p1", "p2"),
+                LocalDateTime.now(), LocalDateTime.now());
+        when(expenseRepository.findAll()).thenReturn(Arrays.asList(expense, legacy));
+        when(personCache.findAllById(Set.of("p1", "p2"))).thenReturn(Map.of("p1", person1, "p2", person2));
+        
+        assertEquals("Jane", expenseService.getAllExpenses().get(1).getPaidByName());
+        
+        legacy.setPersonNames(Map.of("p1", "John", "p2", "Jane"));
+        List<ExpenseResponse> responses = expenseService.getAllExpenses();
+        
+        assertEquals(Arrays.asList("John", "Jane"), responses.get(0).getSplitBetweenNames());
+        assertEquals("Jane", responses.get(1).getPaidByName());
+        verify(personCache, times(1)).findAllById(anyCollection());
     }
     
     @Test
@@ -84,22 +210,166 @@ public class ExpenseServiceTest {
         request.setPaidBy("invalid_id");
         request.setSplitBetween(Arrays.asList("p1", "p2"));
         
-        when(personRepository.findById("invalid_id")).thenReturn(Optional.empty());
+        when(personCache.findAllById(anyCollection())).thenReturn(Map.of("p1", person1));
         
-        assertThrows(ResourceNotFoundException.class, () -> {
+        ResourceNotFoundException ex = assertThrows(ResourceNotFoundException.class, () -> {
             expenseService.createExpense(request);
         });
+        assertEquals(Arrays.asList("invalid_id", "p2"), ex.getMissingIds());
+        verify(expenseRepository, never()).save(any(Expense.class));
+    }
+    
+    @Test
+    public void testCreateGroupExpense_RejectsNonMembers() {
+        ExpenseRequest request = new ExpenseRequest();
+        request.setDescription("Dinner");
+        request.setAmount(100.0);
+        request.setPaidBy("p1");
+        request.setSplitBetween(Arrays.asList("p1", "p2"));
+        person1.setGroupIds(Arrays.asList("g1"));
+        
+        when(groupRepository.existsById("g1")).thenReturn(true);
+        when(personCache.findAllById(anyCollection())).thenReturn(Map.of("p1", person1, "p2", person2));
+        
+        IllegalArgumentException ex = assertThrows(IllegalArgumentException.class, () -> {
+            expenseService.createExpense("g1", request);
+        });
+        assertTrue(ex.getMessage().contains("p2"));
+        verify(expenseRepository, never()).save(any(Expense.class));
     }
     
     @Test
     public void testCalculateBalances() {
-        when(personRepository.findAll()).thenReturn(Arrays.asList(person1, person2));
-        when(expenseRepository.findAll()).thenReturn(Arrays.asList(expense));
+        when(balanceLedgerService.getBalances()).thenReturn(Map.of("p1", 5000L, "p2", -5000L));
         
-        Map balances = expenseService.calculateBalances();
+        Map<String, Double> balances = expenseService.calculateBalances();
         
         assertNotNull(balances);
         assertEquals(50.0, balances.get("p1")); // Paid 100, owes 50
         assertEquals(-50.0, balances.get("p2")); // Owes 50
+        verify(expenseRepository, never()).findAll();
+    }
+    
+    @Test
+    public void testGetSummary_JoinsProjectionWithLedger() {
+        SpelAwareProxyProjectionFactory projections = new SpelAwareProxyProjectionFactory();
+        when(balanceLedgerService.getLedgerBalances()).thenReturn(Map.of("p1", 5000L));
+        when(personRepository.findProjectedByIdIn(List.of("p1", "p2"))).thenReturn(List.of(
+                projections.createProjection(PersonSummary.class, person2),
+                projections.createProjection(PersonSummary.class, person1)));
+        
+        List<SummaryResponse> summary = expenseService.getSummary(null, List.of("p1", "p2"), "balance,desc");
+        
+        assertEquals(2, summary.size());
+        assertEquals("John", summary.get(0).getName());
+        assertEquals(50.0, summary.get(0).getBalance());
+        assertEquals("jane@email.com", summary.get(1).getEmail());
+        assertEquals(0.0, summary.get(1).getBalance()); // No ledger entry yet
+        verify(personCache, never()).findById(anyString());
+    }
+    
+    @Test
+    public void testDeleteExpense_RevertsLedger() {
+        when(expenseRepository.findAndDelete(any(Criteria.class))).thenReturn(expense);
+        
+        expenseService.deleteExpense("e1");
+        
+        verify(expenseRepository, never()).deleteById(anyString());
+        verify(balanceLedgerService, times(1)).revertExpense(expense);
+    }
+    
+    @Test
+    public void testDeleteExpense_AlreadyDeletedLeavesLedgerAlone() {
+        // An overlapping delete (e.g. a retry) removed the expense first
+        when(expenseRepository.findAndDelete(any(Criteria.class))).thenReturn(null);
+        
+        assertThrows(ResourceNotFoundException.class, () -> expenseService.deleteExpense("g1", "e1"));
+        
+        verify(expenseRepository).findAndDelete(argThat(criteria -> criteria.getCriteriaObject()
+                .equals(new Document("_id", "e1").append("groupId", "g1"))));
+        verifyNoInteractions(balanceLedgerService);
+    }
+    
+    @Test
+    public void testUpdateExpense_StaleVersionConflicts() {
+        expense.setVersion(3L);
+        ExpenseRequest request = new ExpenseRequest();
+        request.setDescription("Dinner");
+        request.setAmount(120.0);
+        request.setPaidBy("p1");
+        request.setSplitBetween(Arrays.asList("p1", "p2"));
+        request.setVersion(2L);
+        
+        when(expenseRepository.findById("e1")).thenReturn(Optional.of(expense));
+        when(personCache.findAllById(anyCollection())).thenReturn(Map.of("p1", person1, "p2", person2));
+        
+        assertThrows(OptimisticLockingFailureException.class, () -> expenseService.updateExpense("e1", request));
+        verify(expenseRepository, never()).findAndUpdate(any(Criteria.class), any(Update.class));
+        verifyNoInteractions(balanceLedgerService);
+    }
+    
+    @Test
+    public void testPatchExpense_AppliesDeltaFromReplacedState() {
+        expense.setVersion(3L);
+        ExpensePatchRequest patch = new ExpensePatchRequest();
+        patch.setAmount(120.0);
+        
+        when(expenseRepository.findAndUpdate(any(Criteria.class), any(Update.class))).thenReturn(expense);
+        when(personCache.findAllById(anyCollection())).thenReturn(Map.of("p1", person1, "p2", person2));
+        
+        ExpenseResponse response = expenseService.patchExpense("e1", patch);
+        
+        assertEquals(120.0, response.getAmount());
+        assertEquals("Dinner", response.getDescription());
+        assertEquals(4L, response.getVersion());
+        verify(expenseRepository, never()).findById(anyString());
+        verify(balanceLedgerService, times(1)).replaceExpense(eq(expense),
+                argThat(after -> after.getAmountMinor() == 12000L && after.getSplitBetween().size() == 2));
+    }
+    
+    @Test
+    public void testPatchExpense_DescriptionOnlyLeavesLedger() {
+        ExpensePatchRequest patch = new ExpensePatchRequest();
+        patch.setDescription("Team dinner");
+        
+        when(expenseRepository.findAndUpdate(any(Criteria.class), any(Update.class))).thenReturn(expense);
+        when(personCache.findAllById(anyCollection())).thenReturn(Map.of("p1", person1, "p2", person2));
+        
+        ExpenseResponse response = expenseService.patchExpense("e1", patch);
+        
+        assertEquals("Team dinner", response.getDescription());
+        assertEquals(1L, response.getVersion());
+        verifyNoInteractions(balanceLedgerService);
+    }
+    
+    @Test
+    public void testPatchExpense_StaleVersionConflicts() {
+        expense.setVersion(3L);
+        ExpensePatchRequest patch = new ExpensePatchRequest();
+        patch.setDescription("Team dinner");
+        patch.setVersion(2L);
+        
+        when(expenseRepository.findAndUpdate(any(Criteria.class), any(Update.class))).thenReturn(null);
+        when(expenseRepository.findById("e1")).thenReturn(Optional.of(expense));
+        
+        assertThrows(OptimisticLockingFailureException.class, () -> expenseService.patchExpense("e1", patch));
+        verifyNoInteractions(balanceLedgerService);
+    }
+    
+    @Test
+    public void testGetExpensesOfPerson_PayerPageWithNextCursor() {
+        Expense second = new Expense("e2", "Taxi", 3000L, "p1",
+                Arrays.asList("p1", "p2"),
+                LocalDateTime.now(), LocalDateTime.now());
+        when(personCache.findById("p1")).thenReturn(Optional.of(person1));
+        when(expenseRepository.findByPaidBy("p1", null, 2)).thenReturn(Arrays.asList(expense, second));
+        when(personCache.findAllById(anyCollection())).thenReturn(Map.of("p1", person1, "p2", person2));
+        
+        CursorPage<ExpenseResponse> page = expenseService.getExpensesOfPerson("p1", "payer", null, 1);
+        
+        assertEquals(1, page.getItems().size());
+        assertEquals("e1", page.getItems().get(0).getId());
+        assertNotNull(page.getNextCursor());
+        verify(expenseRepository, never()).findBySplitBetweenContaining(anyString(), any(), anyInt());
     }
-}
\ No newline at end of file
+}
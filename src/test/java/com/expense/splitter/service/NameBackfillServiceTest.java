@@ -0,0 +1,78 @@
+package com.expense.splitter.service;
+
+import com.expense.splitter.model.NameBackfill;
+import com.expense.splitter.repository.ExpenseRepository;
+import com.expense.splitter.repository.PersonRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.bson.Document;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * Service tests for NameBackfillService
+ * Tests that renames stay queued until the person cache can no longer serve the old name
+ */
+@ExtendWith(MockitoExtension.class)
+public class NameBackfillServiceTest {
+
+    @Mock
+    private MongoTemplate mongoTemplate;
+
+    @Mock
+    private ExpenseRepository expenseRepository;
+
+    @Mock
+    private PersonRepository personRepository;
+
+    @Mock
+    private BulkOperations bulk;
+
+    private NameBackfillService nameBackfillService;
+
+    @BeforeEach
+    public void setUp() {
+        nameBackfillService = new NameBackfillService(mongoTemplate, expenseRepository, personRepository,
+                new SimpleMeterRegistry(), 100, Duration.ofMinutes(10));
+        when(mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, NameBackfill.class)).thenReturn(bulk);
+    }
+
+    @Test
+    public void testProcessPending_KeepsRecentRenamesUntilCacheTtlHasPassed() {
+        LocalDateTime settledAt = LocalDateTime.now().minusMinutes(15);
+        LocalDateTime recentAt = LocalDateTime.now().minusMinutes(1);
+        NameBackfill settled = new NameBackfill("p1", "Johnny", settledAt);
+        settled.setCopiedAt(settledAt.plusSeconds(5));
+        NameBackfill recent = new NameBackfill("p2", "Janet", recentAt);
+        when(mongoTemplate.stream(any(Query.class), eq(NameBackfill.class))).thenReturn(Stream.of(settled, recent));
+
+        int processed = nameBackfillService.processPending();
+
+        // Both names are copied again; only the new rename counts as processed
+        verify(expenseRepository).updatePersonNames(Map.of("p1", "Johnny", "p2", "Janet"));
+        assertEquals(1, processed);
+        ArgumentCaptor<Query> removed = ArgumentCaptor.forClass(Query.class);
+        verify(bulk).remove(removed.capture());
+        assertEquals(new Document("_id", "p1").append("requestedAt", settledAt), removed.getValue().getQueryObject());
+        ArgumentCaptor<Query> stamped = ArgumentCaptor.forClass(Query.class);
+        verify(bulk).updateOne(stamped.capture(), any(Update.class));
+        assertEquals(new Document("_id", "p2").append("requestedAt", recentAt), stamped.getValue().getQueryObject());
+        verify(bulk).execute();
+    }
+}
@@ -0,0 +1,186 @@
+package com.expense.splitter.service;
+
+import com.expense.splitter.cache.PersonCache;
+import com.expense.splitter.dto.PersonRequest;
+import com.expense.splitter.model.Balance;
+import com.expense.splitter.model.Person;
+import com.expense.splitter.repository.ExpenseRepository;
+import com.expense.splitter.repository.PersonRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.mongodb.core.query.Criteria;
+
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+/**
+ * Service tests for PersonService deletion modes
+ */
+@ExtendWith(MockitoExtension.class)
+public class PersonServiceTest {
+
+    @Mock
+    private PersonRepository personRepository;
+
+    @Mock
+    private PersonCache personCache;
+
+    @Mock
+    private ExpenseRepository expenseRepository;
+
+    @Mock
+    private BalanceLedgerService balanceLedgerService;
+
+    @Mock
+    private BalanceSnapshotService balanceSnapshotService;
+
+    @Mock
+    private NameBackfillService nameBackfillService;
+
+    @InjectMocks
+    private PersonService personService;
+
+    private Person person1;
+    private Person person2;
+
+    @BeforeEach
+    public void setUp() {
+        person1 = new Person("p1", "John", "john@email.com",
+                LocalDateTime.now(), LocalDateTime.now());
+        person1.setGroupIds(Arrays.asList("g1"));
+        person2 = new Person("p2", "Jane", "jane@email.com",
+                LocalDateTime.now(), LocalDateTime.now());
+        when(personRepository.findById("p1")).thenReturn(Optional.of(person1));
+    }
+
+    @Test
+    public void testDeletePerson_BlockedByOutstandingBalance() {
+        when(balanceLedgerService.getLedgerEntries("p1")).thenReturn(List.of(
+                new Balance("p1", null, "p1", 0L, null),
+                new Balance("g1:p1", "g1", "p1", 2500L, null)));
+
+        assertThrows(IllegalArgumentException.class, () -> personService.deletePerson("p1", null, null));
+        verify(personRepository, never()).deleteById(anyString());
+        verify(balanceLedgerService, never()).removeBalances(anyString());
+    }
+
+    @Test
+    public void testDeletePerson_SettledDropsZeroLedgerEntries() {
+        when(balanceLedgerService.getLedgerEntries("p1")).thenReturn(List.of(
+                new Balance("p1", null, "p1", 0L, null)));
+
+        personService.deletePerson("p1", "block", null);
+
+        verify(balanceLedgerService).removeBalances("p1");
+        verify(personRepository).deleteById("p1");
+        verify(personCache).evict(person1);
+        verify(balanceLedgerService).invalidateGroupBalances("g1");
+        verifyNoInteractions(expenseRepository);
+    }
+
+    @Test
+    public void testDeletePerson_ReassignRequiresSharedGroups() {
+        when(personRepository.findById("p2")).thenReturn(Optional.of(person2));
+        when(expenseRepository.findGroupIdsOfPerson("p1")).thenReturn(Arrays.asList(null, "g1", "g2"));
+
+        IllegalArgumentException ex = assertThrows(IllegalArgumentException.class,
+                () -> personService.deletePerson("p1", "reassign", "p2"));
+        assertTrue(ex.getMessage().contains("g1"));
+        assertTrue(ex.getMessage().contains("g2"));
+        verify(expenseRepository, never()).reassignPerson(anyString(), anyString(), anyString());
+        verify(personRepository, never()).deleteById(anyString());
+
+        person2.setGroupIds(Arrays.asList("g1", "g2"));
+        personService.deletePerson("p1", "reassign", "p2");
+
+        InOrder inOrder = inOrder(expenseRepository, balanceLedgerService, personRepository);
+        inOrder.verify(expenseRepository).reassignPerson("p1", "p2", "Jane");
+        inOrder.verify(balanceLedgerService).transferBalances("p1", "p2");
+        inOrder.verify(personRepository).deleteById("p1");
+        verify(balanceSnapshotService).invalidateInvolving("p1");
+    }
+
+    @Test
+    public void testDeletePerson_RemoveAppliesBalanceDifference() {
+        Map<String, Map<String, Long>> before = Map.of("g1", Map.of("p1", 1000L, "p2", -1000L));
+        Map<String, Map<String, Long>> after = Map.of();
+        when(expenseRepository.markForRemoval("p1")).thenReturn(3L);
+        when(balanceLedgerService.computeBalancesByGroup(any(Criteria.class))).thenReturn(before).thenReturn(after);
+
+        personService.deletePerson("p1", "remove", null);
+
+        InOrder inOrder = inOrder(expenseRepository, balanceLedgerService, personRepository);
+        inOrder.verify(expenseRepository).markForRemoval("p1");
+        inOrder.verify(balanceLedgerService).computeBalancesByGroup(any(Criteria.class));
+        inOrder.verify(expenseRepository).removePerson("p1");
+        inOrder.verify(balanceLedgerService).computeBalancesByGroup(any(Criteria.class));
+        inOrder.verify(balanceLedgerService).applyChanges(before, after);
+        inOrder.verify(expenseRepository).clearRemovalMark("p1");
+        inOrder.verify(balanceLedgerService).removeBalances("p1");
+        inOrder.verify(personRepository).deleteById("p1");
+    }
+
+    @Test
+    public void testDeletePerson_RemoveRefusedForPayer() {
+        when(expenseRepository.existsByPaidBy("p1")).thenReturn(true);
+
+        IllegalArgumentException ex = assertThrows(IllegalArgumentException.class,
+                () -> personService.deletePerson("p1", "remove", null));
+        assertTrue(ex.getMessage().contains("mode=reassign"));
+        verify(expenseRepository, never()).markForRemoval(anyString());
+        verify(personRepository, never()).deleteById(anyString());
+    }
+
+    @Test
+    public void testDeletePerson_ReassignAppliesDifferenceOfMergedExpenses() {
+        person2.setGroupIds(List.of("g1"));
+        Map<String, Map<String, Long>> before = Map.of("g1", Map.of("p1", -333L, "p2", -333L, "p3", 666L));
+        Map<String, Map<String, Long>> after = Map.of("g1", Map.of("p2", -667L, "p3", 667L));
+        when(personRepository.findById("p2")).thenReturn(Optional.of(person2));
+        when(expenseRepository.markShared("p1", "p2")).thenReturn(1L);
+        when(balanceLedgerService.computeBalancesByGroup(any(Criteria.class))).thenReturn(before).thenReturn(after);
+
+        personService.deletePerson("p1", "reassign", "p2");
+
+        InOrder inOrder = inOrder(expenseRepository, balanceLedgerService, personRepository);
+        inOrder.verify(expenseRepository).markShared("p1", "p2");
+        inOrder.verify(balanceLedgerService).computeBalancesByGroup(any(Criteria.class));
+        inOrder.verify(expenseRepository).reassignPerson("p1", "p2", "Jane");
+        inOrder.verify(balanceLedgerService).computeBalancesByGroup(any(Criteria.class));
+        inOrder.verify(balanceLedgerService).applyChanges(before, after);
+        inOrder.verify(expenseRepository).clearRemovalMark("p1");
+        inOrder.verify(balanceLedgerService).transferBalances("p1", "p2");
+        inOrder.verify(personRepository).deleteById("p1");
+    }
+
+    @Test
+    public void testUpdatePerson_QueuesNameBackfillOnRename() {
+        when(personRepository.save(any(Person.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        personService.updatePerson("p1", new PersonRequest("John", "john@email.com"));
+        verifyNoInteractions(nameBackfillService);
+
+        personService.updatePerson("p1", new PersonRequest("Johnny", "john@email.com"));
+        verify(nameBackfillService).enqueue("p1", "Johnny");
+        verifyNoInteractions(expenseRepository);
+    }
+
+    @Test
+    public void testDeletePerson_UnsupportedMode() {
+        assertThrows(IllegalArgumentException.class, () -> personService.deletePerson("p1", "archive", null));
+        verify(personRepository, never()).deleteById(anyString());
+    }
+}
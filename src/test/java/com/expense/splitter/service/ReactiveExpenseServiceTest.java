@@ -0,0 +1,155 @@
+package com.expense.splitter.service;
+
+import com.expense.splitter.dto.ExpenseRequest;
+import com.expense.splitter.dto.ExpenseResponse;
+import com.expense.splitter.exception.ResourceNotFoundException;
+import com.expense.splitter.model.Expense;
+import com.expense.splitter.model.Person;
+import com.expense.splitter.repository.PersonSummary;
+import com.expense.splitter.repository.ReactiveExpenseRepository;
+import com.expense.splitter.repository.ReactivePersonRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.projection.SpelAwareProxyProjectionFactory;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+/**
+ * Service tests for ReactiveExpenseService
+ */
+@ExtendWith(MockitoExtension.class)
+public class ReactiveExpenseServiceTest {
+
+    @Mock
+    private ReactiveExpenseRepository expenseRepository;
+
+    @Mock
+    private ReactivePersonRepository personRepository;
+
+    @Mock
+    private BalanceLedgerService balanceLedgerService;
+
+    @Mock
+    private ExpenseService expenseService;
+
+    @Mock
+    private ExpenseImportService expenseImportService;
+
+    @Mock
+    private SettlementService settlementService;
+
+    @Mock
+    private CurrencyBalanceService currencyBalanceService;
+
+    @Spy
+    private FxRateService fxRateService = new FxRateService("USD", "");
+
+    @InjectMocks
+    private ReactiveExpenseService reactiveExpenseService;
+
+    private Person person1;
+    private Person person2;
+
+    @BeforeEach
+    public void setUp() {
+        person1 = new Person("p1", "John", "john@email.com",
+                LocalDateTime.now(), LocalDateTime.now());
+        person2 = new Person("p2", "Jane", "jane@email.com",
+                LocalDateTime.now(), LocalDateTime.now());
+    }
+
+    @Test
+    public void testCreateExpense_AppliesToLedger() {
+        ExpenseRequest request = new ExpenseRequest();
+        request.setDescription("Dinner");
+        request.setAmount(100.0);
+        request.setPaidBy("p1");
+        request.setSplitBetween(Arrays.asList("p1", "p2"));
+
+        when(personRepository.findAllById(anyCollection())).thenReturn(Flux.just(person1, person2));
+        when(expenseRepository.save(any(Expense.class))).thenAnswer(invocation -> {
+            Expense saved = invocation.getArgument(0);
+            saved.setId("e1");
+            return Mono.just(saved);
+        });
+
+        ExpenseResponse response = reactiveExpenseService.createExpense(request).block();
+
+        assertNotNull(response);
+        assertEquals(100.0, response.getAmount());
+        assertEquals(Arrays.asList("John", "Jane"), response.getSplitBetweenNames());
+        verify(balanceLedgerService, times(1)).applyExpense(argThat(expense -> expense.getAmountMinor() == 10000L));
+    }
+
+    @Test
+    public void testCreateExpense_UnknownPerson() {
+        ExpenseRequest request = new ExpenseRequest();
+        request.setDescription("Dinner");
+        request.setAmount(100.0);
+        request.setPaidBy("p1");
+        request.setSplitBetween(Arrays.asList("p1", "p3"));
+
+        when(personRepository.findAllById(anyCollection())).thenReturn(Flux.just(person1));
+
+        ResourceNotFoundException ex = assertThrows(ResourceNotFoundException.class,
+                () -> reactiveExpenseService.createExpense(request).block());
+        assertEquals(List.of("p3"), ex.getMissingIds());
+        verify(expenseRepository, never()).save(any(Expense.class));
+        verifyNoInteractions(balanceLedgerService);
+    }
+
+    @Test
+    public void testDeleteExpense_RevertsOnlyTheDeletedDocument() {
+        Expense dinner = new Expense("e1", "Dinner", 10000L, "p1", Arrays.asList("p1", "p2"),
+                LocalDateTime.now(), LocalDateTime.now());
+        when(expenseRepository.findAndDelete(any(Criteria.class)))
+                .thenReturn(Mono.just(dinner))
+                .thenReturn(Mono.empty());
+
+        reactiveExpenseService.deleteExpense("e1").block();
+        // A retry finds nothing left to delete and must not revert again
+        assertThrows(ResourceNotFoundException.class, () -> reactiveExpenseService.deleteExpense("e1").block());
+
+        verify(balanceLedgerService, times(1)).revertExpense(dinner);
+        verify(expenseRepository, never()).deleteById(anyString());
+    }
+
+    @Test
+    public void testStreamExpenses_ResolvesNamesOncePerBatch() {
+        Expense dinner = new Expense("e1", "Dinner", 10000L, "p1", Arrays.asList("p1", "p2"),
+                LocalDateTime.now(), LocalDateTime.now());
+        Expense taxi = new Expense("e2", "Taxi", 3000L, "p2", Arrays.asList("p1", "p2"),
+                LocalDateTime.now(), LocalDateTime.now());
+        Expense lunch = new Expense("e3", "Lunch", 2000L, "p1", Arrays.asList("p1"),
+                LocalDateTime.now(), LocalDateTime.now());
+        SpelAwareProxyProjectionFactory projections = new SpelAwareProxyProjectionFactory();
+        when(expenseRepository.streamAll(anyInt())).thenReturn(Flux.just(dinner, taxi, lunch));
+        when(personRepository.findProjectedByIdIn(anyCollection())).thenAnswer(invocation -> Flux.just(
+                projections.createProjection(PersonSummary.class, person1),
+                projections.createProjection(PersonSummary.class, person2)));
+
+        List<ExpenseResponse> responses = reactiveExpenseService.streamExpenses(2).collectList().block();
+
+        assertEquals(3, responses.size());
+        assertEquals("Jane", responses.get(1).getPaidByName());
+        assertEquals("e3", responses.get(2).getId());
+        verify(personRepository, times(2)).findProjectedByIdIn(anyCollection());
+    }
+}
@@ -0,0 +1,50 @@
+package com.expense.splitter.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the settlement strategies
+ * Every strategy must settle all balances; the exact one must be minimal
+ */
+public class SettlementStrategyTest {
+
+    private static final String[] IDS = {"a", "b", "c", "d", "e", "f"};
+
+    // Greedy needs 5 transfers here; {8, -2, -6} and {5, 4, -9} settle in 2 each
+    private static final long[] BALANCES = {800, 500, 400, -200, -600, -900};
+
+    @Test
+    public void testGreedySettlement_SettlesAllBalances() {
+        List<Transfer> transfers = new GreedySettlementStrategy().settle(IDS, BALANCES.clone());
+
+        assertSettles(transfers);
+        assertTrue(transfers.size() <= IDS.length - 1);
+    }
+
+    @Test
+    public void testExactSettlement_IsMinimal() {
+        List<Transfer> transfers = new ExactSettlementStrategy().settle(IDS, BALANCES.clone());
+
+        assertSettles(transfers);
+        assertEquals(4, transfers.size());
+    }
+
+    private void assertSettles(List<Transfer> transfers) {
+        Map<String, Long> remaining = new HashMap<>();
+        for (int i = 0; i < IDS.length; i++) {
+            remaining.put(IDS[i], BALANCES[i]);
+        }
+        for (Transfer transfer : transfers) {
+            assertTrue(transfer.getAmountMinor() > 0);
+            remaining.merge(transfer.getFrom(), transfer.getAmountMinor(), Long::sum);
+            remaining.merge(transfer.getTo(), -transfer.getAmountMinor(), Long::sum);
+        }
+        remaining.values().forEach(balance -> assertEquals(0L, balance));
+    }
+}
@@ -0,0 +1,72 @@
+package com.expense.splitter.service;
+
+import com.expense.splitter.dto.SplitItemRequest;
+import com.expense.splitter.dto.SplitRequest;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the split strategies
+ * Shares always sum to the amount; invalid splits are rejected
+ */
+public class SplitStrategyTest {
+
+    private static final List<String> PARTICIPANTS = Arrays.asList("a", "b", "c");
+
+    @Test
+    public void testEqualSplit_StoresNoShares() {
+        assertNull(SplitEngine.shares(1000L, PARTICIPANTS, null));
+        assertNull(SplitEngine.shares(1000L, PARTICIPANTS, new SplitRequest("Equal", null)));
+    }
+
+    @Test
+    public void testWeightedSplit_RemainderToFirstParticipants() {
+        long[] shares = SplitEngine.shares(1000L, PARTICIPANTS, new SplitRequest("shares", Arrays.asList(1.0, 0.0, 2.0)));
+
+        // 333.33 and 666.66: the one cent left over goes to the first non-zero weight
+        assertArrayEquals(new long[]{334, 0, 666}, shares);
+    }
+
+    @Test
+    public void testPercentageSplit_MustSumToHundred() {
+        long[] shares = SplitEngine.shares(999L, PARTICIPANTS,
+                new SplitRequest("percentage", Arrays.asList(50.0, 25.5, 24.5)));
+
+        assertArrayEquals(new long[]{500, 255, 244}, shares);
+        assertThrows(IllegalArgumentException.class, () -> SplitEngine.shares(999L, PARTICIPANTS,
+                new SplitRequest("percentage", Arrays.asList(50.0, 25.0, 24.0))));
+    }
+
+    @Test
+    public void testExactSplit_MustSumToAmount() {
+        assertArrayEquals(new long[]{1000, 250, 0}, SplitEngine.shares(1250L, PARTICIPANTS,
+                new SplitRequest("exact", Arrays.asList(10.0, 2.5, 0.0))));
+        assertThrows(IllegalArgumentException.class, () -> SplitEngine.shares(1250L, PARTICIPANTS,
+                new SplitRequest("exact", Arrays.asList(10.0, 2.0, 0.0))));
+        assertThrows(IllegalArgumentException.class, () -> SplitEngine.shares(1250L, PARTICIPANTS,
+                new SplitRequest("exact", Arrays.asList(10.0, 2.5))));
+    }
+
+    @Test
+    public void testItemizedSplit_SharesEachItemAmongItsParticipants() {
+        SplitRequest split = new SplitRequest("itemized", null);
+        split.setItems(Arrays.asList(
+                new SplitItemRequest("Pizza", 20.0, Arrays.asList("a", "b", "c")),
+                new SplitItemRequest("Wine", 15.0, Arrays.asList("c", "a"))));
+
+        assertArrayEquals(new long[]{667 + 750, 667, 666 + 750}, SplitEngine.shares(3500L, PARTICIPANTS, split));
+
+        split.getItems().get(1).setSplitBetween(Arrays.asList("d"));
+        assertThrows(IllegalArgumentException.class, () -> SplitEngine.shares(3500L, PARTICIPANTS, split));
+    }
+
+    @Test
+    public void testUnsupportedSplitType() {
+        assertThrows(IllegalArgumentException.class,
+                () -> SplitEngine.shares(1000L, PARTICIPANTS, new SplitRequest("random", null)));
+    }
+}